@@ -20,11 +20,13 @@ import org.springframework.boot.CommandLineRunner;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
 import java.util.*;
 
 @SpringBootApplication
+@EnableScheduling
 public class BenevoleApplication implements CommandLineRunner {
 
     @Autowired
@@ -69,17 +71,21 @@ public class BenevoleApplication implements CommandLineRunner {
         List<PermissionParent> parents = parentRepository.findAll();
         if (parents.isEmpty()) {
             // default parent's permission
-            PermissionParent parentCategories = parentRepository.save(PermissionParent.builder().name("categories").build());
-            PermissionParent parentDist = parentRepository.save(PermissionParent.builder().name("distributions").build());
-            PermissionParent parentHourlies = parentRepository.save(PermissionParent.builder().name("horaires").build());
-            PermissionParent parentStores = parentRepository.save(PermissionParent.builder().name("stores").build());
-            PermissionParent parentNotifications = parentRepository.save(PermissionParent.builder().name("notifications").build());
-            PermissionParent parentPermissions = parentRepository.save(PermissionParent.builder().name("permissions").build());
-            PermissionParent parentPp = parentRepository.save(PermissionParent.builder().name("parent permissions").build());
-            PermissionParent parentRecuperations = parentRepository.save(PermissionParent.builder().name("recuperations").build());
-            PermissionParent parentRules = parentRepository.save(PermissionParent.builder().name("rules").build());
-            PermissionParent parentTeams = parentRepository.save(PermissionParent.builder().name("teams").build());
-            PermissionParent parentUsers = parentRepository.save(PermissionParent.builder().name("users").build());
+            PermissionParent parentCategories = PermissionParent.builder().name("categories").build();
+            PermissionParent parentDist = PermissionParent.builder().name("distributions").build();
+            PermissionParent parentHourlies = PermissionParent.builder().name("horaires").build();
+            PermissionParent parentStores = PermissionParent.builder().name("stores").build();
+            PermissionParent parentNotifications = PermissionParent.builder().name("notifications").build();
+            PermissionParent parentPermissions = PermissionParent.builder().name("permissions").build();
+            PermissionParent parentPp = PermissionParent.builder().name("parent permissions").build();
+            PermissionParent parentRecuperations = PermissionParent.builder().name("recuperations").build();
+            PermissionParent parentRules = PermissionParent.builder().name("rules").build();
+            PermissionParent parentTeams = PermissionParent.builder().name("teams").build();
+            PermissionParent parentUsers = PermissionParent.builder().name("users").build();
+            // one transaction, so the inserts go out as a single batch
+            parentRepository.saveAll(Arrays.asList(parentCategories, parentDist, parentHourlies, parentStores,
+                    parentNotifications, parentPermissions, parentPp, parentRecuperations, parentRules, parentTeams,
+                    parentUsers));
 
             // default userRule permission's
             Set<Permission> userPermissions = new HashSet<>(
@@ -95,6 +101,7 @@ public class BenevoleApplication implements CommandLineRunner {
                             new Permission("read notifications", parentNotifications),
                             new Permission("read notification", parentNotifications),
                             new Permission("create notification", parentNotifications),
+                            new Permission("update notification", parentNotifications),
                             new Permission("delete notification", parentNotifications),
                             new Permission("read recuperations", parentRecuperations),
                             new Permission("read recuperation", parentRecuperations),
@@ -134,16 +141,14 @@ public class BenevoleApplication implements CommandLineRunner {
                             new Permission("add team member", parentTeams),
                             new Permission("remove team member", parentTeams),
                             new Permission("read users", parentUsers),
-                            new Permission("read user", parentUsers),
-                            new Permission("create user", parentUsers),
-                            new Permission("update user", parentUsers)
+                            new Permission("create user", parentUsers)
                     )
             );
-            adminPermissions.addAll(userPermissions);// adminRule userRule can perform userRule's actions
             adminPermissions = new HashSet<>(permissionRepository.saveAll(adminPermissions));
-            // create adminRule rule with his permission's
+            // create adminRule rule with his permission's, adminRule inherits userRule's actions
             Role adminRule = roleRepository.save(
-                    Role.builder().name("admin").permissions(adminPermissions).build());
+                    Role.builder().name("admin").permissions(adminPermissions)
+                            .parents(new HashSet<>(Collections.singleton(userRule))).build());
 
             // default superAdminRule permission's
             Set<Permission> superAdminPermissions = new HashSet<>(
@@ -157,6 +162,7 @@ public class BenevoleApplication implements CommandLineRunner {
                             new Permission("create permission", parentPermissions),
                             new Permission("update permission", parentPermissions),
                             new Permission("delete permission", parentPermissions),
+                            new Permission("read deleted", parentPermissions),
                             new Permission("read parent permissions", parentPp),
                             new Permission("read parent permission", parentPp),
                             new Permission("create parent permission", parentPp),
@@ -169,16 +175,17 @@ public class BenevoleApplication implements CommandLineRunner {
                             new Permission("create rule", parentRules),
                             new Permission("update rule", parentRules),
                             new Permission("delete rule", parentRules),
+                            new Permission("add permission to rule", parentRules),
+                            new Permission("remove permission to rule", parentRules),
                             new Permission("delete team", parentTeams),
                             new Permission("delete user", parentUsers)
                     )
             );
-            // super adminRule can perform admins actions
-            superAdminPermissions.addAll(adminPermissions);
             superAdminPermissions = new HashSet<>(permissionRepository.saveAll(superAdminPermissions));
-            // create super adminRule rule with his permission's
+            // create super adminRule rule with his permission's, super adminRule inherits admins actions
             Role superAdminRule = roleRepository.save(
-                    Role.builder().name("super admin").permissions(superAdminPermissions).build());
+                    Role.builder().name("super admin").permissions(superAdminPermissions)
+                            .parents(new HashSet<>(Collections.singleton(adminRule))).build());
 
             // create default super admin user
             User superAdmin = User.builder()
@@ -198,9 +205,7 @@ public class BenevoleApplication implements CommandLineRunner {
                     .username("User").roles(new HashSet<>(Collections.singleton(userRule)))
                     .enabled(true)
                     .build();
-            userRepository.save(superAdmin);
-            userRepository.save(admin);
-            userRepository.save(user);
+            userRepository.saveAll(Arrays.asList(superAdmin, admin, user));
         }
     }
 }
@@ -0,0 +1,72 @@
+package com.app.benevole.config;
+
+import com.app.benevole.security.CustomUserDetails;
+import com.app.benevole.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Sends connections of {@code @Transactional(readOnly = true)} methods to the replica, unless
+ * the {@link ReplicaLagGuard} says the current user has just written; everything else goes to
+ * the primary. Must sit behind a {@code LazyConnectionDataSourceProxy}: the read-only flag of
+ * the transaction is only known once the transaction manager has begun it.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    enum Target {PRIMARY, REPLICA}
+
+    private final ReplicaLagGuard lagGuard;
+    private final Counter primaryReads;
+    private final Counter replicaReads;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagGuard lagGuard,
+                                      MeterRegistry registry) {
+        this.lagGuard = lagGuard;
+        this.primaryReads = Counter.builder("datasource.routing.reads").tag("target", "primary")
+                .description("Read-only transactions kept on the primary after a write by the same user")
+                .register(registry);
+        this.replicaReads = Counter.builder("datasource.routing.reads").tag("target", "replica")
+                .description("Read-only transactions served by the replica").register(registry);
+        setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+            return Target.PRIMARY;
+        }
+        UUID user = currentUser();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (user != null) {
+                TransactionHooks.afterCommit(() -> lagGuard.recordWrite(user));
+            }
+            return Target.PRIMARY;
+        }
+        if (user != null && lagGuard.wroteRecently(user)) {
+            primaryReads.increment();
+            return Target.PRIMARY;
+        }
+        replicaReads.increment();
+        return Target.REPLICA;
+    }
+
+    /**
+     * Keyed by id, usernames not being unique.
+     */
+    private static UUID currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails)) {
+            return null;
+        }
+        return ((CustomUserDetails) authentication.getPrincipal()).getId();
+    }
+}
@@ -0,0 +1,42 @@
+package com.app.benevole.config;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers, per user id, when their last write committed on this node. For {@code window} ms
+ * afterwards their reads stay on the primary, so a client reading back what it just wrote is
+ * not served a replica that has not replayed it yet.
+ */
+public class ReplicaLagGuard {
+
+    private final long window;
+    private final int maxSize;
+    private final Map<UUID, Long> lastWrites = new ConcurrentHashMap<>();
+
+    public ReplicaLagGuard(long window, int maxSize) {
+        this.window = window;
+        this.maxSize = maxSize;
+    }
+
+    public void recordWrite(UUID user) {
+        long now = System.currentTimeMillis();
+        if (lastWrites.size() >= maxSize) {
+            lastWrites.values().removeIf(at -> now - at >= window);
+        }
+        lastWrites.put(user, now);
+    }
+
+    public boolean wroteRecently(UUID user) {
+        Long at = lastWrites.get(user);
+        if (at == null) {
+            return false;
+        }
+        if (System.currentTimeMillis() - at < window) {
+            return true;
+        }
+        lastWrites.remove(user, at);
+        return false;
+    }
+}
@@ -4,36 +4,38 @@ import com.app.benevole.jwt.AuthTokenFilter;
 import com.app.benevole.jwt.JwtAccessDeniedHandler;
 import com.app.benevole.jwt.JwtAuthenticationEntryPoint;
 import com.app.benevole.jwt.JwtUtils;
-import com.app.benevole.security.CustomMethodSecurityExpressionHandler;
+import com.app.benevole.jwt.TokenRevocationList;
+import com.app.benevole.security.BoundedPasswordEncoder;
 import com.app.benevole.security.UserDetailsServiceImpl;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.security.access.expression.method.MethodSecurityExpressionHandler;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.config.annotation.authentication.configuration.AuthenticationConfiguration;
-import org.springframework.security.config.annotation.method.configuration.EnableGlobalMethodSecurity;
-import org.springframework.security.config.annotation.method.configuration.GlobalMethodSecurityConfiguration;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configuration.WebSecurityCustomizer;
 import org.springframework.security.config.http.SessionCreationPolicy;
-import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
 
 @Configuration
 @EnableWebSecurity
-@EnableGlobalMethodSecurity(prePostEnabled = true)
 @RequiredArgsConstructor
-public class SecurityConfig extends GlobalMethodSecurityConfiguration {
+public class SecurityConfig {
 
     private JwtAuthenticationEntryPoint authenticationEntryPoint;
     private JwtAccessDeniedHandler accessDeniedHandler;
     private JwtUtils jwtUtils;
     private UserDetailsServiceImpl userDetailsService;
+    @Autowired
+    @Lazy
+    private TokenRevocationList tokenRevocationList;
 
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
@@ -41,8 +43,17 @@ public class SecurityConfig extends GlobalMethodSecurityConfiguration {
     }
 
     @Bean
-    PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    PasswordEncoder passwordEncoder(@Value("${application.security.password.strength:10}") int strength,
+                                    @Value("${application.security.password.calibrate:false}") boolean calibrate,
+                                    @Value("${application.security.password.targetLatency:250}") long targetLatency,
+                                    @Value("${application.security.password.poolSize:0}") int poolSize,
+                                    @Value("${application.security.password.queueCapacity:64}") int queueCapacity,
+                                    MeterRegistry registry) {
+        return new BoundedPasswordEncoder(
+                calibrate ? BoundedPasswordEncoder.calibrate(targetLatency) : strength,
+                poolSize > 0 ? poolSize : Runtime.getRuntime().availableProcessors(),
+                queueCapacity,
+                registry);
     }
 
     @Bean
@@ -60,8 +71,9 @@ public class SecurityConfig extends GlobalMethodSecurityConfiguration {
     }
 
     @Bean
-    public AuthTokenFilter authenticationJwtTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService) {
-        return new AuthTokenFilter(jwtUtils, userDetailsService);
+    public AuthTokenFilter authenticationJwtTokenFilter(JwtUtils jwtUtils, UserDetailsServiceImpl userDetailsService,
+                                                        TokenRevocationList tokenRevocationList) {
+        return new AuthTokenFilter(jwtUtils, userDetailsService, tokenRevocationList);
     }
 
     @Bean
@@ -81,13 +93,7 @@ public class SecurityConfig extends GlobalMethodSecurityConfiguration {
                 .and()
                 .sessionManagement().sessionCreationPolicy(SessionCreationPolicy.STATELESS)
                 .and()
-                .addFilterBefore(authenticationJwtTokenFilter(jwtUtils, userDetailsService), UsernamePasswordAuthenticationFilter.class)
+                .addFilterBefore(authenticationJwtTokenFilter(jwtUtils, userDetailsService, tokenRevocationList), UsernamePasswordAuthenticationFilter.class)
                 .build();
     }
-
-    @Override
-    protected MethodSecurityExpressionHandler createExpressionHandler() {
-        CustomMethodSecurityExpressionHandler expressionHandler = new CustomMethodSecurityExpressionHandler();
-        return expressionHandler;
-    }
 }
@@ -0,0 +1,27 @@
+package com.app.benevole.config;
+
+import com.app.benevole.security.PermissionInterceptor;
+import com.app.benevole.util.SoftDeleteInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+    private final PermissionInterceptor permissionInterceptor;
+    private final SoftDeleteInterceptor softDeleteInterceptor;
+
+    public WebConfig(PermissionInterceptor permissionInterceptor, SoftDeleteInterceptor softDeleteInterceptor) {
+        this.permissionInterceptor = permissionInterceptor;
+        this.softDeleteInterceptor = softDeleteInterceptor;
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(permissionInterceptor).addPathPatterns("/api/**");
+        // open-in-view registers at order 0 and has to bind the entity manager first
+        registry.addInterceptor(softDeleteInterceptor).addPathPatterns("/api/**").order(Ordered.LOWEST_PRECEDENCE);
+    }
+}
@@ -1,16 +1,23 @@
 package com.app.benevole.controller;
 
+import com.app.benevole.exception.RefreshTokenException;
 import com.app.benevole.helper.ApiError;
 import com.app.benevole.helper.ApiFormat;
+import com.app.benevole.jwt.AuthTokenFilter;
 import com.app.benevole.jwt.JwtUtils;
+import com.app.benevole.jwt.TokenRevocationList;
 import com.app.benevole.model.User;
+import com.app.benevole.request.RefreshTokenRequest;
 import com.app.benevole.request.UserLogin;
 import com.app.benevole.request.UserRequest;
 import com.app.benevole.response.LoginResponse;
 import com.app.benevole.response.UserResponse;
 import com.app.benevole.security.CustomUserDetails;
+import com.app.benevole.security.UserDetailsServiceImpl;
+import com.app.benevole.service.RefreshTokenService;
 import com.app.benevole.service.RoleService;
 import com.app.benevole.service.UserService;
+import io.jsonwebtoken.Claims;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
@@ -25,6 +32,7 @@ import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.authentication.logout.SecurityContextLogoutHandler;
+import org.springframework.util.StringUtils;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -43,11 +51,19 @@ public class AuthController {
     private final UserService userService;
     private final JwtUtils jwtUtils;
     private final AuthenticationManager authenticationManager;
+    private final RefreshTokenService refreshTokenService;
+    private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
-    public AuthController(UserService userService, RoleService roleService, PasswordEncoder passwordEncoder, JwtUtils jwtUtils, AuthenticationManager authenticationManager) {
+    public AuthController(UserService userService, RoleService roleService, PasswordEncoder passwordEncoder, JwtUtils jwtUtils,
+                          AuthenticationManager authenticationManager, RefreshTokenService refreshTokenService,
+                          UserDetailsServiceImpl userDetailsService, TokenRevocationList tokenRevocationList) {
         this.userService = userService;
         this.jwtUtils = jwtUtils;
         this.authenticationManager = authenticationManager;
+        this.refreshTokenService = refreshTokenService;
+        this.userDetailsService = userDetailsService;
+        this.tokenRevocationList = tokenRevocationList;
     }
 
     @PostMapping("/signup")
@@ -110,36 +126,81 @@ public class AuthController {
         // if this account is actually use by another user
 
         // create user accessToken
-        String accessToken = jwtUtils.generateUserAccessToken(email);
-        // get rules and permissions for auth user
-        List<String> authorities = userDetails.getAuthorities()
-                .stream()
-                .map(GrantedAuthority::getAuthority)
-                .collect(Collectors.toList());
-
-        // create user auth object
-        LoginResponse authUser = LoginResponse.builder()
-                .id(userDetails.getId()).email(userDetails.getEmail())
-                .username(userDetails.getUsername()).token(accessToken)
-                .rulesAndPermissions(authorities)
-                .build();
+        String accessToken = jwtUtils.generateUserAccessToken(userDetails);
+        // start a refresh token family for this login
+        String refreshToken = refreshTokenService.issue(userDetails.getId());
 
         // return authentication object
-        return ResponseEntity.ok(authUser);
+        return ResponseEntity.ok(loginResponse(userDetails, accessToken, refreshToken));
+    }
+
+    @PostMapping("${application.security.refreshTokenRoute}")
+    @Operation(summary = "Exchange a refresh token for a new access token and refresh token.")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "200", description = "Tokens refreshed successfully.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = LoginResponse.class)
+                            )
+                    }
+            ),
+            @ApiResponse(responseCode = "401", description = "Refresh token unknown, expired, revoked or already used.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            )
+    })
+    public ResponseEntity<?> refreshToken(@Valid @RequestBody RefreshTokenRequest request) {
+        // consume the presented token, no password verification needed
+        RefreshTokenService.Rotation rotation = refreshTokenService.rotate(request.getRefreshToken());
+        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService
+                .loadUserByUserId(rotation.getUserId().toString());
+        if (!userDetails.isEnabled()) {
+            refreshTokenService.revoke(rotation.getRefreshToken());
+            throw new RefreshTokenException("User account is disabled");
+        }
+        String accessToken = jwtUtils.generateUserAccessToken(userDetails);
+        return ResponseEntity.ok(loginResponse(userDetails, accessToken, rotation.getRefreshToken()));
     }
 
     @PostMapping("/logout")
-    @Operation(summary = "User logout.")
+    @Operation(summary = "User logout, revokes the access token and, when given, the refresh token family.")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "User logged out successfully")
     })
-    public ResponseEntity<?> userLogout(HttpServletRequest request, HttpServletResponse response) {
+    public ResponseEntity<?> userLogout(@RequestBody(required = false) RefreshTokenRequest body,
+                                        HttpServletRequest request, HttpServletResponse response) {
         Authentication auth = SecurityContextHolder.getContext().getAuthentication();
-        // get the auth user from security context
-        // auth.getPrincipal() and delete all existing token from DB
+        // revoke the presented access token until it expires
+        Claims claims = (Claims) request.getAttribute(AuthTokenFilter.CLAIMS_ATTRIBUTE);
+        if (claims != null) {
+            tokenRevocationList.revoke(claims.getId(), claims.getExpiration());
+        }
+        // and the refresh token family of this login
+        if (body != null && StringUtils.hasText(body.getRefreshToken())) {
+            refreshTokenService.revoke(body.getRefreshToken());
+        }
 
         // logout the user
         new SecurityContextLogoutHandler().logout(request, response, auth);
         return ResponseEntity.noContent().build();
     }
+
+    private LoginResponse loginResponse(CustomUserDetails userDetails, String accessToken, String refreshToken) {
+        // get rules and permissions for auth user
+        List<String> authorities = userDetails.getAuthorities()
+                .stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+
+        // create user auth object
+        return LoginResponse.builder()
+                .id(userDetails.getId()).email(userDetails.getEmail())
+                .username(userDetails.getUsername()).token(accessToken)
+                .refreshToken(refreshToken)
+                .rulesAndPermissions(authorities)
+                .build();
+    }
 }
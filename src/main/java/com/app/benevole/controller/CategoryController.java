@@ -1,10 +1,13 @@
 package com.app.benevole.controller;
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Category;
 import com.app.benevole.request.CategoryRequest;
 import com.app.benevole.response.CategoryResponse;
 import com.app.benevole.response.UserResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.CategoryService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,7 +21,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -26,7 +28,7 @@ import javax.validation.Valid;
 
 @RestController
 @RequestMapping(value = "/api/categories", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin')")
+@RequiresRole({"super admin", "admin"})
 public class CategoryController {
 
     private final CategoryService categoryService;
@@ -36,7 +38,7 @@ public class CategoryController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read categories')")
+    @RequiresPermission("read categories")
     @Operation(summary = "Get Categories list by status(deleted or not)")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -54,16 +56,16 @@ public class CategoryController {
                     }
             )
     })
-    public ResponseEntity<List<CategoryResponse>> getAllCategories(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "false") boolean deleted) {
-        if (deleted) {
-            return ResponseEntity.ok(categoryService.findAllDeleted(page, size));
-        } else {
-            return ResponseEntity.ok(categoryService.findAll(page, size));
-        }
+    public ResponseEntity<List<CategoryResponse>> getAllCategories(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam(defaultValue = "false") boolean deleted,
+                                                                   @RequestParam(required = false) String cursor) {
+        List<CategoryResponse> categories = deleted
+                ? categoryService.findAllDeleted(page, size, Cursor.of(cursor))
+                : categoryService.findAll(page, size, Cursor.of(cursor));
+        return Cursor.page(categories, size, response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read category')")
+    @RequiresPermission("read category")
     @Operation(summary = "Get single category by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -93,7 +95,7 @@ public class CategoryController {
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create category')")
+    @RequiresPermission("create category")
     @Operation(summary = "Create new category in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Category created successfully.",
@@ -124,11 +126,11 @@ public class CategoryController {
                 .name(category.getName())
                 .build();
         c = categoryService.create(c);
-        return ResponseEntity.status(HttpStatus.CREATED).body(new CategoryResponse(c));
+        return ResponseEntity.status(HttpStatus.CREATED).body(categoryService.toResponse(c));
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update category')")
+    @RequiresPermission("update category")
     @Operation(summary = "Update existing category in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -156,11 +158,11 @@ public class CategoryController {
     public ResponseEntity<CategoryResponse> updateCategory(@PathVariable(name = "id") final Long id,
                                                            @RequestBody @Valid CategoryRequest category) {
 
-        return ResponseEntity.ok().body(new CategoryResponse(categoryService.update(id, category)));
+        return ResponseEntity.ok().body(categoryService.toResponse(categoryService.update(id, category)));
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete category')")
+    @RequiresPermission("delete category")
     @Operation(summary = "Delete single category by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error.",
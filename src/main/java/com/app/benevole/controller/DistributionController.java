@@ -2,12 +2,16 @@ package com.app.benevole.controller;
 
 import com.app.benevole.enums.Status;
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Distribution;
 import com.app.benevole.model.Team;
 import com.app.benevole.repository.TeamRepository;
 import com.app.benevole.request.DistributionRequest;
 import com.app.benevole.response.CategoryResponse;
 import com.app.benevole.response.DistributionResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.DistributionService;
 import com.app.benevole.util.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,13 +26,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping(value = "/api/distributions", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin')")
+@RequiresRole({"super admin", "admin"})
 public class DistributionController {
 
     private final DistributionService distributionService;
@@ -40,7 +43,7 @@ public class DistributionController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read distributions')")
+    @RequiresPermission("read distributions")
     @Operation(summary = "Get Distributions list by defined range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -58,12 +61,15 @@ public class DistributionController {
                     }
             )
     })
-    public ResponseEntity<List<DistributionResponse>> getAllDistributions(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(distributionService.findAll(page, size));
+    public ResponseEntity<List<DistributionResponse>> getAllDistributions(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+                                                                          @RequestParam(required = false) String cursor,
+                                                                          @RequestParam(required = false) String expand) {
+        return Cursor.page(distributionService.findAll(page, size, Cursor.of(cursor), Expand.of(expand)), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/category")
-    @PreAuthorize("hasPermission('read distributions')")
+    @RequiresPermission("read distributions")
     @Operation(summary = "Get Distributions list by status range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -83,12 +89,15 @@ public class DistributionController {
     })
     public ResponseEntity<List<DistributionResponse>> getAllDistributionsByStatus(@RequestParam(defaultValue = "0") int page,
                                                                                   @RequestParam(defaultValue = "10") int size,
-                                                                                  @RequestParam Status status) {
-        return ResponseEntity.ok(distributionService.findAllByStatus(page, size, status));
+                                                                                  @RequestParam Status status,
+                                                                                  @RequestParam(required = false) String cursor,
+                                                                                  @RequestParam(required = false) String expand) {
+        return Cursor.page(distributionService.findAllByStatus(page, size, Cursor.of(cursor), status, Expand.of(expand)), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read distribution')")
+    @RequiresPermission("read distribution")
     @Operation(summary = "Get single distribution by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -114,13 +123,13 @@ public class DistributionController {
             )
     })
     public ResponseEntity<DistributionResponse> getDistribution(
-            @PathVariable(name = "id") final Long id) {
-        return ResponseEntity.ok(distributionService.get(id));
+            @PathVariable(name = "id") final Long id, @RequestParam(required = false) String expand) {
+        return ResponseEntity.ok(distributionService.get(id, Expand.of(expand)));
     }
 
     @PostMapping
     @ApiResponse(responseCode = "201")
-    @PreAuthorize("hasPermission('create distribution')")
+    @RequiresPermission("create distribution")
     @Operation(summary = "Create new distribution in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Distribution created successfully.",
@@ -163,7 +172,7 @@ public class DistributionController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update distribution')")
+    @RequiresPermission("update distribution")
     @Operation(summary = "Update existing distribution in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -196,7 +205,7 @@ public class DistributionController {
 
     @DeleteMapping("/{id}")
     @ApiResponse(responseCode = "204")
-    @PreAuthorize("hasPermission('delete distribution')")
+    @RequiresPermission("delete distribution")
     @Operation(summary = "Delete single distribution by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error.",
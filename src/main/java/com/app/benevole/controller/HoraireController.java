@@ -2,51 +2,45 @@ package com.app.benevole.controller;
 
 import com.app.benevole.enums.TeamType;
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Horaire;
-import com.app.benevole.model.Team;
-import com.app.benevole.model.User;
-import com.app.benevole.repository.HoraireRepository;
 import com.app.benevole.request.HoraireRequest;
 import com.app.benevole.response.CategoryResponse;
 import com.app.benevole.response.HoraireResponse;
 import com.app.benevole.response.UserResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.HoraireService;
-import com.app.benevole.service.TeamService;
-import com.app.benevole.util.NotFoundException;
+import com.app.benevole.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
 import javax.validation.Valid;
-import java.util.ArrayList;
 import java.util.List;
-import java.util.stream.Collectors;
 
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping(value = "/api/horaires", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin', 'user')")
+@RequiresRole({"super admin", "admin", "user"})
 public class HoraireController {
 
     private final HoraireService horaireService;
-    private final HoraireRepository hr;
-    private final TeamService ts;
+    private final UserService userService;
 
-    public HoraireController(HoraireService horaireService, HoraireRepository hr, TeamService ts) {
+    public HoraireController(HoraireService horaireService, UserService userService) {
         this.horaireService = horaireService;
-        this.hr = hr;
-        this.ts = ts;
+        this.userService = userService;
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read horaires')")
+    @RequiresPermission("read horaires")
     @Operation(summary = "Get Hourly list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -64,12 +58,14 @@ public class HoraireController {
                     }
             )
     })
-    public ResponseEntity<List<HoraireResponse>> getAllHourlies(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(horaireService.findAll(page, size));
+    public ResponseEntity<List<HoraireResponse>> getAllHourlies(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+                                                                @RequestParam(required = false) String cursor) {
+        return Cursor.page(horaireService.findAll(page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/availableAfterDays")
-    @PreAuthorize("hasPermission('read horaires')")
+    @RequiresPermission("read horaires")
     @Operation(summary = "Get Hourly list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -88,14 +84,13 @@ public class HoraireController {
             )
     })
     public ResponseEntity<List<HoraireResponse>> availableAfterDays(@RequestParam(defaultValue = "3") Double days, @RequestParam(defaultValue = "DISTRIBUTION") TeamType type) {
-        List<HoraireResponse> hourlies = horaireService.availableAfterDayAndType(days, type.name())
-                .stream().map(HoraireResponse::new)
-                .collect(Collectors.toList());
+        List<HoraireResponse> hourlies = horaireService.toResponses(
+                horaireService.availableAfterDayAndType(days, type.name()));
         return ResponseEntity.ok(hourlies);
     }
 
     @GetMapping("/status")
-    @PreAuthorize("hasPermission('read horaires')")
+    @RequiresPermission("read horaires")
     @Operation(summary = "Get Hourly list by status and range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -115,13 +110,14 @@ public class HoraireController {
     })
     public ResponseEntity<List<HoraireResponse>> getAllHourliesByStatus(@RequestParam(defaultValue = "0") int page,
                                                                         @RequestParam(defaultValue = "10") int size,
+                                                                        @RequestParam(required = false) String cursor,
                                                                         @RequestParam TeamType type) {
-        return ResponseEntity.ok(horaireService.findAllByType(
-                page, size, type));
+        return Cursor.page(horaireService.findAllByType(page, size, Cursor.of(cursor), type), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read horaire')")
+    @RequiresPermission("read horaire")
     @Operation(summary = "Get single hourly by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -152,7 +148,7 @@ public class HoraireController {
 
     @PostMapping
     @ApiResponse(responseCode = "201")
-    @PreAuthorize("hasPermission('create horaire')")
+    @RequiresPermission("create horaire")
     @Operation(summary = "Create new hourly in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Hourly created successfully.",
@@ -179,11 +175,11 @@ public class HoraireController {
     })
     public ResponseEntity<HoraireResponse> createHourly(@RequestBody @Valid final HoraireRequest request) {
         final Horaire created = horaireService.create(request);
-        return ResponseEntity.ok(new HoraireResponse(created));
+        return ResponseEntity.ok(horaireService.toResponse(created));
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update horaire')")
+    @RequiresPermission("update horaire")
     @Operation(summary = "Update existing hourly in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -218,12 +214,12 @@ public class HoraireController {
     public ResponseEntity<HoraireResponse> updateHourly(@PathVariable(name = "id") final Long id,
                                                         @RequestBody @Valid final HoraireRequest request) {
         Horaire h = horaireService.update(id, request);
-        return ResponseEntity.ok(new HoraireResponse(h));
+        return ResponseEntity.ok(horaireService.toResponse(h));
     }
 
     @DeleteMapping("/{id}")
     @ApiResponse(responseCode = "204")
-    @PreAuthorize("hasPermission('delete horaire')")
+    @RequiresPermission("delete horaire")
     @Operation(summary = "Delete single hourly by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error.",
@@ -255,7 +251,7 @@ public class HoraireController {
 
 
     @GetMapping("/availableUsers/{hourlyId}")
-    @PreAuthorize("hasPermission('read horaire')")
+    @RequiresPermission("read horaire")
     @Operation(summary = "Get available users by hourly")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -280,13 +276,10 @@ public class HoraireController {
                     }
             )
     })
-    public List<UserResponse> availableUsersByHourlyId(@PathVariable("hourlyId") Long id) {
-        Horaire h = hr.findById(id).orElseThrow(NotFoundException::new);
-        List<Team> teams = ts.allByDates(h.getStartDate(), h.getEndDate());
-        List<User> available = new ArrayList<>(h.getUsers());
-        teams.forEach(team -> {
-            available.removeAll(team.getMembers());
-        });
-        return available.stream().map(UserResponse::new).collect(Collectors.toList());
+    public ResponseEntity<List<UserResponse>> availableUsersByHourlyId(
+            @PathVariable("hourlyId") Long id, @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size, @RequestParam(required = false) String cursor) {
+        return Cursor.page(userService.findAvailableForHoraire(id, page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId(), response.getUsername()));
     }
 }
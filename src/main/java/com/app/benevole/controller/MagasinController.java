@@ -2,6 +2,7 @@ package com.app.benevole.controller;
 
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Category;
 import com.app.benevole.model.Magasin;
 import com.app.benevole.repository.CategoryRepository;
@@ -9,6 +10,8 @@ import com.app.benevole.request.MagasinRequest;
 import com.app.benevole.response.CategoryResponse;
 import com.app.benevole.response.HoraireResponse;
 import com.app.benevole.response.MagasinResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.MagasinService;
 import com.app.benevole.util.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -22,13 +25,12 @@ import java.util.List;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping(value = "/api/magasins", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin')")
+@RequiresRole({"super admin", "admin"})
 public class MagasinController {
 
     private final MagasinService magasinService;
@@ -40,7 +42,7 @@ public class MagasinController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read stores')")
+    @RequiresPermission("read stores")
     @Operation(summary = "Get Stores list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -59,12 +61,14 @@ public class MagasinController {
             )
     })
     public ResponseEntity<List<MagasinResponse>> getAllStores(@RequestParam(defaultValue = "0") int page,
-                                                              @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(magasinService.findAll(page, size));
+                                                              @RequestParam(defaultValue = "10") int size,
+                                                              @RequestParam(required = false) String cursor) {
+        return Cursor.page(magasinService.findAll(page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/category")
-    @PreAuthorize("hasPermission('read stores')")
+    @RequiresPermission("read stores")
     @Operation(summary = "Get Stores list by category and range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -84,13 +88,15 @@ public class MagasinController {
     })
     public ResponseEntity<List<MagasinResponse>> getAllStoresByCategory(@RequestParam(defaultValue = "0") int page,
                                                                         @RequestParam(defaultValue = "10") int size,
+                                                                        @RequestParam(required = false) String cursor,
                                                                         @RequestParam(name = "categoryId") Long category) {
         Category c = categoryRepository.findById(category).orElseThrow(NotFoundException::new);
-        return ResponseEntity.ok(magasinService.findAllByCategory(page, size, c));
+        return Cursor.page(magasinService.findAllByCategory(page, size, Cursor.of(cursor), c), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read store')")
+    @RequiresPermission("read store")
     @Operation(summary = "Get single store by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -121,7 +127,7 @@ public class MagasinController {
 
     @PostMapping
     @ApiResponse(responseCode = "201")
-    @PreAuthorize("hasPermission('create store')")
+    @RequiresPermission("create store")
     @Operation(summary = "Create new store in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Store created successfully.",
@@ -153,7 +159,7 @@ public class MagasinController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update store')")
+    @RequiresPermission("update store")
     @Operation(summary = "Update existing store in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -193,7 +199,7 @@ public class MagasinController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete store')")
+    @RequiresPermission("delete store")
     @Operation(summary = "Delete single store by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error.",
@@ -2,12 +2,15 @@ package com.app.benevole.controller;
 
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Notifications;
 import com.app.benevole.model.User;
 import com.app.benevole.repository.UserRepository;
 import com.app.benevole.request.NotificationsRequest;
 import com.app.benevole.response.MagasinResponse;
 import com.app.benevole.response.NotificationsResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.NotificationsService;
 import com.app.benevole.util.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,13 +24,12 @@ import java.util.UUID;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping(value = "/api/notificationss", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin', 'user')")
+@RequiresRole({"super admin", "admin", "user"})
 public class NotificationsController {
 
     private final NotificationsService notificationsService;
@@ -39,7 +41,7 @@ public class NotificationsController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read notifications')")
+    @RequiresPermission("read notifications")
     @Operation(summary = "Get Notifications list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -58,12 +60,14 @@ public class NotificationsController {
             )
     })
     public ResponseEntity<List<NotificationsResponse>> getAllNotifications(@RequestParam(defaultValue = "0") int page,
-                                                                            @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(notificationsService.findAll(page, size));
+                                                                            @RequestParam(defaultValue = "10") int size,
+                                                                            @RequestParam(required = false) String cursor) {
+        return Cursor.page(notificationsService.findAll(page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/user")
-    @PreAuthorize("hasPermission('read notifications')")
+    @RequiresPermission("read notifications")
     @Operation(summary = "Get Notification's user list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -83,13 +87,15 @@ public class NotificationsController {
     })
     public ResponseEntity<List<NotificationsResponse>> getAllNotificationsByUser(@RequestParam(defaultValue = "0") int page,
                                                                                  @RequestParam(defaultValue = "10") int size,
+                                                                                 @RequestParam(required = false) String cursor,
                                                                                  @RequestParam UUID user) {
         User u = userRepository.findById(user).orElseThrow(NotFoundException::new);
-        return ResponseEntity.ok(notificationsService.findAllByUser(page, size,u));
+        return Cursor.page(notificationsService.findAllByUser(page, size, Cursor.of(cursor), u), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read notification')")
+    @RequiresPermission("read notification")
     @Operation(summary = "Get single notification by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -120,7 +126,7 @@ public class NotificationsController {
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create notification')")
+    @RequiresPermission("create notification")
     @Operation(summary = "Create new notification in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Notification created successfully.",
@@ -153,7 +159,7 @@ public class NotificationsController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update notification')")
+    @RequiresPermission("update notification")
     @Operation(summary = "Update existing notification in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -193,7 +199,7 @@ public class NotificationsController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete notification')")
+    @RequiresPermission("delete notification")
     @Operation(summary = "Delete single notification by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -1,14 +1,14 @@
 package com.app.benevole.controller;
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.PermissionParent;
-import com.app.benevole.model.User;
 import com.app.benevole.repository.PermissionParentRepository;
-import com.app.benevole.repository.PermissionRepository;
-import com.app.benevole.repository.UserRepository;
 import com.app.benevole.request.PermissionRequest;
 import com.app.benevole.response.PermissionResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.PermissionService;
 import com.app.benevole.util.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -21,7 +21,6 @@ import javax.validation.Valid;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.HashSet;
@@ -32,24 +31,19 @@ import java.util.UUID;
 
 @RestController
 @RequestMapping(value = "/api/permissions", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasRole('super admin')")
+@RequiresRole("super admin")
 public class PermissionController {
 
     private final PermissionService permissionService;
     private final PermissionParentRepository repository;
-    private final UserRepository userRepository;
-    private final PermissionRepository permissionRepository;
 
-    public PermissionController(final PermissionService permissionService, PermissionParentRepository repository, UserRepository userRepository,
-                                PermissionRepository permissionRepository) {
+    public PermissionController(final PermissionService permissionService, PermissionParentRepository repository) {
         this.permissionService = permissionService;
         this.repository = repository;
-        this.userRepository = userRepository;
-        this.permissionRepository = permissionRepository;
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read permissions')")
+    @RequiresPermission("read permissions")
     @Operation(summary = "Get Permissions list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -68,12 +62,14 @@ public class PermissionController {
             )
     })
     public ResponseEntity<List<PermissionResponse>> getAllPermissions(@RequestParam(defaultValue = "0") int page,
-                                                                      @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(permissionService.findAll(page, size));
+                                                                      @RequestParam(defaultValue = "10") int size,
+                                                                      @RequestParam(required = false) String cursor) {
+        return Cursor.page(permissionService.findAll(page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/parent")
-    @PreAuthorize("hasPermission('read permissions')")
+    @RequiresPermission("read permissions")
     @Operation(summary = "Get permission's parent list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -93,13 +89,15 @@ public class PermissionController {
     })
     public ResponseEntity<List<PermissionResponse>> getAllPermissionsByParent(@RequestParam(defaultValue = "0") int page,
                                                                               @RequestParam(defaultValue = "10") int size,
+                                                                              @RequestParam(required = false) String cursor,
                                                                               @RequestParam(name = "parent") Long parent) {
         PermissionParent p = repository.findById(parent).orElseThrow(NotFoundException::new);
-        return ResponseEntity.ok(permissionService.findAllByParent(page, size, p));
+        return Cursor.page(permissionService.findAllByParent(page, size, Cursor.of(cursor), p), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read permission')")
+    @RequiresPermission("read permission")
     @Operation(summary = "Get single permission by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -129,7 +127,7 @@ public class PermissionController {
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create permission')")
+    @RequiresPermission("create permission")
     @Operation(summary = "Create new permission in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Permission created successfully.",
@@ -162,7 +160,7 @@ public class PermissionController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update permission')")
+    @RequiresPermission("update permission")
     @Operation(summary = "Update existing permission in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -201,7 +199,7 @@ public class PermissionController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete permission')")
+    @RequiresPermission("delete permission")
     @Operation(summary = "Delete single permission by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -226,7 +224,7 @@ public class PermissionController {
     }
 
     @PostMapping("/appendPermission/{user}")
-    @PreAuthorize("hasPermission('add permission to user')")
+    @RequiresPermission("add permission to user")
     @Operation(summary = "Append user permission's")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -247,18 +245,12 @@ public class PermissionController {
     })
     public ResponseEntity<Void> addPermissionToUser(
             @RequestBody Set<Long> perms, @PathVariable(name = "user") UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(
-                        () -> new NotFoundException(String.format("User with ID: %s not found in this system.", userId))
-                );
-        List<Permission> permissions = permissionRepository.findAllById(perms);
-        user.getPermissions().addAll(permissions);
-        userRepository.saveAndFlush(user);
+        permissionService.addToUser(userId, perms);
         return ResponseEntity.noContent().build();
     }
 
     @PostMapping("/removePermission/{user}")
-    @PreAuthorize("hasPermission('remove permission to user')")
+    @RequiresPermission("remove permission to user")
     @Operation(summary = "Remove user permission's")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -279,13 +271,7 @@ public class PermissionController {
     })
     public ResponseEntity<Void> removePermissionToUser(
             @RequestBody Set<Long> perms, @PathVariable(name = "user") UUID userId) {
-        User user = userRepository.findById(userId)
-                .orElseThrow(
-                        () -> new NotFoundException(String.format("User with ID: %s not found in this system.", userId))
-                );
-        List<Permission> permissions = permissionRepository.findAllById(perms);
-        permissions.forEach(user.getPermissions()::remove);
-        userRepository.saveAndFlush(user);
+        permissionService.removeFromUser(userId, perms);
         return ResponseEntity.noContent().build();
     }
 }
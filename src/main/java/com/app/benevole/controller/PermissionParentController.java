@@ -1,12 +1,15 @@
 package com.app.benevole.controller;
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.PermissionParent;
 import com.app.benevole.repository.PermissionRepository;
 import com.app.benevole.request.PermissionParentRequest;
 import com.app.benevole.response.PermissionParentResponse;
 import com.app.benevole.response.PermissionResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.PermissionParentService;
 import com.app.benevole.util.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -16,7 +19,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -24,7 +26,7 @@ import java.util.List;
 
 @RestController
 @RequestMapping(value = "/api/parents", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasRole('super admin')")
+@RequiresRole("super admin")
 public class PermissionParentController {
 
     private final PermissionParentService service;
@@ -36,7 +38,7 @@ public class PermissionParentController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read parent permissions')")
+    @RequiresPermission("read parent permissions")
     @Operation(summary = "Get Parent permission's list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -55,12 +57,14 @@ public class PermissionParentController {
             )
     })
     public ResponseEntity<List<PermissionParentResponse>> getAllParents(@RequestParam(defaultValue = "0") int page,
-                                                                        @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(service.getAllPermissionParent(page, size));
+                                                                        @RequestParam(defaultValue = "10") int size,
+                                                                        @RequestParam(required = false) String cursor) {
+        return Cursor.page(service.getAllPermissionParent(page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read parent permission')")
+    @RequiresPermission("read parent permission")
     @Operation(summary = "Get single parent permission by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -90,7 +94,7 @@ public class PermissionParentController {
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create parent permission')")
+    @RequiresPermission("create parent permission")
     @Operation(summary = "Create new Parent permission in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Parent permission created successfully.",
@@ -122,7 +126,7 @@ public class PermissionParentController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update parent permission')")
+    @RequiresPermission("update parent permission")
     @Operation(summary = "Update existing parent permission in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -160,7 +164,7 @@ public class PermissionParentController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete parent permission')")
+    @RequiresPermission("delete parent permission")
     @Operation(summary = "Delete single parent permission by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
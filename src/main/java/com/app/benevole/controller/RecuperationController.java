@@ -2,10 +2,14 @@ package com.app.benevole.controller;
 
 import com.app.benevole.enums.Status;
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Recuperation;
 import com.app.benevole.request.RecuperationRequest;
 import com.app.benevole.response.PermissionParentResponse;
 import com.app.benevole.response.RecuperationResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.RecuperationService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -18,13 +22,12 @@ import java.util.List;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping(value = "/api/recuperations", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin')")
+@RequiresRole({"super admin", "admin"})
 public class RecuperationController {
 
     private final RecuperationService recuperationService;
@@ -34,7 +37,7 @@ public class RecuperationController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read recuperations')")
+    @RequiresPermission("read recuperations")
     @Operation(summary = "Get Recuperation's list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -53,12 +56,14 @@ public class RecuperationController {
             )
     })
     public ResponseEntity<List<RecuperationResponse>> getAllRecuperations(
-            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(recuperationService.findAll(page, size));
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String expand) {
+        return Cursor.page(recuperationService.findAll(page, size, Cursor.of(cursor), Expand.of(expand)), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/status")
-    @PreAuthorize("hasPermission('read recuperations')")
+    @RequiresPermission("read recuperations")
     @Operation(summary = "Get Recuperation's list by status and range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -77,12 +82,14 @@ public class RecuperationController {
             )
     })
     public ResponseEntity<List<RecuperationResponse>> getAllRecuperationsByStatus(
-            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam Status status) {
-        return ResponseEntity.ok(recuperationService.findAllByStatus(page, size, status));
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size, @RequestParam Status status,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String expand) {
+        return Cursor.page(recuperationService.findAllByStatus(page, size, Cursor.of(cursor), status, Expand.of(expand)), size,
+                response -> Cursor.encode(response.getId()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read recuperation')")
+    @RequiresPermission("read recuperation")
     @Operation(summary = "Get single recuperation by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -108,12 +115,12 @@ public class RecuperationController {
             )
     })
     public ResponseEntity<RecuperationResponse> getRecuperation(
-            @PathVariable(name = "id") final Long id) {
-        return ResponseEntity.ok(recuperationService.get(id));
+            @PathVariable(name = "id") final Long id, @RequestParam(required = false) String expand) {
+        return ResponseEntity.ok(recuperationService.get(id, Expand.of(expand)));
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create recuperation')")
+    @RequiresPermission("create recuperation")
     @Operation(summary = "Create new Recuperation in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Recuperation created successfully.",
@@ -145,7 +152,7 @@ public class RecuperationController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update recuperation')")
+    @RequiresPermission("update recuperation")
     @Operation(summary = "Update existing recuperation in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -184,7 +191,7 @@ public class RecuperationController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete recuperation')")
+    @RequiresPermission("delete recuperation")
     @Operation(summary = "Delete single recuperation by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
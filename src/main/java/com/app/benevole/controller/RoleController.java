@@ -1,11 +1,14 @@
 package com.app.benevole.controller;
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Role;
 import com.app.benevole.request.RoleRequest;
 import com.app.benevole.response.PermissionParentResponse;
 import com.app.benevole.response.RecuperationResponse;
 import com.app.benevole.response.RoleResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.RoleService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -17,7 +20,6 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
@@ -25,7 +27,7 @@ import javax.validation.Valid;
 
 @RestController
 @RequestMapping(value = "/api/roles", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasRole('super admin')")
+@RequiresRole("super admin")
 public class RoleController {
 
     private final RoleService roleService;
@@ -35,7 +37,7 @@ public class RoleController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read rules')")
+    @RequiresPermission("read rules")
     @Operation(summary = "Get Rules list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -53,12 +55,14 @@ public class RoleController {
                     }
             )
     })
-    public ResponseEntity<List<RoleResponse>> getAllRoles(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(roleService.findAll(page, size));
+    public ResponseEntity<List<RoleResponse>> getAllRoles(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+                                                          @RequestParam(required = false) String cursor) {
+        return Cursor.page(roleService.findAll(page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read rule')")
+    @RequiresPermission("read rule")
     @Operation(summary = "Get single Rule by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -88,7 +92,7 @@ public class RoleController {
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create rule')")
+    @RequiresPermission("create rule")
     @Operation(summary = "Create new Rule in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Rule created successfully.",
@@ -119,7 +123,7 @@ public class RoleController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update rule')")
+    @RequiresPermission("update rule")
     @Operation(summary = "Update existing Rule in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -158,7 +162,7 @@ public class RoleController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete rule')")
+    @RequiresPermission("delete rule")
     @Operation(summary = "Delete single Rule by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -183,7 +187,7 @@ public class RoleController {
     }
 
     @PostMapping("/appendPermission/{role}/{perm}")
-    @PreAuthorize("hasPermission('add permission to rule')")
+    @RequiresPermission("add permission to rule")
     @Operation(summary = "Append permission to rule")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -209,7 +213,7 @@ public class RoleController {
     }
 
     @PostMapping("/removePermission/{role}/{perm}")
-    @PreAuthorize("hasPermission('remove permission to rule')")
+    @RequiresPermission("remove permission to rule")
     @Operation(summary = "Remove permission to rule")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -233,4 +237,49 @@ public class RoleController {
         roleService.removePermissionToRole(role, perm);
         return ResponseEntity.noContent().build();
     }
+
+    @PostMapping("/appendParent/{role}/{parent}")
+    @RequiresPermission("update rule")
+    @Operation(summary = "Make a rule inherit the permissions of a parent rule")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Operation finish without error."),
+            @ApiResponse(responseCode = "404", description = "Requested data not found in the system.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            ),
+            @ApiResponse(responseCode = "409", description = "The parent already inherits from this rule.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            )
+    })
+    public ResponseEntity<Void> addParentToRole(
+            @PathVariable(name = "role") Long role, @PathVariable(name = "parent") Long parent) {
+        roleService.addParentToRole(role, parent);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/removeParent/{role}/{parent}")
+    @RequiresPermission("update rule")
+    @Operation(summary = "Stop a rule inheriting the permissions of a parent rule")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Operation finish without error."),
+            @ApiResponse(responseCode = "404", description = "Requested data not found in the system.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            )
+    })
+    public ResponseEntity<Void> removeParentFromRole(
+            @PathVariable(name = "role") Long role, @PathVariable(name = "parent") Long parent) {
+        roleService.removeParentFromRole(role, parent);
+        return ResponseEntity.noContent().build();
+    }
 }
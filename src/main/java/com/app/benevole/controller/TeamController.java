@@ -1,17 +1,19 @@
 package com.app.benevole.controller;
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Horaire;
-import com.app.benevole.model.Magasin;
-import com.app.benevole.model.Recuperation;
 import com.app.benevole.model.Team;
 import com.app.benevole.repository.HoraireRepository;
-import com.app.benevole.repository.TeamRepository;
+import com.app.benevole.request.TeamMembersRequest;
 import com.app.benevole.request.TeamRequest;
 import com.app.benevole.response.MagasinResponse;
 import com.app.benevole.response.RoleResponse;
 import com.app.benevole.response.TeamResponse;
-import com.app.benevole.service.RecuperationService;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
+import com.app.benevole.service.MagasinService;
 import com.app.benevole.service.TeamService;
 import com.app.benevole.util.NotFoundException;
 import io.swagger.v3.oas.annotations.Operation;
@@ -19,7 +21,6 @@ import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.Schema;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 import java.util.stream.Collectors;
@@ -28,30 +29,27 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import javax.validation.Valid;
 
 @RestController
 @RequestMapping(value = "/api/teams", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin')")
+@RequiresRole({"super admin", "admin"})
 public class TeamController {
 
     private final TeamService teamService;
     private final HoraireRepository hr;
-    private final TeamRepository tr;
-    private final RecuperationService rs;
+    private final MagasinService magasinService;
 
-    public TeamController(TeamService teamService, HoraireRepository hr, TeamRepository tr, RecuperationService rs) {
+    public TeamController(TeamService teamService, HoraireRepository hr, MagasinService magasinService) {
         this.teamService = teamService;
         this.hr = hr;
-        this.tr = tr;
-        this.rs = rs;
+        this.magasinService = magasinService;
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read teams')")
+    @RequiresPermission("read teams")
     @Operation(summary = "Get Team list by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -70,12 +68,14 @@ public class TeamController {
             )
     })
     public ResponseEntity<List<TeamResponse>> getAllTeams(
-            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        return ResponseEntity.ok(teamService.findAll(page, size));
+            @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+            @RequestParam(required = false) String cursor, @RequestParam(required = false) String expand) {
+        return Cursor.page(teamService.findAll(page, size, Cursor.of(cursor), Expand.of(expand)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/category")
-    @PreAuthorize("hasPermission('read teams')")
+    @RequiresPermission("read teams")
     @Operation(summary = "Get Team list by category and range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -95,12 +95,14 @@ public class TeamController {
     })
     public ResponseEntity<List<TeamResponse>> getAllTeamsByCategory(
             @RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
-            @RequestParam Long category) {
-        return ResponseEntity.ok(teamService.findAllByCategory(page, size, category));
+            @RequestParam Long category, @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) String expand) {
+        return Cursor.page(teamService.findAllByCategory(page, size, Cursor.of(cursor), category, Expand.of(expand)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read team')")
+    @RequiresPermission("read team")
     @Operation(summary = "Get single Team by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -125,12 +127,13 @@ public class TeamController {
                     }
             )
     })
-    public ResponseEntity<TeamResponse> getTeam(@PathVariable(name = "id") final Long id) {
-        return ResponseEntity.ok(teamService.get(id));
+    public ResponseEntity<TeamResponse> getTeam(@PathVariable(name = "id") final Long id,
+                                                @RequestParam(required = false) String expand) {
+        return ResponseEntity.ok(teamService.get(id, Expand.of(expand)));
     }
 
     @PostMapping
-    @PreAuthorize("hasPermission('create team')")
+    @RequiresPermission("create team")
     @Operation(summary = "Create new Team in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "Team created successfully.",
@@ -161,7 +164,7 @@ public class TeamController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update team')")
+    @RequiresPermission("update team")
     @Operation(summary = "Update existing Team in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -200,7 +203,7 @@ public class TeamController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete team')")
+    @RequiresPermission("delete team")
     @Operation(summary = "Delete single team by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -225,7 +228,7 @@ public class TeamController {
     }
 
     @PostMapping("/appendMember/{team}/{member}")
-    @PreAuthorize("hasPermission('add member')")
+    @RequiresPermission("add team member")
     @Operation(summary = "Append Team Member")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -251,7 +254,7 @@ public class TeamController {
     }
 
     @PostMapping("/removeMember/{team}/{member}")
-    @PreAuthorize("hasPermission('remove member')")
+    @RequiresPermission("remove team member")
     @Operation(summary = "Remove Team Member")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
@@ -276,8 +279,74 @@ public class TeamController {
         return ResponseEntity.noContent().build();
     }
 
+    @PostMapping("/appendMembers/{team}")
+    @RequiresPermission("add team member")
+    @Operation(summary = "Append several Team Members")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Operation finish without error."),
+            @ApiResponse(responseCode = "4**", description = "An error occurred during data validation.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            ),
+            @ApiResponse(responseCode = "404", description = "Team or some of the members not found in the system.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            ),
+            @ApiResponse(responseCode = "5**", description = "Internal server error.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            )
+    })
+    public ResponseEntity<Void> addTeamMembers(
+            @PathVariable(name = "team") Long team, @RequestBody @Valid TeamMembersRequest request) {
+        teamService.addTeamMembers(team, request.getMembers());
+        return ResponseEntity.noContent().build();
+    }
+
+    @PostMapping("/removeMembers/{team}")
+    @RequiresPermission("remove team member")
+    @Operation(summary = "Remove several Team Members")
+    @ApiResponses(value = {
+            @ApiResponse(responseCode = "204", description = "Operation finish without error."),
+            @ApiResponse(responseCode = "4**", description = "An error occurred during data validation.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            ),
+            @ApiResponse(responseCode = "404", description = "Team or some of the members not found in the system.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            ),
+            @ApiResponse(responseCode = "5**", description = "Internal server error.",
+                    content = {
+                            @Content(mediaType = "application/json",
+                                    schema = @Schema(implementation = ApiError.class)
+                            )
+                    }
+            )
+    })
+    public ResponseEntity<Void> removeTeamMembers(
+            @PathVariable(name = "team") Long team, @RequestBody @Valid TeamMembersRequest request) {
+        teamService.removeTeamMembers(team, request.getMembers());
+        return ResponseEntity.noContent().build();
+    }
+
     @GetMapping("/getTeams/{hourlyId}")
-    @PreAuthorize("hasPermission('read team')")
+    @RequiresPermission("read team")
     @Operation(summary = "Get Teams by hourly Id")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -309,7 +378,7 @@ public class TeamController {
     }
 
     @GetMapping("/availableStores/{teamId}")
-    @PreAuthorize("hasPermission('read team')")
+    @RequiresPermission("read team")
     @Operation(summary = "Get single Team by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data found.",
@@ -334,13 +403,10 @@ public class TeamController {
                     }
             )
     })
-    public List<MagasinResponse> availableStores(@PathVariable("teamId") Long id){
-        Team team = tr.findById(id).orElseThrow(NotFoundException::new);
-        List<Magasin> available = new ArrayList<>(team.getCategoryId().getMagasins());
-        List<Recuperation> r = rs.allByDates(team.getStartDate(), team.getEndDate());
-        r.forEach(recuperation -> {
-            available.removeAll(recuperation.getMagasins());
-        });
-        return available.stream().map(MagasinResponse::new).collect(Collectors.toList());
+    public ResponseEntity<List<MagasinResponse>> availableStores(
+            @PathVariable("teamId") Long id, @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size, @RequestParam(required = false) String cursor) {
+        return Cursor.page(magasinService.findAvailableForTeam(id, page, size, Cursor.of(cursor)), size,
+                response -> Cursor.encode(response.getId(), response.getName()));
     }
 }
@@ -1,11 +1,14 @@
 package com.app.benevole.controller;
 
 import com.app.benevole.helper.ApiError;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.User;
 import com.app.benevole.request.UserRequest;
 import com.app.benevole.response.CategoryResponse;
 import com.app.benevole.response.RoleResponse;
 import com.app.benevole.response.UserResponse;
+import com.app.benevole.security.RequiresPermission;
+import com.app.benevole.security.RequiresRole;
 import com.app.benevole.service.UserService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
@@ -21,13 +24,12 @@ import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 
 @RestController
 @RequestMapping(value = "/api/users", produces = MediaType.APPLICATION_JSON_VALUE)
-@PreAuthorize("hasAnyRole('super admin', 'admin', 'user')")
+@RequiresRole({"super admin", "admin", "user"})
 public class UserController {
 
     private final UserService userService;
@@ -37,7 +39,7 @@ public class UserController {
     }
 
     @GetMapping
-    @PreAuthorize("hasPermission('read users')")
+    @RequiresPermission("read users")
     @Operation(summary = "Get users by range")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested data was found!",
@@ -55,13 +57,14 @@ public class UserController {
                     }
             )
     })
-    public ResponseEntity<List<UserResponse>> getAllUsers(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size) {
-        List<UserResponse> users = userService.findAll(page, size);
-        return ResponseEntity.ok(users);
+    public ResponseEntity<List<UserResponse>> getAllUsers(@RequestParam(defaultValue = "0") int page, @RequestParam(defaultValue = "10") int size,
+                                                          @RequestParam(required = false) String cursor) {
+        List<UserResponse> users = userService.findAll(page, size, Cursor.of(cursor));
+        return Cursor.page(users, size, response -> Cursor.encode(response.getId(), response.getUsername()));
     }
 
     @GetMapping("/{id}")
-    @PreAuthorize("hasPermission('read user')")
+    @RequiresPermission("read user")
     @Operation(summary = "Get single User by ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Requested user found.",
@@ -92,7 +95,7 @@ public class UserController {
 
     @PostMapping
     @ApiResponse(responseCode = "201")
-    @PreAuthorize("hasPermission('create user')")
+    @RequiresPermission("create user")
     @Operation(summary = "Create new user in DB")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "201", description = "User created successfully.",
@@ -123,7 +126,7 @@ public class UserController {
     }
 
     @PutMapping("/{id}")
-    @PreAuthorize("hasPermission('update user')")
+    @RequiresPermission("update user")
     @Operation(summary = "Update existing user in DB by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "200", description = "Operation finish without error.",
@@ -155,7 +158,7 @@ public class UserController {
     }
 
     @DeleteMapping("/{id}")
-    @PreAuthorize("hasPermission('delete user')")
+    @RequiresPermission("delete user")
     @Operation(summary = "Delete single user by his ID")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error.",
@@ -187,7 +190,7 @@ public class UserController {
 
 
     @PostMapping("/appendPermission/{userId}")
-    @PreAuthorize("hasPermission('add permission to user')")
+    @RequiresPermission("add permission to user")
     @Operation(summary = "Append permission to user")
     @ApiResponses(value = {
             @ApiResponse(responseCode = "204", description = "Operation finish without error."),
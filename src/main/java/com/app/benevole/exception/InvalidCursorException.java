@@ -0,0 +1,7 @@
+package com.app.benevole.exception;
+
+public class InvalidCursorException extends RuntimeException {
+    public InvalidCursorException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.benevole.exception;
+
+public class JwtRevokedException extends RuntimeException {
+    public JwtRevokedException(String s) {
+        super(s);
+    }
+}
@@ -0,0 +1,7 @@
+package com.app.benevole.exception;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String s) {
+        super(s);
+    }
+}
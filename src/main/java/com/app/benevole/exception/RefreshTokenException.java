@@ -0,0 +1,7 @@
+package com.app.benevole.exception;
+
+public class RefreshTokenException extends RuntimeException {
+    public RefreshTokenException(String s) {
+        super(s);
+    }
+}
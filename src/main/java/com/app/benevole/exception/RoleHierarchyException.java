@@ -0,0 +1,7 @@
+package com.app.benevole.exception;
+
+public class RoleHierarchyException extends RuntimeException {
+    public RoleHierarchyException(String s) {
+        super(s);
+    }
+}
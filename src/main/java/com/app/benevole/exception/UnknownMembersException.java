@@ -0,0 +1,19 @@
+package com.app.benevole.exception;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+public class UnknownMembersException extends RuntimeException {
+
+    private final List<UUID> members;
+
+    public UnknownMembersException(Collection<UUID> members) {
+        super(String.format("Members with IDs: %s not found on this system!", members));
+        this.members = List.copyOf(members);
+    }
+
+    public List<UUID> getMembers() {
+        return members;
+    }
+}
@@ -0,0 +1,118 @@
+package com.app.benevole.helper;
+
+import com.app.benevole.exception.InvalidCursorException;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Keyset position after the last row of a page: the id of that row and, for listings not
+ * sorted by id, its sort key. Clients get it as an opaque string in the {@value #HEADER}
+ * header of every full page and send it back with {@code cursor=...} to read the next one,
+ * which seeks past that row instead of counting {@code page * size} rows as an offset does.
+ * <p>
+ * A null sort key is kept as such: keyed listings sort nulls first, as MySQL does. Their
+ * repositories seek past a named row with {@code name >= :key and (name > :key or id > :id)},
+ * a range on the name index, and past an unnamed one with a separate query.
+ */
+public final class Cursor {
+
+    public static final String HEADER = "X-Next-Cursor";
+
+    private static final char KEY_SEPARATOR = ':';
+    private static final char NULL_KEY = '!';
+
+    private final String id;
+    private final String key;
+    private final boolean keyed;
+
+    private Cursor(String id, String key, boolean keyed) {
+        this.id = id;
+        this.key = key;
+        this.keyed = keyed;
+    }
+
+    /**
+     * @return the decoded cursor, or null when none was sent and the listing stays in offset mode
+     * @throws InvalidCursorException when the value was not produced by {@link #encode}
+     */
+    public static Cursor of(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String value;
+        try {
+            value = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor is not valid: " + cursor);
+        }
+        // ids never contain ':' or '!', sort keys may
+        int separator = value.indexOf(KEY_SEPARATOR);
+        if (separator == 0 || value.isEmpty() || value.charAt(0) == NULL_KEY) {
+            throw new InvalidCursorException("Cursor is not valid: " + cursor);
+        }
+        if (separator > 0) {
+            return new Cursor(value.substring(0, separator), value.substring(separator + 1), true);
+        }
+        if (value.charAt(value.length() - 1) == NULL_KEY) {
+            return new Cursor(value.substring(0, value.length() - 1), null, true);
+        }
+        return new Cursor(value, null, false);
+    }
+
+    /**
+     * @param key sort key of a listing ordered by it then by id, null when the row has none
+     */
+    public static String encode(Object id, String key) {
+        return base64(key == null ? id + String.valueOf(NULL_KEY) : id + String.valueOf(KEY_SEPARATOR) + key);
+    }
+
+    public static String encode(Object id) {
+        return base64(String.valueOf(id));
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * A listing answered with a cursor to its next page, left out when this page is the last one.
+     */
+    public static <T> ResponseEntity<List<T>> page(List<T> items, int size, Function<T, String> cursorOf) {
+        if (items.isEmpty() || items.size() < size) {
+            return ResponseEntity.ok(items);
+        }
+        return ResponseEntity.ok().header(HEADER, cursorOf.apply(items.get(items.size() - 1))).body(items);
+    }
+
+    public Long longId() {
+        try {
+            return Long.valueOf(id);
+        } catch (NumberFormatException e) {
+            throw new InvalidCursorException("Cursor is not valid for this listing");
+        }
+    }
+
+    public UUID uuidId() {
+        try {
+            return UUID.fromString(id);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidCursorException("Cursor is not valid for this listing");
+        }
+    }
+
+    /**
+     * @return the sort key, null when the row had none
+     * @throws InvalidCursorException for a cursor of an id-sorted listing
+     */
+    public String key() {
+        if (!keyed) {
+            throw new InvalidCursorException("Cursor is not valid for this listing");
+        }
+        return key;
+    }
+}
@@ -0,0 +1,40 @@
+package com.app.benevole.helper;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Associations a client asked for with {@code expand=category,team}. Expanded associations are
+ * rendered as one level of summary, every other association as its id only, so the work done
+ * per response is bounded whatever the shape of the entity graph.
+ */
+public final class Expand {
+
+    public static final Expand NONE = new Expand(Collections.emptySet());
+
+    private final Set<String> names;
+
+    private Expand(Set<String> names) {
+        this.names = names;
+    }
+
+    public static Expand of(String expand) {
+        if (expand == null || expand.isBlank()) {
+            return NONE;
+        }
+        return new Expand(Arrays.stream(expand.split(","))
+                .map(String::trim)
+                .filter(name -> !name.isEmpty())
+                .collect(Collectors.toUnmodifiableSet()));
+    }
+
+    public boolean has(String name) {
+        return names.contains(name);
+    }
+
+    public boolean isEmpty() {
+        return names.isEmpty();
+    }
+}
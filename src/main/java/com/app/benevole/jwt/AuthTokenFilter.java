@@ -1,6 +1,8 @@
 package com.app.benevole.jwt;
 
+import com.app.benevole.exception.JwtRevokedException;
 import com.app.benevole.security.UserDetailsServiceImpl;
+import io.jsonwebtoken.Claims;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -23,8 +25,14 @@ public class AuthTokenFilter extends OncePerRequestFilter {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(AuthTokenFilter.class);
 
+    /**
+     * Request attribute holding the claims of the authenticated token.
+     */
+    public static final String CLAIMS_ATTRIBUTE = AuthTokenFilter.class.getName() + ".claims";
+
     private final JwtUtils jwtUtils;
     private final UserDetailsServiceImpl userDetailsService;
+    private final TokenRevocationList tokenRevocationList;
 
     @Value(value = "${application.security.header}")
     private String HEADER;
@@ -36,13 +44,19 @@ public class AuthTokenFilter extends OncePerRequestFilter {
         try {
             String jwt = parseJwt(request);
             LOGGER.error("AuthTokenFilter | doFilterInternal | jwt: {}", jwt);
-            if (jwt != null && jwtUtils.validateJwtToken(jwt)) {
-                String subject = jwtUtils.getSubjectFromJwtToken(jwt);
-                UserDetails userDetails = userDetailsService.loadUserByUserId(subject);
+            if (jwt != null) {
+                Claims claims = jwtUtils.verifyJwtToken(jwt);
+                if (tokenRevocationList.isRevoked(claims.getId(), claims.getExpiration())) {
+                    throw new JwtRevokedException("JWT token has been revoked");
+                }
+                UserDetails userDetails = jwtUtils.getPrincipalFromClaims(claims)
+                        .map(UserDetails.class::cast)
+                        .orElseGet(() -> userDetailsService.loadUserByUserId(claims.getSubject()));
                 UsernamePasswordAuthenticationToken authentication = new UsernamePasswordAuthenticationToken(
                         userDetails, null, userDetails.getAuthorities());
                 authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authentication);
+                request.setAttribute(CLAIMS_ATTRIBUTE, claims);
             }
         } catch (Exception e) {
             LOGGER.error("AuthTokenFilter | doFilterInternal | Cannot set user authentication: {}", e.getMessage());
@@ -0,0 +1,55 @@
+package com.app.benevole.jwt;
+
+import com.app.benevole.model.RefreshToken;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+@ConditionalOnProperty(name = "application.security.refreshTokenStore", havingValue = "memory")
+public class InMemoryRefreshTokenStore implements RefreshTokenStore {
+
+    private final Map<String, RefreshToken> tokens = new ConcurrentHashMap<>();
+
+    @Override
+    public void save(RefreshToken token) {
+        tokens.put(token.getTokenHash(), token);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByHash(String tokenHash) {
+        return Optional.ofNullable(tokens.get(tokenHash));
+    }
+
+    @Override
+    public boolean markUsed(String tokenHash) {
+        RefreshToken token = tokens.get(tokenHash);
+        if (token == null) {
+            return false;
+        }
+        synchronized (token) {
+            if (token.isUsed()) {
+                return false;
+            }
+            token.setUsed(true);
+            return true;
+        }
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        tokens.values().stream()
+                .filter(token -> token.getFamilyId().equals(familyId))
+                .forEach(token -> token.setRevoked(true));
+    }
+
+    @Override
+    public void deleteExpired(UUID userId, LocalDateTime now) {
+        tokens.values().removeIf(token -> token.getUserId().equals(userId) && token.getExpiresAt().isBefore(now));
+    }
+}
@@ -0,0 +1,46 @@
+package com.app.benevole.jwt;
+
+import com.app.benevole.model.RefreshToken;
+import com.app.benevole.repository.RefreshTokenRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+@Component
+@ConditionalOnProperty(name = "application.security.refreshTokenStore", havingValue = "jpa", matchIfMissing = true)
+public class JpaRefreshTokenStore implements RefreshTokenStore {
+
+    private final RefreshTokenRepository repository;
+
+    public JpaRefreshTokenStore(RefreshTokenRepository repository) {
+        this.repository = repository;
+    }
+
+    @Override
+    public void save(RefreshToken token) {
+        repository.save(token);
+    }
+
+    @Override
+    public Optional<RefreshToken> findByHash(String tokenHash) {
+        return repository.findByTokenHash(tokenHash);
+    }
+
+    @Override
+    public boolean markUsed(String tokenHash) {
+        return repository.markUsed(tokenHash) == 1;
+    }
+
+    @Override
+    public void revokeFamily(String familyId) {
+        repository.revokeFamily(familyId);
+    }
+
+    @Override
+    public void deleteExpired(UUID userId, LocalDateTime now) {
+        repository.deleteExpired(userId, now);
+    }
+}
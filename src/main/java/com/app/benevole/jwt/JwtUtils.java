@@ -2,26 +2,50 @@ package com.app.benevole.jwt;
 
 import com.app.benevole.exception.*;
 import com.app.benevole.security.CustomUserDetails;
+import com.app.benevole.security.GrantsVersionService;
+import com.app.benevole.security.PermissionIndex;
 import com.app.benevole.security.UserDetailsServiceImpl;
 import io.jsonwebtoken.*;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
-import java.util.Date;
+import java.util.*;
+import java.util.stream.Collectors;
 
 @Component
 public class JwtUtils {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(JwtUtils.class);
 
+    /**
+     * Version 3 tokens carry the user's grants, see {@link #generateUserAccessToken(String)}.
+     * Version 2 keyed the permission bitmap by database id and is no longer trusted.
+     */
+    public static final int TOKEN_VERSION = 3;
+
+    static final String CLAIM_VERSION = "ver";
+    static final String CLAIM_GRANTS_VERSION = "gv";
+    static final String CLAIM_EMAIL = "email";
+    static final String CLAIM_USERNAME = "name";
+    static final String CLAIM_ROLES = "roles";
+    static final String CLAIM_PERMISSIONS = "perms";
+
     private final UserDetailsServiceImpl userDetailsService;
+    private final PermissionIndex permissionIndex;
+    private final GrantsVersionService grantsVersionService;
+    private final VerifiedTokenCache verifiedTokenCache;
 
-    public JwtUtils(UserDetailsServiceImpl userDetailsService) {
+    public JwtUtils(UserDetailsServiceImpl userDetailsService, PermissionIndex permissionIndex,
+                    GrantsVersionService grantsVersionService, VerifiedTokenCache verifiedTokenCache) {
         this.userDetailsService = userDetailsService;
+        this.permissionIndex = permissionIndex;
+        this.grantsVersionService = grantsVersionService;
+        this.verifiedTokenCache = verifiedTokenCache;
     }
 
     @Value(value = "${application.security.expireAccessToken}")
@@ -30,16 +54,36 @@ public class JwtUtils {
     @Value(value = "${application.security.secretKey}")
     private String SECRET_KEY;
 
+    @Value(value = "${application.security.issuer}")
+    private String ISSUER;
+
+    /**
+     * Access tokens are self-contained: besides the user id they carry the role names,
+     * the effective permissions as a bitmap keyed by {@link PermissionIndex} and the
+     * grants version they were minted with. The {@code jti} lets a single token be revoked,
+     * see {@link TokenRevocationList}.
+     */
     public String generateUserAccessToken(String email) {
-        CustomUserDetails userDetails = (CustomUserDetails) userDetailsService.loadUserByUsername(email);
+        return generateUserAccessToken((CustomUserDetails) userDetailsService.loadUserByUsername(email));
+    }
 
-        StringBuilder roles = new StringBuilder();
-        userDetails.getAuthorities().forEach(role -> {
-            roles.append(role.getAuthority()).append(" ");
-        });
+    public String generateUserAccessToken(CustomUserDetails userDetails) {
+        List<String> roles = userDetails.getRoles().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        BitSet permissions = permissionIndex.encode(userDetails.getPermissions().stream()
+                .map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toSet()));
         return Jwts.builder()
+                .setId(UUID.randomUUID().toString())
                 .setSubject(userDetails.getId().toString())
-                .setIssuer(roles.toString())
+                .setIssuer(ISSUER)
+                .claim(CLAIM_VERSION, TOKEN_VERSION)
+                .claim(CLAIM_GRANTS_VERSION, userDetails.getGrantsVersion())
+                .claim(CLAIM_EMAIL, userDetails.getEmail())
+                .claim(CLAIM_USERNAME, userDetails.getUsername())
+                .claim(CLAIM_ROLES, roles)
+                .claim(CLAIM_PERMISSIONS, Base64.getUrlEncoder().withoutPadding().encodeToString(permissions.toByteArray()))
                 .setIssuedAt(new Date())
                 .setExpiration(new Date((new Date()).getTime() + EXPIRE_ACCESS_TOKEN))
                 .signWith(SignatureAlgorithm.HS512, SECRET_KEY)
@@ -64,9 +108,25 @@ public class JwtUtils {
 
     public boolean validateJwtToken(String authToken) throws JwtMalformedException, JwtExpiredException, JwtUnsupportedException,
             JwtIllegalArgumentException, JwtSignatureException {
+        verifyJwtToken(authToken);
+        return true;
+    }
+
+    /**
+     * Verify the token and return its claims. Tokens are parsed and HMAC-verified once,
+     * then served from {@link VerifiedTokenCache} until they expire.
+     */
+    public Claims verifyJwtToken(String authToken) throws JwtMalformedException, JwtExpiredException, JwtUnsupportedException,
+            JwtIllegalArgumentException, JwtSignatureException {
+        if (authToken == null || authToken.isEmpty()) {
+            return parseJwtToken(authToken);
+        }
+        return verifiedTokenCache.get(authToken, this::parseJwtToken);
+    }
+
+    private Claims parseJwtToken(String authToken) {
         try {
-            Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(authToken);
-            return true;
+            return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(authToken).getBody();
         } catch (SignatureException e) {
             LOGGER.error("JwtUtils | validateJwtToken | Invalid JWT signature: {}", e.getMessage());
             throw new JwtSignatureException(e.getMessage());
@@ -86,7 +146,36 @@ public class JwtUtils {
     }
 
     public String getSubjectFromJwtToken(String token) {
-        return Jwts.parser().setSigningKey(SECRET_KEY).parseClaimsJws(token).getBody().getSubject();
+        return verifyJwtToken(token).getSubject();
+    }
+
+    /**
+     * Build the principal straight from verified claims, without touching the database.
+     * Empty for tokens of an older format or minted before the user's grants last changed;
+     * the caller then loads fresh grants instead of trusting the token.
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<CustomUserDetails> getPrincipalFromClaims(Claims claims) {
+        Integer version = claims.get(CLAIM_VERSION, Integer.class);
+        if (version == null || version != TOKEN_VERSION) {
+            return Optional.empty();
+        }
+        UUID userId = UUID.fromString(claims.getSubject());
+        long grantsVersion = claims.get(CLAIM_GRANTS_VERSION, Long.class);
+        if (grantsVersion != grantsVersionService.current(userId)) {
+            LOGGER.info("JwtUtils | getPrincipalFromClaims | stale grants for user: {}", userId);
+            return Optional.empty();
+        }
+        BitSet permissions = BitSet.valueOf(Base64.getUrlDecoder().decode(claims.get(CLAIM_PERMISSIONS, String.class)));
+        return Optional.of(new CustomUserDetails(
+                userId,
+                claims.get(CLAIM_EMAIL, String.class),
+                claims.get(CLAIM_USERNAME, String.class),
+                grantsVersion,
+                claims.get(CLAIM_ROLES, List.class),
+                permissions,
+                permissionIndex.decode(permissions)
+        ));
     }
 
     public String generateJwtToken(String email) {
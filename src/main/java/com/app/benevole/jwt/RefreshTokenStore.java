@@ -0,0 +1,28 @@
+package com.app.benevole.jwt;
+
+import com.app.benevole.model.RefreshToken;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.UUID;
+
+/**
+ * Persistence of refresh tokens, selected with {@code application.security.refreshTokenStore}:
+ * {@code jpa} (default) or {@code memory} for tests and single node development.
+ */
+public interface RefreshTokenStore {
+
+    void save(RefreshToken token);
+
+    Optional<RefreshToken> findByHash(String tokenHash);
+
+    /**
+     * Atomically flag the token as rotated.
+     * @return false when the token had already been used, i.e. it is being replayed
+     */
+    boolean markUsed(String tokenHash);
+
+    void revokeFamily(String familyId);
+
+    void deleteExpired(UUID userId, LocalDateTime now);
+}
@@ -0,0 +1,193 @@
+package com.app.benevole.jwt;
+
+import com.app.benevole.model.RevokedToken;
+import com.app.benevole.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Revoked access token ids ({@code jti}), persisted in {@link RevokedTokenRepository} and fronted
+ * by Bloom filters so that a token which was never revoked is cleared without touching the store.
+ * <p>
+ * Filters are bucketed by the token's expiry: a token is only ever probed against the one bucket
+ * its {@code exp} falls into, and a bucket is dropped as soon as every token it can hold has expired.
+ * Memory is therefore bounded by the revocations of still-live tokens.
+ * <p>
+ * Revocations made on other nodes are pulled from the store every {@code syncInterval} by the
+ * scheduler, on every node; requests never wait on it. Expired rows are deleted by
+ * {@link com.app.benevole.scheduler.RevokedTokenPurgeTask}.
+ */
+@Component
+public class TokenRevocationList {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(TokenRevocationList.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final long bucketWidth;
+    private final int bitsPerBucket;
+    private final int hashes;
+    private final long syncInterval;
+
+    private final ConcurrentNavigableMap<Long, AtomicLongArray> buckets = new ConcurrentSkipListMap<>();
+    private volatile LocalDateTime lastSync;
+
+    private final Counter cleared;
+    private final Counter lookups;
+    private final Counter revoked;
+
+    @Value(value = "${application.security.expireAccessToken}")
+    private Long EXPIRE_ACCESS_TOKEN;
+
+    public TokenRevocationList(RevokedTokenRepository revokedTokenRepository, MeterRegistry registry,
+                               @Value("${application.security.revokedTokens.bucketWidth:900000}") long bucketWidth,
+                               @Value("${application.security.revokedTokens.expectedPerBucket:10000}") int expectedPerBucket,
+                               @Value("${application.security.revokedTokens.falsePositiveRate:0.01}") double falsePositiveRate,
+                               @Value("${application.security.revokedTokens.syncInterval:5000}") long syncInterval) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.bucketWidth = bucketWidth;
+        this.syncInterval = syncInterval;
+        // optimal Bloom filter sizing: m = -n ln(p) / ln(2)^2, k = m / n ln(2)
+        long bits = (long) Math.ceil(-expectedPerBucket * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+        this.bitsPerBucket = (int) Math.min(Integer.MAX_VALUE - 63, Math.max(64, bits));
+        this.hashes = Math.max(1, (int) Math.round((double) bitsPerBucket / expectedPerBucket * Math.log(2)));
+        this.cleared = Counter.builder("security.jwt.revocation.checks").tag("result", "cleared")
+                .description("Tokens cleared by the in-memory filter").register(registry);
+        this.lookups = Counter.builder("security.jwt.revocation.checks").tag("result", "lookup")
+                .description("Filter hits confirmed against the revoked-token store").register(registry);
+        this.revoked = Counter.builder("security.jwt.revocation.checks").tag("result", "revoked")
+                .description("Requests rejected with a revoked token").register(registry);
+    }
+
+    /**
+     * Load the revocations of tokens that may still be live.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void load() {
+        lastSync = LocalDateTime.now().minusNanos(EXPIRE_ACCESS_TOKEN * 1_000_000);
+        sync();
+    }
+
+    /**
+     * @param jti the token id, tokens without one cannot be revoked
+     * @param expiration the token's {@code exp}
+     */
+    public boolean isRevoked(String jti, Date expiration) {
+        if (jti == null || expiration == null) {
+            return false;
+        }
+        AtomicLongArray bucket = buckets.get(expiration.getTime() / bucketWidth);
+        if (bucket == null || !mightContain(bucket, jti)) {
+            cleared.increment();
+            return false;
+        }
+        lookups.increment();
+        if (revokedTokenRepository.existsByJti(jti)) {
+            revoked.increment();
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Revoke a token until its own expiry, past which it is rejected anyway.
+     */
+    @Transactional
+    public void revoke(String jti, Date expiration) {
+        if (jti == null || expiration == null || expiration.getTime() <= System.currentTimeMillis()) {
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        if (!revokedTokenRepository.existsByJti(jti)) {
+            revokedTokenRepository.save(RevokedToken.builder()
+                    .jti(jti)
+                    .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                    .revokedAt(now)
+                    .build());
+        }
+        add(jti, expiration.getTime());
+    }
+
+    /**
+     * Pull the revocations made since the last sync and drop the buckets whose tokens have all expired.
+     * Runs on every node, the filter being local to each.
+     */
+    @Scheduled(fixedDelayString = "${application.security.revokedTokens.syncInterval:5000}",
+            initialDelayString = "${application.security.revokedTokens.syncInterval:5000}")
+    public synchronized void sync() {
+        if (lastSync == null) {
+            // not loaded yet, see load()
+            return;
+        }
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            // overlap with the previous window, rows committed late are picked up twice rather than missed
+            for (RevokedToken token : revokedTokenRepository.findRevokedSince(lastSync.minusNanos(syncInterval * 1_000_000), now)) {
+                add(token.getJti(), token.getExpiresAt().atZone(ZoneId.systemDefault()).toInstant().toEpochMilli());
+            }
+            lastSync = now;
+        } catch (RuntimeException e) {
+            LOGGER.error("TokenRevocationList | sync | Cannot load revoked tokens: {}", e.getMessage());
+        }
+        buckets.headMap(System.currentTimeMillis() / bucketWidth).clear();
+    }
+
+    private void add(String jti, long expiresAt) {
+        AtomicLongArray bucket = buckets.computeIfAbsent(expiresAt / bucketWidth,
+                key -> new AtomicLongArray((bitsPerBucket + 63) >>> 6));
+        long hash = hash(jti);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitsPerBucket;
+            int word = bit >>> 6;
+            long mask = 1L << bit;
+            long current;
+            while (((current = bucket.get(word)) & mask) == 0 && !bucket.compareAndSet(word, current, current | mask)) {
+                // lost a race on this word, retry
+            }
+        }
+    }
+
+    private boolean mightContain(AtomicLongArray bucket, String jti) {
+        long hash = hash(jti);
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32);
+        for (int i = 0; i < hashes; i++) {
+            int bit = ((h1 + i * h2) & Integer.MAX_VALUE) % bitsPerBucket;
+            if ((bucket.get(bit >>> 6) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * 64-bit FNV-1a over the chars of the id with a murmur finalizer, split into two halves for double hashing.
+     */
+    private static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            hash ^= value.charAt(i);
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
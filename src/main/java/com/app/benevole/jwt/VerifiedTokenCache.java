@@ -0,0 +1,80 @@
+package com.app.benevole.jwt;
+
+import io.jsonwebtoken.Claims;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU of already verified tokens, keyed by the SHA-256 digest of the compact token.
+ * An entry lives until the token's {@code exp}, so a client sending a burst of requests
+ * with the same token pays for signature verification and claims parsing once.
+ */
+@Component
+public class VerifiedTokenCache {
+
+    private static final ThreadLocal<MessageDigest> SHA_256 = ThreadLocal.withInitial(() -> {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    });
+
+    private final int maxSize;
+    private final Map<ByteBuffer, Claims> entries;
+
+    private final Counter verified;
+    private final Counter cached;
+
+    public VerifiedTokenCache(@Value("${application.security.verifiedTokenCache.maxSize:1000}") int maxSize,
+                              MeterRegistry registry) {
+        this.maxSize = maxSize;
+        this.entries = new LinkedHashMap<ByteBuffer, Claims>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Claims> eldest) {
+                return size() > VerifiedTokenCache.this.maxSize;
+            }
+        };
+        this.verified = Counter.builder("security.jwt.verifications").tag("source", "verified")
+                .description("Tokens whose signature was verified").register(registry);
+        this.cached = Counter.builder("security.jwt.verifications").tag("source", "cache")
+                .description("Tokens served from the verified-token cache").register(registry);
+    }
+
+    /**
+     * Return the claims of an already verified token, or run {@code verifier} and remember its result.
+     * Exceptions of the verifier are propagated and nothing is cached.
+     */
+    public Claims get(String token, Function<String, Claims> verifier) {
+        ByteBuffer key = ByteBuffer.wrap(SHA_256.get().digest(token.getBytes(StandardCharsets.US_ASCII)));
+        long now = System.currentTimeMillis();
+        synchronized (entries) {
+            Claims claims = entries.get(key);
+            if (claims != null) {
+                if (claims.getExpiration() != null && claims.getExpiration().getTime() > now) {
+                    cached.increment();
+                    return claims;
+                }
+                entries.remove(key);
+            }
+        }
+        Claims claims = verifier.apply(token);
+        verified.increment();
+        if (claims.getExpiration() != null) {
+            synchronized (entries) {
+                entries.put(key, claims);
+            }
+        }
+        return claims;
+    }
+}
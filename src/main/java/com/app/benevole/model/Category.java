@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Set;
 
+import com.app.benevole.util.SoftDeletes;
 import lombok.*;
+import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -14,6 +16,7 @@ import javax.persistence.*;
 
 @Entity
 @Table(name = "Categories")
+@Filter(name = SoftDeletes.FILTER)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -24,7 +27,9 @@ public class Category {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "categories")
+    @TableGenerator(name = "categories", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "categories", allocationSize = 50)
     private Long id;
 
     @Column
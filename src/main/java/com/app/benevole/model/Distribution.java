@@ -4,7 +4,9 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
 import com.app.benevole.enums.Status;
+import com.app.benevole.util.SoftDeletes;
 import lombok.*;
+import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -17,6 +19,7 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "Distributions")
+@Filter(name = SoftDeletes.FILTER)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -25,7 +28,9 @@ public class Distribution {
     @ToString.Include
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "distributions")
+    @TableGenerator(name = "distributions", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "distributions", allocationSize = 50)
     private Long id;
 
     @ToString.Include
@@ -4,8 +4,10 @@ package com.app.benevole.model;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+import com.app.benevole.util.SoftDeletes;
 import lombok.*;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -18,6 +20,7 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "Notificationses")
+@Filter(name = SoftDeletes.FILTER)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -25,7 +28,9 @@ public class Notifications {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "notificationses")
+    @TableGenerator(name = "notificationses", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "notificationses", allocationSize = 50)
     private Long id;
 
     @Column(columnDefinition = "longtext")
@@ -29,12 +29,20 @@ public class Permission {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "permissions")
+    @TableGenerator(name = "permissions", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "permissions", allocationSize = 50)
     private Long id;
 
     @Column
     private String name;
 
+    /**
+     * Position in the permission bitmaps, assigned by {@link com.app.benevole.security.PermissionIndex}.
+     */
+    @Column(unique = true)
+    private Integer bitPosition;
+
     @ManyToMany(mappedBy = "permissions")
     private Set<Role> roles;
 
@@ -19,7 +19,9 @@ import java.util.Set;
 @DynamicInsert
 public class PermissionParent {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "permission_parent")
+    @TableGenerator(name = "permission_parent", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "permission_parent", allocationSize = 50)
     @Column(name = "id", nullable = false)
     private Long id;
 
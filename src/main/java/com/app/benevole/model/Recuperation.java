@@ -6,7 +6,9 @@ import java.time.OffsetDateTime;
 import java.util.Set;
 
 import com.app.benevole.enums.Status;
+import com.app.benevole.util.SoftDeletes;
 import lombok.*;
+import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -19,6 +21,7 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "Recuperations")
+@Filter(name = SoftDeletes.FILTER)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -26,7 +29,9 @@ public class Recuperation {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "recuperations")
+    @TableGenerator(name = "recuperations", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "recuperations", allocationSize = 50)
     private Long id;
 
     @Column
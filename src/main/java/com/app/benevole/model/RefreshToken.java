@@ -0,0 +1,61 @@
+package com.app.benevole.model;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.UUID;
+
+import lombok.*;
+import org.hibernate.annotations.Type;
+
+import javax.persistence.*;
+
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "RefreshTokens")
+@Getter
+@Setter
+public class RefreshToken {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "refresh_tokens")
+    @TableGenerator(name = "refresh_tokens", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "refresh_tokens", allocationSize = 50)
+    private Long id;
+
+    /**
+     * SHA-256 of the opaque token handed to the client, the token itself is never stored.
+     */
+    @Column(nullable = false, unique = true, length = 64)
+    private String tokenHash;
+
+    /**
+     * Shared by every token of one login, so reuse of a rotated token revokes the whole chain.
+     */
+    @Column(nullable = false, length = 36)
+    private String familyId;
+
+    @Column(nullable = false, columnDefinition = "BINARY(16)")
+    @Type(type = "uuid-binary")
+    private UUID userId;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private boolean used;
+
+    @Column(nullable = false)
+    private boolean revoked;
+
+    @Column(nullable = false, updatable = false)
+    private OffsetDateTime dateCreated;
+
+    @PrePersist
+    public void prePersist() {
+        dateCreated = OffsetDateTime.now();
+    }
+}
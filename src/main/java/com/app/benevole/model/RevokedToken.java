@@ -0,0 +1,37 @@
+package com.app.benevole.model;
+
+import java.time.LocalDateTime;
+
+import lombok.*;
+
+import javax.persistence.*;
+
+
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+@Entity
+@Table(name = "RevokedTokens")
+@Getter
+@Setter
+public class RevokedToken {
+
+    @Id
+    @Column(nullable = false, updatable = false)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "revoked_tokens")
+    @TableGenerator(name = "revoked_tokens", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "revoked_tokens", allocationSize = 50)
+    private Long id;
+
+    @Column(nullable = false, unique = true, length = 36)
+    private String jti;
+
+    /**
+     * Expiry of the revoked access token, the row is useless once it has passed.
+     */
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    @Column(nullable = false)
+    private LocalDateTime revokedAt;
+}
@@ -5,9 +5,11 @@ import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.Set;
 
+import com.app.benevole.util.SoftDeletes;
 import lombok.*;
 import org.hibernate.annotations.DynamicInsert;
 import org.hibernate.annotations.DynamicUpdate;
+import org.hibernate.annotations.Filter;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.LastModifiedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
@@ -20,6 +22,7 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "Roles")
+@Filter(name = SoftDeletes.FILTER)
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -29,7 +32,9 @@ public class Role {
 
     @Id
     @Column(nullable = false, updatable = false)
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.TABLE, generator = "roles")
+    @TableGenerator(name = "roles", table = "id_sequences", pkColumnName = "sequence_name",
+            valueColumnName = "next_val", pkColumnValue = "roles", allocationSize = 50)
     private Long id;
 
     @Column
@@ -38,7 +43,10 @@ public class Role {
     @Column
     private LocalDateTime deleted;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    /**
+     * Permissions granted by this role itself, inherited ones are resolved through {@link #parents}.
+     */
+    @ManyToMany
     @JoinTable(
             name = "RoleHasPermissions",
             joinColumns = @JoinColumn(name = "roleId"),
@@ -46,6 +54,17 @@ public class Role {
     )
     private Set<Permission> permissions;
 
+    /**
+     * Roles whose permissions this role inherits.
+     */
+    @ManyToMany
+    @JoinTable(
+            name = "RoleParents",
+            joinColumns = @JoinColumn(name = "roleId"),
+            inverseJoinColumns = @JoinColumn(name = "parentId")
+    )
+    private Set<Role> parents;
+
     @ManyToMany(mappedBy = "roles")
     private Set<User> users;
 
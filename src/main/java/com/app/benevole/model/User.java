@@ -23,6 +23,9 @@ import javax.persistence.*;
 @NoArgsConstructor
 @Entity
 @Table(name = "Users")
+@NamedEntityGraph(name = User.PRINCIPAL_GRAPH,
+        attributeNodes = {@NamedAttributeNode("roles"), @NamedAttributeNode("permissions")})
+@NamedEntityGraph(name = User.DETAIL_GRAPH, attributeNodes = @NamedAttributeNode("roles"))
 @EntityListeners(AuditingEntityListener.class)
 @Getter
 @Setter
@@ -30,11 +33,21 @@ import javax.persistence.*;
 @DynamicInsert
 public class User {
 
+    /**
+     * What an authenticated principal is built from, see {@code UserDetailsServiceImpl}.
+     */
+    public static final String PRINCIPAL_GRAPH = "User.principal";
+
+    /**
+     * What {@code UserResponse} renders.
+     */
+    public static final String DETAIL_GRAPH = "User.detail";
+
     @Id
-    @Column(nullable = false, updatable = false, columnDefinition = "VARCHAR(36)")
-    @GenericGenerator(name = "uuid", strategy = "org.hibernate.id.UUIDGenerator")
+    @Column(nullable = false, updatable = false, columnDefinition = "BINARY(16)")
+    @GenericGenerator(name = "uuid", strategy = "com.app.benevole.util.TimeOrderedUuidGenerator")
     @GeneratedValue(generator = "uuid")
-    @Type(type = "uuid-char")
+    @Type(type = "uuid-binary")
     private UUID id;
 
     @Column(nullable = false, length = 50)
@@ -79,7 +92,10 @@ public class User {
     @Column(length = 30)
     private String sexe;
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @Column(nullable = false, columnDefinition = "BIGINT DEFAULT 0")
+    private long grantsVersion;
+
+    @ManyToMany
     @JoinTable(
             name = "UserHasRoles",
             joinColumns = @JoinColumn(name = "userId"),
@@ -106,7 +122,7 @@ public class User {
     )
     private Set<Horaire> horaires = new HashSet<>();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "UserHasPermissions",
             joinColumns = @JoinColumn(name = "userId"),
@@ -0,0 +1,9 @@
+/**
+ * Soft-deletable entities carry {@code @Filter(name = SoftDeletes.FILTER)}. The filter is
+ * enabled for every API request, see {@link com.app.benevole.util.SoftDeleteInterceptor}.
+ */
+@FilterDef(name = SoftDeletes.FILTER, defaultCondition = "deleted is null")
+package com.app.benevole.model;
+
+import com.app.benevole.util.SoftDeletes;
+import org.hibernate.annotations.FilterDef;
@@ -1,16 +1,51 @@
 package com.app.benevole.repository;
 
 import com.app.benevole.model.Category;
+import com.app.benevole.response.CategoryResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
+import java.util.Collection;
 import java.util.List;
 
 
 public interface CategoryRepository extends JpaRepository<Category, Long> {
+
+    /**
+     * Number of live teams and live stores of category {@code c}.
+     */
+    String LIVE_COUNTS = "(select count(t) from Team t where t.categoryId = c and t.deleted is null),"
+            + " (select count(m) from Magasin m where m.category = c and m.deleted is null)";
+
     @Query("select c from Category c where c.deleted is not null")
     List<Category> findByDeletedNotNull(Pageable pageable);
 
+    /**
+     * Team and store counts are correlated subqueries over live rows, the collections themselves
+     * are never loaded.
+     */
+    @Query("select new com.app.benevole.response.CategoryResponse(c.id, c.name, c.deleted, " + LIVE_COUNTS + ","
+            + " c.dateCreated, c.lastUpdated) from Category c order by c.id")
+    List<CategoryResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.CategoryResponse(c.id, c.name, c.deleted, " + LIVE_COUNTS + ","
+            + " c.dateCreated, c.lastUpdated) from Category c where c.id > :id order by c.id")
+    List<CategoryResponse> findProjectedAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.CategoryResponse(c.id, c.name, c.deleted, " + LIVE_COUNTS + ","
+            + " c.dateCreated, c.lastUpdated) from Category c where c.deleted is not null order by c.id")
+    List<CategoryResponse> findDeletedProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.CategoryResponse(c.id, c.name, c.deleted, " + LIVE_COUNTS + ","
+            + " c.dateCreated, c.lastUpdated) from Category c where c.deleted is not null and c.id > :id order by c.id")
+    List<CategoryResponse> findDeletedProjectedAfter(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * @return triples of category id, number of teams and number of stores
+     */
+    @Query("select c.id, " + LIVE_COUNTS + " from Category c where c.id in :ids")
+    List<Object[]> countTeamsAndStoresByIdIn(@Param("ids") Collection<Long> ids);
 
 }
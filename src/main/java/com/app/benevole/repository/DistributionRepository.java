@@ -2,11 +2,16 @@ package com.app.benevole.repository;
 
 import com.app.benevole.enums.Status;
 import com.app.benevole.model.Distribution;
+import com.app.benevole.response.DistributionResponse;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -15,6 +20,39 @@ public interface DistributionRepository extends JpaRepository<Distribution, Long
     @Query("select d from Distribution d where d.deleted is not null")
     List<Distribution> findByDeletedNotNull();
 
+    @Override
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
+    Page<Distribution> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
+    Optional<Distribution> findById(Long id);
+
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
     @Query("select d from Distribution d where d.status = ?1")
     List<Distribution> findByStatus(Status status, Pageable page);
+
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
+    List<Distribution> findByIdIn(Collection<Long> ids);
+
+    @Query("select new com.app.benevole.response.DistributionResponse(d.id, d.startDate, d.endDate, d.start, d.end,"
+            + " d.location, d.rapport, d.status, d.deleted, d.team.id, d.dateCreated, d.lastUpdated)"
+            + " from Distribution d order by d.id")
+    List<DistributionResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.DistributionResponse(d.id, d.startDate, d.endDate, d.start, d.end,"
+            + " d.location, d.rapport, d.status, d.deleted, d.team.id, d.dateCreated, d.lastUpdated)"
+            + " from Distribution d where d.id > :id order by d.id")
+    List<DistributionResponse> findProjectedAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.DistributionResponse(d.id, d.startDate, d.endDate, d.start, d.end,"
+            + " d.location, d.rapport, d.status, d.deleted, d.team.id, d.dateCreated, d.lastUpdated)"
+            + " from Distribution d where d.status = :status order by d.id")
+    List<DistributionResponse> findProjectedByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.DistributionResponse(d.id, d.startDate, d.endDate, d.start, d.end,"
+            + " d.location, d.rapport, d.status, d.deleted, d.team.id, d.dateCreated, d.lastUpdated)"
+            + " from Distribution d where d.status = :status and d.id > :id order by d.id")
+    List<DistributionResponse> findProjectedByStatusAfter(@Param("status") Status status,
+                                                          @Param("id") Long id, Pageable pageable);
 }
@@ -2,13 +2,16 @@ package com.app.benevole.repository;
 
 import com.app.benevole.enums.TeamType;
 import com.app.benevole.model.Horaire;
+import com.app.benevole.response.HoraireResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 
@@ -16,10 +19,42 @@ public interface HoraireRepository extends JpaRepository<Horaire, Long> {
     @Query("select h from Horaire h where h.type = :type")
     List<Horaire> findByType(@Param("type") TeamType type, Pageable pageable);
 
+    @Query("select new com.app.benevole.response.HoraireResponse(h.id, h.startDate, h.endDate, h.type, size(h.users),"
+            + " h.deleted, h.dateCreated, h.lastUpdated) from Horaire h order by h.id")
+    List<HoraireResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.HoraireResponse(h.id, h.startDate, h.endDate, h.type, size(h.users),"
+            + " h.deleted, h.dateCreated, h.lastUpdated) from Horaire h where h.id > :id order by h.id")
+    List<HoraireResponse> findProjectedAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.HoraireResponse(h.id, h.startDate, h.endDate, h.type, size(h.users),"
+            + " h.deleted, h.dateCreated, h.lastUpdated) from Horaire h where h.type = :type order by h.id")
+    List<HoraireResponse> findProjectedByType(@Param("type") TeamType type, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.HoraireResponse(h.id, h.startDate, h.endDate, h.type, size(h.users),"
+            + " h.deleted, h.dateCreated, h.lastUpdated) from Horaire h"
+            + " where h.type = :type and h.id > :id order by h.id")
+    List<HoraireResponse> findProjectedByTypeAfter(@Param("type") TeamType type,
+                                                   @Param("id") Long id, Pageable pageable);
+
+    /**
+     * @return pairs of hourly id and number of registered users, hourlies without users are left out
+     */
+    @Query("select h.id, count(u) from Horaire h join h.users u where h.id in :ids group by h.id")
+    List<Object[]> countUsersByIdIn(@Param("ids") Collection<Long> ids);
+
     List<Horaire> findByTypeAndState(TeamType type, boolean state);
 
     List<Horaire> findByState(boolean state);
 
+    /**
+     * Close every open horaire that ended before {@code now}, backed by {@code idx_horaires_state_end}.
+     * @return the number of horaires closed
+     */
+    @Modifying
+    @Query("update Horaire h set h.state = false where h.state = true and h.endDate < :now")
+    int disableEndedBefore(@Param("now") LocalDateTime now);
+
     @Query("select h from Horaire h where not(h.endDate < :from or h.startDate > :to)")
     public List<Horaire> findBetween(@Param("from") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start,
                                      @Param("to") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end);
@@ -0,0 +1,60 @@
+package com.app.benevole.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.time.Duration;
+
+/**
+ * Leases on {@code scheduled_job_lock} rows, each statement in its own auto-commit so a lease is
+ * visible to the other nodes as soon as it is taken. All times are the database's
+ * {@code localtimestamp(3)}, MySQL's {@code now(3)}, in a form H2's MySQL mode also runs.
+ */
+@Repository
+public class JobLockRepository {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public JobLockRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Take the lease of {@code job} for {@code lease} if nobody holds it.
+     * @return whether {@code owner} now holds it
+     */
+    public boolean tryAcquire(String job, String owner, Duration lease) {
+        long micros = lease.toMillis() * 1000;
+        int inserted = jdbcTemplate.update("insert ignore into scheduled_job_lock"
+                + " (name, locked_until, locked_at, locked_by)"
+                + " values (?, timestampadd(microsecond, ?, localtimestamp(3)), localtimestamp(3), ?)",
+                job, micros, owner);
+        if (inserted == 1) {
+            return true;
+        }
+        return jdbcTemplate.update("update scheduled_job_lock"
+                + " set locked_until = timestampadd(microsecond, ?, localtimestamp(3)),"
+                + " locked_at = localtimestamp(3), locked_by = ?"
+                + " where name = ? and locked_until <= localtimestamp(3)", micros, owner, job) == 1;
+    }
+
+    /**
+     * Record a successful run and shorten the lease to {@code atLeast} after it was taken, so a
+     * node whose timer fires a little later does not run the job a second time.
+     */
+    public void releaseSuccess(String job, String owner, Duration atLeast, long duration, int rows) {
+        jdbcTemplate.update("update scheduled_job_lock"
+                        + " set locked_until = greatest(localtimestamp(3), timestampadd(microsecond, ?, locked_at)),"
+                        + " last_success_at = localtimestamp(3), last_duration = ?, last_rows = ?"
+                        + " where name = ? and locked_by = ?",
+                atLeast.toMillis() * 1000, duration, rows, job, owner);
+    }
+
+    public void releaseFailure(String job, String owner, Duration atLeast, String error) {
+        jdbcTemplate.update("update scheduled_job_lock"
+                        + " set locked_until = greatest(localtimestamp(3), timestampadd(microsecond, ?, locked_at)),"
+                        + " last_failure_at = localtimestamp(3), last_error = ?, failures = failures + 1"
+                        + " where name = ? and locked_by = ?",
+                atLeast.toMillis() * 1000, error, job, owner);
+    }
+}
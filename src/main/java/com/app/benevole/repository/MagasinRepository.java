@@ -2,7 +2,9 @@ package com.app.benevole.repository;
 
 import com.app.benevole.model.Category;
 import com.app.benevole.model.Magasin;
+import com.app.benevole.response.MagasinResponse;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -14,6 +16,91 @@ public interface MagasinRepository extends JpaRepository<Magasin, Long> {
     @Query("select m from Magasin m where m.category = :category")
     List<Magasin> findByCategory(@Param("category") Category category, PageRequest page);
 
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Magasin m left join m.category c order by m.name, m.id")
+    List<MagasinResponse> findAllProjectedBy(Pageable pageable);
+
+    default List<MagasinResponse> findProjectedAfter(String key, Long id, Pageable pageable) {
+        return key == null ? findProjectedAfterNullName(id, pageable)
+                : findProjectedAfterName(key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Magasin m left join m.category c"
+            + " where m.name >= :key and (m.name > :key or m.id > :id) order by m.name, m.id")
+    List<MagasinResponse> findProjectedAfterName(@Param("key") String key, @Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Magasin m left join m.category c"
+            + " where (m.name is not null or m.id > :id) order by m.name, m.id")
+    List<MagasinResponse> findProjectedAfterNullName(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Magasin m join m.category c where c = :category order by m.name, m.id")
+    List<MagasinResponse> findProjectedByCategory(@Param("category") Category category, Pageable pageable);
+
+    default List<MagasinResponse> findProjectedByCategoryAfter(Category category, String key, Long id,
+                                                               Pageable pageable) {
+        return key == null ? findProjectedByCategoryAfterNullName(category, id, pageable)
+                : findProjectedByCategoryAfterName(category, key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Magasin m join m.category c"
+            + " where c = :category and m.name >= :key and (m.name > :key or m.id > :id) order by m.name, m.id")
+    List<MagasinResponse> findProjectedByCategoryAfterName(@Param("category") Category category,
+                                                           @Param("key") String key, @Param("id") Long id,
+                                                           Pageable pageable);
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Magasin m join m.category c"
+            + " where c = :category and (m.name is not null or m.id > :id) order by m.name, m.id")
+    List<MagasinResponse> findProjectedByCategoryAfterNullName(@Param("category") Category category,
+                                                               @Param("id") Long id, Pageable pageable);
+
+    /**
+     * Live stores of the team's category that no live recuperation overlapping the team's dates has booked.
+     */
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Team t join t.categoryId c, Magasin m"
+            + " where t.id = :team and m.category = c and m.deleted is null"
+            + " and not exists (select r.id from Recuperation r join r.magasins rm where rm = m and r.deleted is null"
+            + " and r.startDate < t.endDate and r.endDate > t.startDate)"
+            + " order by m.name, m.id")
+    List<MagasinResponse> findAvailableForTeam(@Param("team") Long team, Pageable pageable);
+
+    default List<MagasinResponse> findAvailableForTeamAfter(Long team, String key, Long id, Pageable pageable) {
+        return key == null ? findAvailableForTeamAfterNullName(team, id, pageable)
+                : findAvailableForTeamAfterName(team, key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Team t join t.categoryId c, Magasin m"
+            + " where t.id = :team and m.category = c and m.deleted is null"
+            + " and not exists (select r.id from Recuperation r join r.magasins rm where rm = m and r.deleted is null"
+            + " and r.startDate < t.endDate and r.endDate > t.startDate)"
+            + " and m.name >= :key and (m.name > :key or m.id > :id) order by m.name, m.id")
+    List<MagasinResponse> findAvailableForTeamAfterName(@Param("team") Long team, @Param("key") String key,
+                                                        @Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.MagasinResponse(m.id, m.name, m.address, m.phone, m.deleted,"
+            + " c.id, c.name, c.deleted, c.dateCreated, c.lastUpdated, m.dateCreated, m.lastUpdated)"
+            + " from Team t join t.categoryId c, Magasin m"
+            + " where t.id = :team and m.category = c and m.deleted is null"
+            + " and not exists (select r.id from Recuperation r join r.magasins rm where rm = m and r.deleted is null"
+            + " and r.startDate < t.endDate and r.endDate > t.startDate)"
+            + " and (m.name is not null or m.id > :id) order by m.name, m.id")
+    List<MagasinResponse> findAvailableForTeamAfterNullName(@Param("team") Long team, @Param("id") Long id,
+                                                            Pageable pageable);
+
     boolean existsByPhoneIgnoreCase(String phone);
 
 }
@@ -2,9 +2,11 @@ package com.app.benevole.repository;
 
 import com.app.benevole.model.Notifications;
 import com.app.benevole.model.User;
+import com.app.benevole.response.NotificationsResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.util.List;
 
@@ -12,4 +14,20 @@ import java.util.List;
 public interface NotificationsRepository extends JpaRepository<Notifications, Long> {
     @Query("select n from Notifications n where n.user = ?1")
     List<Notifications> findByUser(User user, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.NotificationsResponse(n.id, n.content, n.open, n.deleted,"
+            + " n.dateCreated, n.lastUpdated) from Notifications n order by n.id")
+    List<NotificationsResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.NotificationsResponse(n.id, n.content, n.open, n.deleted,"
+            + " n.dateCreated, n.lastUpdated) from Notifications n where n.id > :id order by n.id")
+    List<NotificationsResponse> findProjectedAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.NotificationsResponse(n.id, n.content, n.open, n.deleted,"
+            + " n.dateCreated, n.lastUpdated) from Notifications n where n.user = ?1 order by n.id")
+    List<NotificationsResponse> findProjectedByUser(User user, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.NotificationsResponse(n.id, n.content, n.open, n.deleted,"
+            + " n.dateCreated, n.lastUpdated) from Notifications n where n.user = ?1 and n.id > ?2 order by n.id")
+    List<NotificationsResponse> findProjectedByUserAfter(User user, Long id, Pageable pageable);
 }
@@ -1,7 +1,23 @@
 package com.app.benevole.repository;
 
 import com.app.benevole.model.PermissionParent;
+import com.app.benevole.response.PermissionParentResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.List;
 
 public interface PermissionParentRepository extends JpaRepository<PermissionParent, Long> {
+
+    @Query("select new com.app.benevole.response.PermissionParentResponse(pp.id, pp.name, size(pp.permissions))"
+            + " from PermissionParent pp order by pp.name, pp.id")
+    List<PermissionParentResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.PermissionParentResponse(pp.id, pp.name, size(pp.permissions))"
+            + " from PermissionParent pp"
+            + " where (pp.name > :key or (pp.name = :key and pp.id > :id)) order by pp.name, pp.id")
+    List<PermissionParentResponse> findProjectedAfter(@Param("key") String key,
+                                                      @Param("id") Long id, Pageable pageable);
 }
@@ -2,12 +2,75 @@ package com.app.benevole.repository;
 
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.PermissionParent;
+import com.app.benevole.response.PermissionResponse;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 
 
 public interface PermissionRepository extends JpaRepository<Permission, Long> {
+
+    /**
+     * @return id, name and {@link Permission#getBitPosition()} of every permission, in id order
+     */
+    @Query("select p.id, p.name, p.bitPosition from Permission p order by p.id")
+    List<Object[]> findAllBits();
+
+    @Query("select coalesce(max(p.bitPosition), -1) from Permission p")
+    int findMaxBitPosition();
+
+    /**
+     * @return 1 when the position was assigned, 0 when the permission already had one
+     */
+    @Transactional
+    @Modifying
+    @Query("update Permission p set p.bitPosition = :position where p.id = :id and p.bitPosition is null")
+    int assignBitPosition(@Param("id") Long id, @Param("position") int position);
+
     List<Permission> findByParent(PermissionParent parent, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.PermissionResponse(p.id, p.name, p.dateCreated, p.lastUpdated)"
+            + " from Permission p order by p.name, p.id")
+    List<PermissionResponse> findAllProjectedBy(Pageable pageable);
+
+    default List<PermissionResponse> findProjectedAfter(String key, Long id, Pageable pageable) {
+        return key == null ? findProjectedAfterNullName(id, pageable)
+                : findProjectedAfterName(key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.PermissionResponse(p.id, p.name, p.dateCreated, p.lastUpdated)"
+            + " from Permission p where p.name >= :key and (p.name > :key or p.id > :id) order by p.name, p.id")
+    List<PermissionResponse> findProjectedAfterName(@Param("key") String key, @Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.PermissionResponse(p.id, p.name, p.dateCreated, p.lastUpdated)"
+            + " from Permission p where (p.name is not null or p.id > :id) order by p.name, p.id")
+    List<PermissionResponse> findProjectedAfterNullName(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.PermissionResponse(p.id, p.name, p.dateCreated, p.lastUpdated)"
+            + " from Permission p where p.parent = :parent order by p.name, p.id")
+    List<PermissionResponse> findProjectedByParent(@Param("parent") PermissionParent parent, Pageable pageable);
+
+    default List<PermissionResponse> findProjectedByParentAfter(PermissionParent parent, String key, Long id,
+                                                                Pageable pageable) {
+        return key == null ? findProjectedByParentAfterNullName(parent, id, pageable)
+                : findProjectedByParentAfterName(parent, key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.PermissionResponse(p.id, p.name, p.dateCreated, p.lastUpdated)"
+            + " from Permission p"
+            + " where p.parent = :parent and p.name >= :key and (p.name > :key or p.id > :id) order by p.name, p.id")
+    List<PermissionResponse> findProjectedByParentAfterName(@Param("parent") PermissionParent parent,
+                                                            @Param("key") String key, @Param("id") Long id,
+                                                            Pageable pageable);
+
+    @Query("select new com.app.benevole.response.PermissionResponse(p.id, p.name, p.dateCreated, p.lastUpdated)"
+            + " from Permission p"
+            + " where p.parent = :parent and (p.name is not null or p.id > :id) order by p.name, p.id")
+    List<PermissionResponse> findProjectedByParentAfterNullName(@Param("parent") PermissionParent parent,
+                                                                @Param("id") Long id, Pageable pageable);
 }
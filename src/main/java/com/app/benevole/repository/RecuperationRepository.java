@@ -1,12 +1,17 @@
 package com.app.benevole.repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 import com.app.benevole.enums.Status;
 import com.app.benevole.model.Magasin;
 import com.app.benevole.model.Recuperation;
+import com.app.benevole.response.RecuperationResponse;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -17,8 +22,41 @@ public interface RecuperationRepository extends JpaRepository<Recuperation, Long
 
     List<Recuperation> findAllByMagasins(Magasin magasin);
 
+    @Override
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
+    Page<Recuperation> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
+    Optional<Recuperation> findById(Long id);
+
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
     List<Recuperation> findByStatus(Status status, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"team", "team.categoryId", "team.recuperation", "team.distribution"})
+    List<Recuperation> findByIdIn(Collection<Long> ids);
+
+    @Query("select new com.app.benevole.response.RecuperationResponse(r.id, r.startDate, r.endDate, r.start, r.end,"
+            + " r.status, r.rapport, r.deleted, r.team.id, r.dateCreated, r.lastUpdated)"
+            + " from Recuperation r order by r.id")
+    List<RecuperationResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.RecuperationResponse(r.id, r.startDate, r.endDate, r.start, r.end,"
+            + " r.status, r.rapport, r.deleted, r.team.id, r.dateCreated, r.lastUpdated)"
+            + " from Recuperation r where r.id > :id order by r.id")
+    List<RecuperationResponse> findProjectedAfter(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.RecuperationResponse(r.id, r.startDate, r.endDate, r.start, r.end,"
+            + " r.status, r.rapport, r.deleted, r.team.id, r.dateCreated, r.lastUpdated)"
+            + " from Recuperation r where r.status = :status order by r.id")
+    List<RecuperationResponse> findProjectedByStatus(@Param("status") Status status, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.RecuperationResponse(r.id, r.startDate, r.endDate, r.start, r.end,"
+            + " r.status, r.rapport, r.deleted, r.team.id, r.dateCreated, r.lastUpdated)"
+            + " from Recuperation r where r.status = :status and r.id > :id order by r.id")
+    List<RecuperationResponse> findProjectedByStatusAfter(@Param("status") Status status,
+                                                          @Param("id") Long id, Pageable pageable);
+
     @Query("select r from Recuperation r where r.startDate = :start and r.endDate = :end")
     List<Recuperation> getRecuperationByStartAndEnd(@Param("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start, @Param("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end);
 }
@@ -1,14 +1,76 @@
 package com.app.benevole.repository;
 
+import java.util.Collection;
 import java.util.List;
 
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.Role;
+import com.app.benevole.response.RoleResponse;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface RoleRepository extends JpaRepository<Role, Long> {
 
     List<Role> findAllByPermissions(Permission permission);
 
+    List<Role> findAllByParents(Role parent);
+
+    @Query("select r.id from Role r")
+    List<Long> findAllIds();
+
+    /**
+     * @return pairs of role id and {@link Permission#getBitPosition()} granted directly by that role
+     */
+    @Query("select r.id, p.bitPosition from Role r join r.permissions p where p.bitPosition is not null")
+    List<Object[]> findAllPermissionBits();
+
+    /**
+     * @return pairs of role id and parent role id
+     */
+    @Query("select r.id, p.id from Role r join r.parents p")
+    List<Object[]> findAllParentIds();
+
+    @Query("select p.bitPosition from Role r join r.permissions p where r.id = :id and p.bitPosition is not null")
+    List<Integer> findPermissionBitsById(@Param("id") Long id);
+
+    @Query("select p.id from Role r join r.parents p where r.id = :id")
+    List<Long> findParentIdsById(@Param("id") Long id);
+
+    /**
+     * @return the version of the role graph, bumped with every change to roles, their permissions or their parents
+     */
+    @Query(value = "select version from role_graph_version where id = 1", nativeQuery = true)
+    long findGraphVersion();
+
+    @Modifying
+    @Query(value = "update role_graph_version set version = version + 1 where id = 1", nativeQuery = true)
+    int incrementGraphVersion();
+
+    @Query("select new com.app.benevole.response.RoleResponse(r.id, r.name, r.deleted, r.dateCreated, r.lastUpdated)"
+            + " from Role r order by r.name, r.id")
+    List<RoleResponse> findAllProjectedBy(Pageable pageable);
+
+    default List<RoleResponse> findProjectedAfter(String key, Long id, Pageable pageable) {
+        return key == null ? findProjectedAfterNullName(id, pageable)
+                : findProjectedAfterName(key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.RoleResponse(r.id, r.name, r.deleted, r.dateCreated, r.lastUpdated)"
+            + " from Role r where r.name >= :key and (r.name > :key or r.id > :id) order by r.name, r.id")
+    List<RoleResponse> findProjectedAfterName(@Param("key") String key, @Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.RoleResponse(r.id, r.name, r.deleted, r.dateCreated, r.lastUpdated)"
+            + " from Role r where (r.name is not null or r.id > :id) order by r.name, r.id")
+    List<RoleResponse> findProjectedAfterNullName(@Param("id") Long id, Pageable pageable);
+
+    /**
+     * @return pairs of role id and parent role id, for these roles only
+     */
+    @Query("select r.id, p.id from Role r join r.parents p where r.id in :ids")
+    List<Object[]> findParentIdsByIdIn(@Param("ids") Collection<Long> ids);
+
 }
@@ -0,0 +1,61 @@
+package com.app.benevole.repository;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.nio.ByteBuffer;
+import java.util.Collection;
+import java.util.UUID;
+
+/**
+ * Writes the {@code user_teams} join table directly. {@code User} owns the association, so going
+ * through the entities would load every member with its roles and permissions to add one row;
+ * here N members are N batched statements, sent as one multi-row insert by the driver.
+ * <p>
+ * Callers check that the team and users exist, and flush a team they just persisted.
+ */
+@Repository
+public class TeamMemberRepository {
+
+    private static final String INSERT = "insert ignore into user_teams (user_id, team_id) values (?, ?)";
+    private static final String DELETE = "delete from user_teams where user_id = ? and team_id = ?";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TeamMemberRepository(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    /**
+     * Existing memberships are left as they are.
+     */
+    public void addAll(Long team, Collection<UUID> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT, users, users.size(), (ps, user) -> {
+            ps.setBytes(1, toBytes(user));
+            ps.setLong(2, team);
+        });
+    }
+
+    public void removeAll(Long team, Collection<UUID> users) {
+        if (users.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(DELETE, users, users.size(), (ps, user) -> {
+            ps.setBytes(1, toBytes(user));
+            ps.setLong(2, team);
+        });
+    }
+
+    /**
+     * User ids are {@code BINARY(16)}, see {@code V4__Binary_user_ids}.
+     */
+    private static byte[] toBytes(UUID id) {
+        return ByteBuffer.allocate(16)
+                .putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits())
+                .array();
+    }
+}
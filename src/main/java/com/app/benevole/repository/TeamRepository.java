@@ -2,19 +2,98 @@ package com.app.benevole.repository;
 
 import com.app.benevole.model.Category;
 import com.app.benevole.model.Team;
+import com.app.benevole.response.TeamResponse;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.format.annotation.DateTimeFormat;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 
 public interface TeamRepository extends JpaRepository<Team, Long> {
+
+    /**
+     * The recuperation and distribution sides of a team are inverse one-to-ones that Hibernate loads
+     * with one query each unless they are fetched along with the team.
+     */
+    @Override
+    @EntityGraph(attributePaths = {"categoryId", "recuperation", "distribution"})
+    Page<Team> findAll(Pageable pageable);
+
+    @Override
+    @EntityGraph(attributePaths = {"categoryId", "recuperation", "distribution"})
+    Optional<Team> findById(Long id);
+
+    @EntityGraph(attributePaths = {"categoryId", "recuperation", "distribution"})
     List<Team> findByCategoryId(Category categoryId, Pageable pageable);
 
+    @EntityGraph(attributePaths = {"categoryId", "recuperation", "distribution"})
+    List<Team> findByIdIn(Collection<Long> ids);
+
+    /**
+     * Listing read path: one query, no entity is loaded, associations come back as ids.
+     */
+    @Query("select new com.app.benevole.response.TeamResponse(t.id, t.name, t.startDate, t.endDate, t.type, t.deleted,"
+            + " c.id, r.id, d.id, t.dateCreated, t.lastUpdated)"
+            + " from Team t left join t.categoryId c left join t.recuperation r left join t.distribution d"
+            + " order by t.name, t.id")
+    List<TeamResponse> findAllProjectedBy(Pageable pageable);
+
+    /**
+     * Keyset variant of {@link #findAllProjectedBy}: the page after the team with this name and id.
+     */
+    default List<TeamResponse> findProjectedAfter(String key, Long id, Pageable pageable) {
+        return key == null ? findProjectedAfterNullName(id, pageable)
+                : findProjectedAfterName(key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.TeamResponse(t.id, t.name, t.startDate, t.endDate, t.type, t.deleted,"
+            + " c.id, r.id, d.id, t.dateCreated, t.lastUpdated)"
+            + " from Team t left join t.categoryId c left join t.recuperation r left join t.distribution d"
+            + " where t.name >= :key and (t.name > :key or t.id > :id) order by t.name, t.id")
+    List<TeamResponse> findProjectedAfterName(@Param("key") String key, @Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.TeamResponse(t.id, t.name, t.startDate, t.endDate, t.type, t.deleted,"
+            + " c.id, r.id, d.id, t.dateCreated, t.lastUpdated)"
+            + " from Team t left join t.categoryId c left join t.recuperation r left join t.distribution d"
+            + " where (t.name is not null or t.id > :id) order by t.name, t.id")
+    List<TeamResponse> findProjectedAfterNullName(@Param("id") Long id, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.TeamResponse(t.id, t.name, t.startDate, t.endDate, t.type, t.deleted,"
+            + " c.id, r.id, d.id, t.dateCreated, t.lastUpdated)"
+            + " from Team t join t.categoryId c left join t.recuperation r left join t.distribution d"
+            + " where c = :category order by t.name, t.id")
+    List<TeamResponse> findProjectedByCategoryId(@Param("category") Category category, Pageable pageable);
+
+    default List<TeamResponse> findProjectedByCategoryIdAfter(Category category, String key, Long id,
+                                                              Pageable pageable) {
+        return key == null ? findProjectedByCategoryIdAfterNullName(category, id, pageable)
+                : findProjectedByCategoryIdAfterName(category, key, id, pageable);
+    }
+
+    @Query("select new com.app.benevole.response.TeamResponse(t.id, t.name, t.startDate, t.endDate, t.type, t.deleted,"
+            + " c.id, r.id, d.id, t.dateCreated, t.lastUpdated)"
+            + " from Team t join t.categoryId c left join t.recuperation r left join t.distribution d"
+            + " where c = :category and t.name >= :key and (t.name > :key or t.id > :id) order by t.name, t.id")
+    List<TeamResponse> findProjectedByCategoryIdAfterName(@Param("category") Category category,
+                                                          @Param("key") String key, @Param("id") Long id,
+                                                          Pageable pageable);
+
+    @Query("select new com.app.benevole.response.TeamResponse(t.id, t.name, t.startDate, t.endDate, t.type, t.deleted,"
+            + " c.id, r.id, d.id, t.dateCreated, t.lastUpdated)"
+            + " from Team t join t.categoryId c left join t.recuperation r left join t.distribution d"
+            + " where c = :category and (t.name is not null or t.id > :id) order by t.name, t.id")
+    List<TeamResponse> findProjectedByCategoryIdAfterNullName(@Param("category") Category category,
+                                                              @Param("id") Long id, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"categoryId", "recuperation", "distribution"})
     @Query("select t from Team t where t.startDate = :start and t.endDate = :end")
     List<Team> getTeamsByStartAndEnd(@Param("start") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime start, @Param("end") @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime end);
 }
@@ -1,5 +1,6 @@
 package com.app.benevole.repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -8,12 +9,25 @@ import com.app.benevole.model.Horaire;
 import com.app.benevole.model.Role;
 import com.app.benevole.model.Team;
 import com.app.benevole.model.User;
+import com.app.benevole.response.UserResponse;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 
 public interface UserRepository extends JpaRepository<User, UUID> {
+    @EntityGraph(User.PRINCIPAL_GRAPH)
     Optional<User> findByEmail(String email);
 
+    @EntityGraph(User.PRINCIPAL_GRAPH)
+    Optional<User> findPrincipalById(UUID id);
+
+    @EntityGraph(User.DETAIL_GRAPH)
+    Optional<User> findDetailById(UUID id);
+
     List<User> findAllByRoles(Role role);
 
     List<User> findAllByTeams(Team team);
@@ -24,4 +38,68 @@ public interface UserRepository extends JpaRepository<User, UUID> {
 
     boolean existsByPhoneIgnoreCase(String phone);
 
+    @Query("select new com.app.benevole.response.UserResponse(u.id, u.username, u.enabled, u.firstName, u.lastName,"
+            + " u.birthDate, u.email, u.address, u.postalCode, u.city, u.phone, u.permis, u.profession, u.sexe,"
+            + " u.dateCreated, u.lastUpdated) from User u order by u.username, u.id")
+    List<UserResponse> findAllProjectedBy(Pageable pageable);
+
+    @Query("select new com.app.benevole.response.UserResponse(u.id, u.username, u.enabled, u.firstName, u.lastName,"
+            + " u.birthDate, u.email, u.address, u.postalCode, u.city, u.phone, u.permis, u.profession, u.sexe,"
+            + " u.dateCreated, u.lastUpdated) from User u"
+            + " where (u.username > :key or (u.username = :key and u.id > :id)) order by u.username, u.id")
+    List<UserResponse> findProjectedAfter(@Param("key") String key, @Param("id") UUID id, Pageable pageable);
+
+    /**
+     * Users registered on the horaire who are not members of a live team overlapping it in time.
+     */
+    @Query("select new com.app.benevole.response.UserResponse(u.id, u.username, u.enabled, u.firstName, u.lastName,"
+            + " u.birthDate, u.email, u.address, u.postalCode, u.city, u.phone, u.permis, u.profession, u.sexe,"
+            + " u.dateCreated, u.lastUpdated) from Horaire h join h.users u where h.id = :hourly"
+            + " and not exists (select t.id from Team t join t.members m where m = u and t.deleted is null"
+            + " and t.startDate < h.endDate and t.endDate > h.startDate)"
+            + " order by u.username, u.id")
+    List<UserResponse> findAvailableForHoraire(@Param("hourly") Long hourly, Pageable pageable);
+
+    @Query("select new com.app.benevole.response.UserResponse(u.id, u.username, u.enabled, u.firstName, u.lastName,"
+            + " u.birthDate, u.email, u.address, u.postalCode, u.city, u.phone, u.permis, u.profession, u.sexe,"
+            + " u.dateCreated, u.lastUpdated) from Horaire h join h.users u where h.id = :hourly"
+            + " and not exists (select t.id from Team t join t.members m where m = u and t.deleted is null"
+            + " and t.startDate < h.endDate and t.endDate > h.startDate)"
+            + " and (u.username > :key or (u.username = :key and u.id > :id)) order by u.username, u.id")
+    List<UserResponse> findAvailableForHoraireAfter(@Param("hourly") Long hourly, @Param("key") String key,
+                                                    @Param("id") UUID id, Pageable pageable);
+
+    /**
+     * @return pairs of user id and role name, for these users only
+     */
+    @Query("select u.id, r.name from User u join u.roles r where u.id in :ids")
+    List<Object[]> findRoleNamesByIdIn(@Param("ids") Collection<UUID> ids);
+
+    /**
+     * @return the ids among these that exist, without loading the users
+     */
+    @Query("select u.id from User u where u.id in :ids")
+    List<UUID> findIdsByIdIn(@Param("ids") Collection<UUID> ids);
+
+    @Query("select u.grantsVersion from User u where u.id = :id")
+    Optional<Long> findGrantsVersionById(@Param("id") UUID id);
+
+    @Modifying
+    @Query("update User u set u.grantsVersion = u.grantsVersion + 1 where :role member of u.roles")
+    int incrementGrantsVersionByRole(@Param("role") Role role);
+
+    @Modifying
+    @Query("update User u set u.grantsVersion = u.grantsVersion + 1")
+    int incrementAllGrantsVersions();
+
+    /**
+     * @return the grants generation, bumped with every change to a grants version
+     */
+    @Query(value = "select generation from grants_generation where id = 1", nativeQuery = true)
+    long findGrantsGeneration();
+
+    @Modifying
+    @Query(value = "update grants_generation set generation = generation + 1 where id = 1", nativeQuery = true)
+    int incrementGrantsGeneration();
+
 }
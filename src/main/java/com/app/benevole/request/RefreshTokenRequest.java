@@ -0,0 +1,15 @@
+package com.app.benevole.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotBlank;
+import java.io.Serializable;
+
+@Getter
+@Setter
+public class RefreshTokenRequest implements Serializable {
+
+    @NotBlank
+    private String refreshToken;
+}
@@ -20,4 +20,6 @@ public class RoleRequest {
 
     private List<Long> permissions;
 
+    private List<Long> parents;
+
 }
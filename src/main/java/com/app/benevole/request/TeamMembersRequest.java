@@ -0,0 +1,18 @@
+package com.app.benevole.request;
+
+import lombok.Getter;
+import lombok.Setter;
+
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+import java.util.UUID;
+
+
+@Getter
+@Setter
+public class TeamMembersRequest {
+
+    @NotEmpty
+    private List<UUID> members;
+
+}
@@ -1,28 +1,71 @@
 package com.app.benevole.response;
 
 import com.app.benevole.model.Category;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+@Getter
 public class CategoryResponse implements Serializable {
 
     private Long Id;
     private String name;
     private LocalDateTime deleted;
-    private int teamSize;
-    private int storeSize;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer teamSize;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Integer storeSize;
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
-    public CategoryResponse(Category c) {
+    /**
+     * Sizes are counted by the caller, see {@code CategoryRepository#countTeamsAndStoresByIdIn}.
+     */
+    public CategoryResponse(Category c, int teamSize, int storeSize) {
         this.Id = c.getId();
         this.name = c.getName();
         this.deleted = c.getDeleted();
-        this.teamSize = c.getTeams().size();
-        this.storeSize = c.getMagasins().size();
+        this.teamSize = teamSize;
+        this.storeSize = storeSize;
         this.createdAt = c.getDateCreated();
         this.updatedAt = c.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, the sizes are counted in SQL, see {@code CategoryRepository#findAllProjectedBy}.
+     */
+    public CategoryResponse(Long id, String name, LocalDateTime deleted, long teamSize, long storeSize,
+                            OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.Id = id;
+        this.name = name;
+        this.deleted = deleted;
+        this.teamSize = (int) teamSize;
+        this.storeSize = (int) storeSize;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    private CategoryResponse() {
+    }
+
+    /**
+     * The category without its team and store counts, which would load both collections.
+     */
+    public static CategoryResponse summary(Category c) {
+        return summary(c.getId(), c.getName(), c.getDeleted(), c.getDateCreated(), c.getLastUpdated());
+    }
+
+    public static CategoryResponse summary(Long id, String name, LocalDateTime deleted,
+                                           OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        CategoryResponse response = new CategoryResponse();
+        response.Id = id;
+        response.name = name;
+        response.deleted = deleted;
+        response.createdAt = createdAt;
+        response.updatedAt = updatedAt;
+        return response;
+    }
 }
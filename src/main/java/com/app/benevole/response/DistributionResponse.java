@@ -1,13 +1,20 @@
 package com.app.benevole.response;
 
 import com.app.benevole.enums.Status;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Distribution;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
 
 import javax.validation.constraints.NotNull;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+/**
+ * The team is rendered as its id, or expanded one level with {@code expand=team}.
+ */
+@Getter
 public class DistributionResponse implements Serializable {
     Long id;
     LocalDateTime startDate;
@@ -19,11 +26,37 @@ public class DistributionResponse implements Serializable {
     @NotNull(message = "Required Field")
     Status status;
     LocalDateTime deleted;
+    Long teamId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     TeamResponse team;
     OffsetDateTime createdAt;
     OffsetDateTime updatedAt;
 
     public DistributionResponse(Distribution d) {
+        this(d, Expand.NONE);
+    }
+
+    /**
+     * Projection constructor, see {@code DistributionRepository#findAllProjectedBy}.
+     */
+    public DistributionResponse(Long id, LocalDateTime startDate, LocalDateTime endDate, LocalDateTime start,
+                                LocalDateTime end, String location, String rapport, Status status,
+                                LocalDateTime deleted, Long teamId, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.start = start;
+        this.end = end;
+        this.location = location;
+        this.rapport = rapport;
+        this.status = status;
+        this.deleted = deleted;
+        this.teamId = teamId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public DistributionResponse(Distribution d, Expand expand) {
         this.id = d.getId();
         this.startDate = d.getStartDate();
         this.endDate = d.getEndDate();
@@ -33,7 +66,12 @@ public class DistributionResponse implements Serializable {
         this.rapport = d.getRapport();
         this.status = d.getStatus();
         this.deleted = d.getDeleted();
-        this.team = new TeamResponse(d.getTeam());
+        if (d.getTeam() != null) {
+            this.teamId = d.getTeam().getId();
+            if (expand.has("team")) {
+                this.team = new TeamResponse(d.getTeam());
+            }
+        }
         this.createdAt = d.getDateCreated();
         this.updatedAt = d.getLastUpdated();
     }
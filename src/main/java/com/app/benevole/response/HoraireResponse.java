@@ -2,11 +2,13 @@ package com.app.benevole.response;
 
 import com.app.benevole.enums.TeamType;
 import com.app.benevole.model.Horaire;
+import lombok.Getter;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+@Getter
 public class HoraireResponse implements Serializable {
 
     private Long id;
@@ -18,14 +20,32 @@ public class HoraireResponse implements Serializable {
     private OffsetDateTime createdAt;
     private OffsetDateTime updatedAt;
 
-    public HoraireResponse(Horaire h) {
+    /**
+     * @param totalUsers counted by the caller, see {@code HoraireRepository#countUsersByIdIn}
+     */
+    public HoraireResponse(Horaire h, int totalUsers) {
         this.id = h.getId();
         this.startDate = h.getStartDate();
         this.endDate = h.getEndDate();
         this.type = h.getType();
-        this.totalUsers = h.getUsers().size();
+        this.totalUsers = totalUsers;
         this.deleted = h.getDeleted();
         this.createdAt = h.getDateCreated();
         this.updatedAt = h.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, the users are counted in SQL, see {@code HoraireRepository#findAllProjectedBy}.
+     */
+    public HoraireResponse(Long id, LocalDateTime startDate, LocalDateTime endDate, TeamType type, int totalUsers,
+                           LocalDateTime deleted, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.type = type;
+        this.totalUsers = totalUsers;
+        this.deleted = deleted;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
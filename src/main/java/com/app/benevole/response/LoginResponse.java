@@ -17,5 +17,6 @@ public class LoginResponse implements Serializable {
     private String email;
     private String username;
     private String token;
+    private String refreshToken;
     private List<String> rulesAndPermissions;
 }
@@ -1,11 +1,14 @@
 package com.app.benevole.response;
 
 import com.app.benevole.model.Magasin;
+import lombok.Getter;
 
 import java.io.Serializable;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+@Getter
 public class MagasinResponse implements Serializable {
 
     Long id;
@@ -17,14 +20,37 @@ public class MagasinResponse implements Serializable {
     OffsetDateTime createdAt;
     OffsetDateTime updatedAt;
 
+    /**
+     * The category is rendered as a summary, without its team and store counts.
+     */
     public MagasinResponse(Magasin m) {
         this.id = m.getId();
         this.name = m.getName();
         this.address = m.getAddress();
         this.phone = m.getPhone();
         this.deleted = m.getDeleted();
-        this.category = new CategoryResponse(m.getCategory());
+        this.category = m.getCategory() == null ? null : CategoryResponse.summary(m.getCategory());
         this.createdAt = m.getDateCreated();
         this.updatedAt = m.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, see {@code MagasinRepository#findAllProjectedBy}.
+     */
+    public MagasinResponse(Long id, String name, String address, String phone, LocalDate deleted,
+                           Long categoryId, String categoryName, LocalDateTime categoryDeleted,
+                           OffsetDateTime categoryCreatedAt, OffsetDateTime categoryUpdatedAt,
+                           OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.address = address;
+        this.phone = phone;
+        this.deleted = deleted;
+        if (categoryId != null) {
+            this.category = CategoryResponse.summary(categoryId, categoryName, categoryDeleted,
+                    categoryCreatedAt, categoryUpdatedAt);
+        }
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,11 +1,13 @@
 package com.app.benevole.response;
 
 import com.app.benevole.model.Notifications;
+import lombok.Getter;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+@Getter
 public class NotificationsResponse implements Serializable {
 
     Long id;
@@ -23,4 +25,17 @@ public class NotificationsResponse implements Serializable {
         this.createdAt = n.getDateCreated();
         this.updatedAt = n.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, see {@code NotificationsRepository#findAllProjectedBy}.
+     */
+    public NotificationsResponse(Long id, String content, Boolean open, LocalDateTime deleted,
+                                 OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.content = content;
+        this.open = open;
+        this.deleted = deleted;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
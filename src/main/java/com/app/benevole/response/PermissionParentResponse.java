@@ -20,4 +20,13 @@ public class PermissionParentResponse {
         this.name = pp.getName();
         this.permissions = pp.getPermissions().size();
     }
+
+    /**
+     * Projection constructor, the permissions are counted in SQL, see {@code PermissionParentRepository#findAllProjectedBy}.
+     */
+    public PermissionParentResponse(Long id, String name, int permissions) {
+        this.id = id;
+        this.name = name;
+        this.permissions = permissions;
+    }
 }
@@ -22,4 +22,14 @@ public class PermissionResponse {
         this.createdAt = p.getDateCreated();
         this.updatedAt = p.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, see {@code PermissionRepository#findAllProjectedBy}.
+     */
+    public PermissionResponse(Long id, String name, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,12 +1,19 @@
 package com.app.benevole.response;
 
 import com.app.benevole.enums.Status;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Recuperation;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
 
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+/**
+ * The team is rendered as its id, or expanded one level with {@code expand=team}.
+ */
+@Getter
 public class RecuperationResponse implements Serializable {
 
     Long id;
@@ -17,11 +24,36 @@ public class RecuperationResponse implements Serializable {
     Status status;
     String rapport;
     LocalDateTime deleted;
+    Long teamId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     TeamResponse team;
     OffsetDateTime createdAt;
     OffsetDateTime updatedAt;
 
     public RecuperationResponse(Recuperation r) {
+        this(r, Expand.NONE);
+    }
+
+    /**
+     * Projection constructor, see {@code RecuperationRepository#findAllProjectedBy}.
+     */
+    public RecuperationResponse(Long id, LocalDateTime startDate, LocalDateTime endDate, LocalDateTime start,
+                                LocalDateTime end, Status status, String rapport, LocalDateTime deleted, Long teamId,
+                                OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.start = start;
+        this.end = end;
+        this.status = status;
+        this.rapport = rapport;
+        this.deleted = deleted;
+        this.teamId = teamId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public RecuperationResponse(Recuperation r, Expand expand) {
         this.id = r.getId();
         this.startDate = r.getStartDate();
         this.endDate = r.getEndDate();
@@ -30,7 +62,12 @@ public class RecuperationResponse implements Serializable {
         this.status = r.getStatus();
         this.rapport = r.getRapport();
         this.deleted = r.getDeleted();
-        this.team = new TeamResponse(r.getTeam());
+        if (r.getTeam() != null) {
+            this.teamId = r.getTeam().getId();
+            if (expand.has("team")) {
+                this.team = new TeamResponse(r.getTeam());
+            }
+        }
         this.createdAt = r.getDateCreated();
         this.updatedAt = r.getLastUpdated();
     }
@@ -7,6 +7,9 @@ import lombok.Setter;
 import java.io.Serializable;
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
 
 @Getter
 @Setter
@@ -15,6 +18,7 @@ public class RoleResponse {
     Long id;
     String name;
     LocalDateTime deleted;
+    List<Long> parents;
     OffsetDateTime createdAt;
     OffsetDateTime updatedAt;
 
@@ -22,7 +26,20 @@ public class RoleResponse {
         this.id = role.getId();
         this.name = role.getName();
         this.deleted = role.getDeleted();
+        this.parents = role.getParents() == null ? Collections.emptyList()
+                : role.getParents().stream().map(Role::getId).collect(Collectors.toList());
         this.createdAt = role.getDateCreated();
         this.updatedAt = role.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, see {@code RoleRepository#findAllProjectedBy}. Parents are filled in by the caller.
+     */
+    public RoleResponse(Long id, String name, LocalDateTime deleted, OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.deleted = deleted;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
@@ -1,11 +1,19 @@
 package com.app.benevole.response;
 
 import com.app.benevole.enums.TeamType;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Team;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.Getter;
 
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 
+/**
+ * Associations are rendered as ids; {@code category}, {@code recuperation} and {@code distribution}
+ * can be expanded one level, into responses that reference the team back by id only.
+ */
+@Getter
 public class TeamResponse {
 
     Long id;
@@ -14,22 +22,66 @@ public class TeamResponse {
     LocalDateTime endDate;
     TeamType type;
     LocalDateTime deleted;
+    Long categoryId;
+    Long recuperationId;
+    Long distributionId;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     CategoryResponse category;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     RecuperationResponse recuperation;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     DistributionResponse distribution;
     OffsetDateTime createdAt;
     OffsetDateTime updatedAt;
 
     public TeamResponse(Team t) {
+        this(t, Expand.NONE);
+    }
+
+    /**
+     * Projection constructor, see {@code TeamRepository#findAllProjectedBy}.
+     */
+    public TeamResponse(Long id, String name, LocalDateTime startDate, LocalDateTime endDate, TeamType type,
+                        LocalDateTime deleted, Long categoryId, Long recuperationId, Long distributionId,
+                        OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.name = name;
+        this.startDate = startDate;
+        this.endDate = endDate;
+        this.type = type;
+        this.deleted = deleted;
+        this.categoryId = categoryId;
+        this.recuperationId = recuperationId;
+        this.distributionId = distributionId;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
+
+    public TeamResponse(Team t, Expand expand) {
         this.id = t.getId();
         this.name = t.getName();
         this.startDate = t.getStartDate();
         this.endDate = t.getEndDate();
         this.type = t.getType();
         this.deleted = t.getDeleted();
-        this.category = new CategoryResponse(t.getCategoryId());
-        this.recuperation = new RecuperationResponse(t.getRecuperation());
-        this.distribution = new DistributionResponse(t.getDistribution());
+        if (t.getCategoryId() != null) {
+            this.categoryId = t.getCategoryId().getId();
+            if (expand.has("category")) {
+                this.category = CategoryResponse.summary(t.getCategoryId());
+            }
+        }
+        if (t.getRecuperation() != null) {
+            this.recuperationId = t.getRecuperation().getId();
+            if (expand.has("recuperation")) {
+                this.recuperation = new RecuperationResponse(t.getRecuperation());
+            }
+        }
+        if (t.getDistribution() != null) {
+            this.distributionId = t.getDistribution().getId();
+            if (expand.has("distribution")) {
+                this.distribution = new DistributionResponse(t.getDistribution());
+            }
+        }
         this.createdAt = t.getDateCreated();
         this.updatedAt = t.getLastUpdated();
     }
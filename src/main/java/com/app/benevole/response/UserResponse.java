@@ -54,4 +54,29 @@ public class UserResponse {
         this.createdAt = u.getDateCreated();
         this.updatedAt = u.getLastUpdated();
     }
+
+    /**
+     * Projection constructor, see {@code UserRepository#findAllProjectedBy}. Roles are filled in by the caller.
+     */
+    public UserResponse(UUID id, String username, Boolean enabled, String firstName, String lastName,
+                        LocalDate birthDate, String email, String address, String postalCode, String city,
+                        String phone, Boolean permis, String profession, String sexe,
+                        OffsetDateTime createdAt, OffsetDateTime updatedAt) {
+        this.id = id;
+        this.username = username;
+        this.enabled = enabled;
+        this.firstName = firstName;
+        this.lastName = lastName;
+        this.birthDate = birthDate;
+        this.email = email;
+        this.address = address;
+        this.postalCode = postalCode;
+        this.city = city;
+        this.phone = phone;
+        this.permis = permis;
+        this.profession = profession;
+        this.sexe = sexe;
+        this.createdAt = createdAt;
+        this.updatedAt = updatedAt;
+    }
 }
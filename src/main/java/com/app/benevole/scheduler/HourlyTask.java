@@ -1,41 +1,51 @@
 package com.app.benevole.scheduler;
 
-import com.app.benevole.model.Horaire;
-import com.app.benevole.repository.HoraireRepository;
 import com.app.benevole.service.HoraireService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.List;
+import java.time.Duration;
 
 @Component
 public class HourlyTask {
 
-    private final HoraireService horaireService;
+    private static final Logger LOGGER = LoggerFactory.getLogger(HourlyTask.class);
 
+    private final HoraireService horaireService;
 
-    private final HoraireRepository hr;
+    private final ScheduledJobRunner jobRunner;
 
-    private final LocalDateTime now = LocalDateTime.now();
+    private final Counter disabled;
 
-    public HourlyTask(HoraireService horaireService, HoraireRepository hr) {
+    public HourlyTask(HoraireService horaireService, ScheduledJobRunner jobRunner, MeterRegistry registry) {
         this.horaireService = horaireService;
-        this.hr = hr;
+        this.jobRunner = jobRunner;
+        this.disabled = Counter.builder("horaires.disabled")
+                .description("Horaires closed because their end date passed").register(registry);
     }
 
     /**
-     * Méthode de vérification de la validité des horaires disponibles en BD
+     * Méthode de vérification de la validité des horaires disponibles en BD.
+     * One update statement, whatever the number of horaires, on one node of the cluster.
+     * @return the number of horaires closed, 0 when another node ran it
      */
     @Scheduled(fixedRate = 60000)
-    public void disableHourlies() {
-        List<Horaire> h = horaireService.all(true);
-        for (Horaire horaire : h) {
-            if (now.isAfter(horaire.getEndDate())) {
-                horaire.setState(false);
-                hr.saveAndFlush(horaire);
-            }
+    public int disableHourlies() {
+        return jobRunner.run("hourly-task.disable-hourlies", Duration.ofMinutes(5), Duration.ofSeconds(50),
+                this::disableEnded).orElse(0);
+    }
+
+    private int disableEnded() {
+        int count = horaireService.disableEnded();
+        disabled.increment(count);
+        if (count > 0) {
+            LOGGER.info("HourlyTask | disableHourlies | {} horaires closed", count);
         }
+        return count;
     }
 
 }
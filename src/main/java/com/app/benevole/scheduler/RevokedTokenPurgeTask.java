@@ -0,0 +1,46 @@
+package com.app.benevole.scheduler;
+
+import com.app.benevole.repository.RevokedTokenRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Deletes revoked token ids whose token has expired, on one node of the cluster. An expired
+ * token is rejected before the revocation list is consulted, so its row is dead weight.
+ */
+@Component
+public class RevokedTokenPurgeTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RevokedTokenPurgeTask.class);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobRunner jobRunner;
+
+    public RevokedTokenPurgeTask(RevokedTokenRepository revokedTokenRepository,
+                                 PlatformTransactionManager transactionManager, ScheduledJobRunner jobRunner) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+    }
+
+    @Scheduled(cron = "${application.security.revokedTokens.purgeCron:0 15 * * * *}")
+    public void purge() {
+        jobRunner.run("revoked-tokens.purge", Duration.ofMinutes(10), Duration.ofMinutes(1), this::deleteExpired);
+    }
+
+    private int deleteExpired() {
+        int count = transactionTemplate.execute(status -> revokedTokenRepository.deleteExpired(LocalDateTime.now()));
+        if (count > 0) {
+            LOGGER.info("RevokedTokenPurgeTask | purge | {} expired revocations deleted", count);
+        }
+        return count;
+    }
+}
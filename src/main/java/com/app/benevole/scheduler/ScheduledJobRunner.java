@@ -0,0 +1,89 @@
+package com.app.benevole.scheduler;
+
+import com.app.benevole.repository.JobLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Runs a scheduled job on one node of the cluster per interval. Every node's timer fires; the
+ * first to take the job's lease in {@code scheduled_job_lock} runs it, the others skip.
+ * <p>
+ * Per job, tagged {@code job}: {@code scheduled.job.duration}, {@code scheduled.job.rows},
+ * {@code scheduled.job.failures}, {@code scheduled.job.skipped} and
+ * {@code scheduled.job.last.success} (epoch seconds, on the node that ran it). The lock row
+ * keeps the same outcome cluster-wide.
+ */
+@Component
+public class ScheduledJobRunner {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ScheduledJobRunner.class);
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final JobLockRepository locks;
+    private final MeterRegistry registry;
+    private final String owner;
+    private final Map<String, AtomicLong> lastSuccess = new ConcurrentHashMap<>();
+
+    public ScheduledJobRunner(JobLockRepository locks, MeterRegistry registry) {
+        this.locks = locks;
+        this.registry = registry;
+        this.owner = hostName() + ":" + UUID.randomUUID();
+    }
+
+    /**
+     * Run {@code job} here unless another node holds its lease.
+     * @param atMost lease taken before running; a node dying mid-run blocks the job this long
+     * @param atLeast lease kept once the run is over, shorter than the interval of the job
+     * @return the rows the job reports, empty when it was skipped or failed
+     */
+    public OptionalInt run(String name, Duration atMost, Duration atLeast, IntSupplier job) {
+        if (!locks.tryAcquire(name, owner, atMost)) {
+            registry.counter("scheduled.job.skipped", "job", name).increment();
+            return OptionalInt.empty();
+        }
+        long start = System.nanoTime();
+        try {
+            int rows = job.getAsInt();
+            long duration = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            Timer.builder("scheduled.job.duration").tag("job", name).register(registry)
+                    .record(duration, TimeUnit.MILLISECONDS);
+            registry.counter("scheduled.job.rows", "job", name).increment(rows);
+            lastSuccess.computeIfAbsent(name, key ->
+                            registry.gauge("scheduled.job.last.success", Tags.of("job", key), new AtomicLong()))
+                    .set(System.currentTimeMillis() / 1000);
+            locks.releaseSuccess(name, owner, atLeast, duration, rows);
+            return OptionalInt.of(rows);
+        } catch (RuntimeException e) {
+            registry.counter("scheduled.job.failures", "job", name).increment();
+            LOGGER.error("ScheduledJobRunner | run | {} failed", name, e);
+            String error = String.valueOf(e);
+            locks.releaseFailure(name, owner, atLeast,
+                    error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error);
+            return OptionalInt.empty();
+        }
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,170 @@
+package com.app.benevole.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Moves rows soft-deleted more than {@code application.softDelete.retentionDays} ago into the
+ * {@code <table>_archive} tables, see {@code V7__soft_delete_archive}.
+ * <p>
+ * Tables are purged children first. A row still referenced by a live row is kept until that row
+ * is purged too; the join rows it owns move to the archive with it. Each batch of ids is its own
+ * transaction, so the live tables are never locked for a whole run.
+ * <p>
+ * Rows are copied column by column, as listed in {@link #COLUMNS}: a column added to a live table
+ * later fails the copy until it is added to its archive too, instead of shifting values into the
+ * wrong archive columns.
+ */
+@Component
+public class SoftDeletePurgeTask {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SoftDeletePurgeTask.class);
+
+    private static final List<Archive> ARCHIVES = List.of(
+            new Archive("notificationses", List.of(), List.of()),
+            new Archive("distributions", List.of(), List.of()),
+            new Archive("recuperations", List.of(new Reference("recuperation_magasins", "recuperation_id")), List.of()),
+            new Archive("horaires", List.of(new Reference("user_horaires", "horaire_id")), List.of()),
+            new Archive("teams", List.of(new Reference("user_teams", "team_id")),
+                    List.of(new Reference("distributions", "team_id"), new Reference("recuperations", "team_id"))),
+            new Archive("magasins", List.of(), List.of(new Reference("recuperation_magasins", "magasin_id"))),
+            new Archive("roles",
+                    List.of(new Reference("role_has_permissions", "role_id"), new Reference("role_parents", "role_id")),
+                    List.of(new Reference("role_parents", "parent_id"), new Reference("user_has_roles", "role_id"))),
+            new Archive("categories", List.of(),
+                    List.of(new Reference("teams", "category_id_id"), new Reference("magasins", "category_id")))
+    );
+
+    /**
+     * Columns copied into each archive, those of its live table at {@code V7__soft_delete_archive}.
+     */
+    private static final Map<String, String> COLUMNS = Map.ofEntries(
+            Map.entry("notificationses", "id, content, open, deleted, user_id, date_created, last_updated"),
+            Map.entry("distributions", "id, start_date, end_date, start, end, location, rapport, status, deleted,"
+                    + " team_id, date_created, last_updated"),
+            Map.entry("recuperations", "id, start_date, end_date, start, end, status, rapport, deleted, team_id,"
+                    + " date_created, last_updated"),
+            Map.entry("recuperation_magasins", "recuperation_id, magasin_id"),
+            Map.entry("horaires", "id, start_date, end_date, type, deleted, state, date_created, last_updated"),
+            Map.entry("user_horaires", "user_id, horaire_id"),
+            Map.entry("teams", "id, name, start_date, end_date, type, deleted, category_id_id, date_created,"
+                    + " last_updated"),
+            Map.entry("user_teams", "user_id, team_id"),
+            Map.entry("magasins", "id, name, address, phone, deleted, category_id, date_created, last_updated"),
+            Map.entry("roles", "id, name, deleted, date_created, last_updated"),
+            Map.entry("role_has_permissions", "role_id, permission_id"),
+            Map.entry("role_parents", "role_id, parent_id"),
+            Map.entry("categories", "id, name, deleted, date_created, last_updated")
+    );
+
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ScheduledJobRunner jobRunner;
+    private final int retentionDays;
+    private final int batchSize;
+
+    public SoftDeletePurgeTask(NamedParameterJdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               ScheduledJobRunner jobRunner,
+                               @Value("${application.softDelete.retentionDays:90}") int retentionDays,
+                               @Value("${application.softDelete.purgeBatchSize:500}") int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.jobRunner = jobRunner;
+        this.retentionDays = retentionDays;
+        this.batchSize = batchSize;
+    }
+
+    @Scheduled(cron = "${application.softDelete.purgeCron:0 30 3 * * *}")
+    public void purge() {
+        jobRunner.run("soft-delete-purge", Duration.ofHours(1), Duration.ofMinutes(5), this::purgeExpired);
+    }
+
+    /**
+     * @return the number of entity rows archived, join rows excluded
+     */
+    private int purgeExpired() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        int total = 0;
+        for (Archive archive : ARCHIVES) {
+            int moved = 0;
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> moveBatch(archive, cutoff));
+                moved += batch;
+            } while (batch == batchSize);
+            if (moved > 0) {
+                LOGGER.info("SoftDeletePurgeTask | purge | {} rows of {} archived", moved, archive.table);
+            }
+            total += moved;
+        }
+        return total;
+    }
+
+    private int moveBatch(Archive archive, LocalDateTime cutoff) {
+        List<Long> ids = jdbcTemplate.queryForList(archive.selectSql(),
+                new MapSqlParameterSource("cutoff", cutoff).addValue("limit", batchSize), Long.class);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        MapSqlParameterSource params = new MapSqlParameterSource("ids", ids);
+        for (Reference owned : archive.owned) {
+            move(owned.table, owned.column, params);
+        }
+        move(archive.table, "id", params);
+        return ids.size();
+    }
+
+    private void move(String table, String column, MapSqlParameterSource params) {
+        String columns = COLUMNS.get(table);
+        jdbcTemplate.update("insert into " + table + "_archive (" + columns + ") select " + columns + " from " + table
+                + " where " + column + " in (:ids)", params);
+        jdbcTemplate.update("delete from " + table + " where " + column + " in (:ids)", params);
+    }
+
+    private static final class Archive {
+        final String table;
+        final List<Reference> owned;
+        final List<Reference> referencedBy;
+
+        Archive(String table, List<Reference> owned, List<Reference> referencedBy) {
+            this.table = table;
+            this.owned = owned;
+            this.referencedBy = referencedBy;
+        }
+
+        /**
+         * Ids of expired rows no live row points to, locked until the batch commits.
+         */
+        String selectSql() {
+            StringBuilder sql = new StringBuilder("select t.id from ").append(table)
+                    .append(" t where t.deleted < :cutoff");
+            for (Reference reference : referencedBy) {
+                sql.append(" and not exists (select 1 from ").append(reference.table)
+                        .append(" r where r.").append(reference.column).append(" = t.id)");
+            }
+            return sql.append(" order by t.id limit :limit for update").toString();
+        }
+    }
+
+    private static final class Reference {
+        final String table;
+        final String column;
+
+        Reference(String table, String column) {
+            this.table = table;
+            this.column = column;
+        }
+    }
+}
@@ -0,0 +1,50 @@
+package com.app.benevole.security;
+
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Interned {@link GrantedAuthority} instances, one per role or permission name.
+ * The pool only grows with the number of distinct names in the database, so every
+ * cached principal shares the same few authority objects and their name strings.
+ */
+public final class Authorities {
+
+    private static final ConcurrentHashMap<String, GrantedAuthority> POOL = new ConcurrentHashMap<>();
+
+    private Authorities() {
+    }
+
+    public static GrantedAuthority of(String name) {
+        GrantedAuthority authority = POOL.get(name);
+        return authority != null ? authority : POOL.computeIfAbsent(name, SimpleGrantedAuthority::new);
+    }
+
+    /**
+     * @return the interned authorities of these names, without duplicates, in first-seen order
+     */
+    public static List<GrantedAuthority> of(Collection<String> names) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>();
+        for (String name : names) {
+            if (name != null) {
+                authorities.add(of(name));
+            }
+        }
+        return List.copyOf(authorities);
+    }
+
+    /**
+     * @return both lists merged without duplicates, roles first
+     */
+    public static List<GrantedAuthority> union(List<GrantedAuthority> first, List<GrantedAuthority> second) {
+        Set<GrantedAuthority> authorities = new LinkedHashSet<>(first);
+        authorities.addAll(second);
+        return List.copyOf(authorities);
+    }
+}
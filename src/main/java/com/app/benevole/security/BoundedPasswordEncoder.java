@@ -0,0 +1,134 @@
+package com.app.benevole.security;
+
+import com.app.benevole.exception.PasswordHashingBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * BCrypt encoder running every hash and verification on a dedicated bounded pool.
+ * <p>
+ * Request threads still wait for the result, but at most {@code poolSize} hashes burn CPU at
+ * once and at most {@code queueCapacity} wait for a worker. Beyond that the call fails fast
+ * with {@link PasswordHashingBusyException}, answered with a 503, instead of letting a login
+ * storm pile up on every Tomcat worker and starve unrelated requests.
+ * <p>
+ * {@link #upgradeEncoding(String)} reports any hash whose cost differs from the configured
+ * strength, so {@link UserDetailsServiceImpl#updatePassword} rehashes it on the next login.
+ */
+public class BoundedPasswordEncoder implements PasswordEncoder, DisposableBean {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(BoundedPasswordEncoder.class);
+
+    private static final Pattern BCRYPT_COST = Pattern.compile("^\\$2[abyx]?\\$(\\d\\d)\\$");
+    private static final int MIN_STRENGTH = 4;
+    private static final int MAX_STRENGTH = 31;
+
+    private final int strength;
+    private final BCryptPasswordEncoder delegate;
+    private final ThreadPoolExecutor executor;
+
+    private final Timer encodeTimer;
+    private final Timer matchesTimer;
+    private final Counter rejections;
+
+    public BoundedPasswordEncoder(int strength, int poolSize, int queueCapacity, MeterRegistry registry) {
+        this.strength = strength;
+        this.delegate = new BCryptPasswordEncoder(strength);
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "password-hash-" + threads.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.encodeTimer = Timer.builder("security.password.hash").tag("operation", "encode")
+                .description("Time spent hashing a password").register(registry);
+        this.matchesTimer = Timer.builder("security.password.hash").tag("operation", "matches")
+                .description("Time spent verifying a password").register(registry);
+        this.rejections = Counter.builder("security.password.hash.rejected")
+                .description("Hash requests rejected because the pool was saturated").register(registry);
+        Gauge.builder("security.password.hash.queue", executor, e -> e.getQueue().size())
+                .description("Hash requests waiting for a worker").register(registry);
+        LOGGER.info("BoundedPasswordEncoder | strength: {}, poolSize: {}, queueCapacity: {}", strength, poolSize, queueCapacity);
+    }
+
+    /**
+     * Find the highest bcrypt strength whose hash still takes at most {@code targetLatency} ms on this host.
+     * Each step doubles the work, so the whole calibration costs about twice the chosen hash time.
+     */
+    public static int calibrate(long targetLatency) {
+        int strength = MIN_STRENGTH;
+        while (strength < MAX_STRENGTH) {
+            BCryptPasswordEncoder candidate = new BCryptPasswordEncoder(strength + 1);
+            long start = System.nanoTime();
+            candidate.encode("calibration");
+            long elapsed = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (elapsed > targetLatency) {
+                break;
+            }
+            strength++;
+        }
+        LOGGER.info("BoundedPasswordEncoder | calibrate | strength {} for a target of {} ms", strength, targetLatency);
+        return strength;
+    }
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+        return run(encodeTimer, () -> delegate.encode(rawPassword));
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return run(matchesTimer, () -> delegate.matches(rawPassword, encodedPassword));
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+        if (encodedPassword == null) {
+            return false;
+        }
+        Matcher matcher = BCRYPT_COST.matcher(encodedPassword);
+        return matcher.find() && Integer.parseInt(matcher.group(1)) != strength;
+    }
+
+    @Override
+    public void destroy() {
+        executor.shutdown();
+    }
+
+    private <T> T run(Timer timer, Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(() -> timer.recordCallable(task));
+        } catch (RejectedExecutionException e) {
+            rejections.increment();
+            throw new PasswordHashingBusyException("Too many concurrent authentications, retry later");
+        }
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for password hashing", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -1,21 +0,0 @@
-package com.app.benevole.security;
-
-import org.aopalliance.intercept.MethodInvocation;
-import org.springframework.security.access.expression.method.DefaultMethodSecurityExpressionHandler;
-import org.springframework.security.access.expression.method.MethodSecurityExpressionOperations;
-import org.springframework.security.core.Authentication;
-import org.springframework.stereotype.Component;
-
-@Component
-public class CustomMethodSecurityExpressionHandler extends DefaultMethodSecurityExpressionHandler {
-    @Override
-    protected MethodSecurityExpressionOperations createSecurityExpressionRoot(Authentication authentication, MethodInvocation invocation) {
-        CustomSecurityExpressionRoot root = new CustomSecurityExpressionRoot(authentication);
-        root.setTarget(invocation.getThis());
-        root.setPermissionEvaluator(getPermissionEvaluator());
-        root.setTrustResolver(getTrustResolver());
-        root.setRoleHierarchy(getRoleHierarchy());
-        root.setDefaultRolePrefix(getDefaultRolePrefix());
-        return root;
-    }
-}
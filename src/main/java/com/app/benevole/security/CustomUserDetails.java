@@ -1,61 +1,102 @@
 package com.app.benevole.security;
 
-import com.app.benevole.model.Permission;
 import com.app.benevole.model.Role;
 import com.app.benevole.model.User;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.*;
 import java.util.stream.Collectors;
 
+/**
+ * Immutable authorization snapshot of a {@link User}.
+ * Every field is copied out of the entity, so an instance can be cached
+ * and shared between requests without holding a reference to the persistence context.
+ */
 public class CustomUserDetails implements UserDetails {
 
-    private final User user;
+    private final UUID id;
+    private final String email;
+    private final String username;
+    private final String password;
+    private final boolean enabled;
     @Getter
-    private List<GrantedAuthority> roles;
+    private final long grantsVersion;
     @Getter
-    private List<GrantedAuthority> permissions;
-
-    public CustomUserDetails(User user) {
-        this.user = user;
-        this.roles = user.getRoles().stream().filter(Objects::nonNull)
-                .map(role -> new SimpleGrantedAuthority(role.getName()))
-                .collect(Collectors.toList());
-        this.permissions = user.getRoles().stream().filter(Objects::nonNull)
-                .map(Role::getPermissions).flatMap(Collection::stream)
-                .map(permission -> new SimpleGrantedAuthority(permission.getName()))
-                .collect(Collectors.toList());
-        permissions.addAll(user.getPermissions().stream().filter(Objects::nonNull)
-                .map(permission -> new SimpleGrantedAuthority(permission.getName()))
+    private final List<GrantedAuthority> roles;
+    @Getter
+    private final List<GrantedAuthority> permissions;
+    /**
+     * Roles followed by permissions, deduplicated and interned through {@link Authorities}.
+     * Computed once, every caller of {@link #getAuthorities()} shares this list.
+     */
+    private final List<GrantedAuthority> authorities;
+    /**
+     * Effective permissions as a bitmap keyed by {@link PermissionIndex}, checked by
+     * {@link #hasPermission(int)} without allocating.
+     */
+    private final long[] permissionBits;
+
+    /**
+     * @param permissionBits effective permissions, inherited through the user's roles or granted directly
+     * @param permissions names of the same permissions
+     */
+    public CustomUserDetails(User user, BitSet permissionBits, Collection<String> permissions) {
+        this.id = user.getId();
+        this.email = user.getEmail();
+        this.username = user.getUsername();
+        this.password = user.getPassword();
+        this.enabled = Boolean.TRUE.equals(user.getEnabled());
+        this.grantsVersion = user.getGrantsVersion();
+        this.roles = Authorities.of(user.getRoles().stream().filter(Objects::nonNull)
+                .map(Role::getName)
                 .collect(Collectors.toList()));
+        this.permissions = Authorities.of(permissions);
+        this.authorities = Authorities.union(roles, this.permissions);
+        this.permissionBits = permissionBits.toLongArray();
+    }
+
+    /**
+     * Rebuild a principal from the claims of a verified access token.
+     * The password is never part of a token, so it is left empty.
+     */
+    public CustomUserDetails(UUID id, String email, String username, long grantsVersion,
+                             Collection<String> roles, BitSet permissionBits, Collection<String> permissions) {
+        this.id = id;
+        this.email = email;
+        this.username = username;
+        this.password = null;
+        this.enabled = true;
+        this.grantsVersion = grantsVersion;
+        this.roles = Authorities.of(roles);
+        this.permissions = Authorities.of(permissions);
+        this.authorities = Authorities.union(this.roles, this.permissions);
+        this.permissionBits = permissionBits.toLongArray();
+    }
+
+    /**
+     * @param permissionId bit position from {@link PermissionIndex#idOf(String)}
+     */
+    public boolean hasPermission(int permissionId) {
+        int word = permissionId >>> 6;
+        return permissionId >= 0 && word < permissionBits.length
+                && (permissionBits[word] & (1L << permissionId)) != 0;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        List<GrantedAuthority> roles = this.roles;
-        List<GrantedAuthority> permissions = this.permissions;
-        List<GrantedAuthority> authorities = new ArrayList<>();
-        for (GrantedAuthority role : roles) {
-            authorities.add(new SimpleGrantedAuthority(role.getAuthority()));
-        }
-        for (GrantedAuthority perm : permissions) {
-            authorities.add(new SimpleGrantedAuthority(perm.getAuthority()));
-        }
         return authorities;
     }
 
     @Override
     public String getPassword() {
-        return user.getPassword();
+        return password;
     }
 
     @Override
     public String getUsername() {
-        return user.getUsername();
+        return username;
     }
 
     @Override
@@ -75,14 +116,14 @@ public class CustomUserDetails implements UserDetails {
 
     @Override
     public boolean isEnabled() {
-        return user.getEnabled();
+        return enabled;
     }
 
     public UUID getId() {
-        return user.getId();
+        return id;
     }
 
     public String getEmail() {
-        return user.getEmail();
+        return email;
     }
 }
@@ -0,0 +1,169 @@
+package com.app.benevole.security;
+
+import com.app.benevole.model.Role;
+import com.app.benevole.model.User;
+import com.app.benevole.repository.RoleRepository;
+import com.app.benevole.repository.UserRepository;
+import com.app.benevole.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Tracks the grants version of each user. The version is stored on the user row,
+ * bumped whenever the user's effective roles or permissions change, and embedded in
+ * access tokens so a token minted before the change no longer carries trusted grants.
+ * <p>
+ * Versions read from the database stay cached until a change invalidates them, so the
+ * authentication path does not query the database in steady state. Every bump evicts the
+ * matching entries here and in {@link PrincipalCache}, again after its commit, and bumps the
+ * grants generation row in the same transaction. Each node polls that row every
+ * {@code application.security.grantsVersion.syncInterval} and drops its cached versions when it
+ * moved, which bounds how long a node other than the one making a change keeps accepting tokens
+ * minted before it. {@code expireAfter} is only a safety net behind the poll.
+ */
+@Service
+public class GrantsVersionService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(GrantsVersionService.class);
+
+    private final UserRepository userRepository;
+    private final RoleRepository roleRepository;
+    private final PrincipalCache principalCache;
+    private final RolePermissionResolver rolePermissionResolver;
+    private final int maxSize;
+    private final long expireAfter;
+    private final Map<UUID, long[]> versions;
+
+    /**
+     * Moves with every invalidation, guarded by {@code versions}. A version read from the
+     * database before an invalidation is not cached after it.
+     */
+    private long epoch;
+    private volatile long generation = -1;
+
+    public GrantsVersionService(UserRepository userRepository, RoleRepository roleRepository,
+                                PrincipalCache principalCache, RolePermissionResolver rolePermissionResolver,
+                                @Value("${application.security.grantsVersion.maxSize:10000}") int maxSize,
+                                @Value("${application.security.grantsVersion.expireAfter:600000}") long expireAfter) {
+        this.userRepository = userRepository;
+        this.roleRepository = roleRepository;
+        this.principalCache = principalCache;
+        this.rolePermissionResolver = rolePermissionResolver;
+        this.maxSize = maxSize;
+        this.expireAfter = expireAfter;
+        this.versions = new LinkedHashMap<UUID, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, long[]> eldest) {
+                return size() > GrantsVersionService.this.maxSize;
+            }
+        };
+    }
+
+    /**
+     * @return the current grants version of the user, or -1 when the user no longer exists
+     */
+    public long current(UUID userId) {
+        long now = System.currentTimeMillis();
+        long readEpoch;
+        synchronized (versions) {
+            long[] entry = versions.get(userId);
+            if (entry != null && entry[1] > now) {
+                return entry[0];
+            }
+            readEpoch = epoch;
+        }
+        long version = userRepository.findGrantsVersionById(userId).orElse(-1L);
+        synchronized (versions) {
+            if (readEpoch == epoch) {
+                versions.put(userId, new long[]{version, now + expireAfter});
+            }
+        }
+        return version;
+    }
+
+    /**
+     * Bump the version of a managed user, written with the entity's next flush.
+     */
+    public void bump(User user) {
+        user.setGrantsVersion(user.getGrantsVersion() + 1);
+        forgetEverywhere(user.getId());
+    }
+
+    /**
+     * Evict the user here and make every node re-read its version, for a deleted user.
+     */
+    public void forgetEverywhere(UUID userId) {
+        userRepository.incrementGrantsGeneration();
+        forget(userId);
+    }
+
+    /**
+     * Evict the user on this node only, for changes that leave its grants untouched.
+     */
+    public void forget(UUID userId) {
+        principalCache.evict(userId);
+        remove(userId);
+        TransactionHooks.afterCommit(() -> remove(userId));
+    }
+
+    /**
+     * Bump the users holding this role or any role inheriting from it.
+     */
+    public void bumpRole(Role role) {
+        for (Long roleId : rolePermissionResolver.descendantsOf(role.getId())) {
+            userRepository.incrementGrantsVersionByRole(roleRepository.getReferenceById(roleId));
+        }
+        forgetAll();
+    }
+
+    public void bumpAll() {
+        userRepository.incrementAllGrantsVersions();
+        forgetAll();
+    }
+
+    /**
+     * Drop every cached version once the grants generation moved, i.e. once another node, or
+     * this one, committed a grants change. Runs on every node, the cache being local to each.
+     */
+    @Scheduled(fixedDelayString = "${application.security.grantsVersion.syncInterval:2000}",
+            initialDelayString = "${application.security.grantsVersion.syncInterval:2000}")
+    public void sync() {
+        try {
+            long latest = userRepository.findGrantsGeneration();
+            if (latest != generation) {
+                clear();
+                generation = latest;
+            }
+        } catch (RuntimeException e) {
+            LOGGER.error("GrantsVersionService | sync | Cannot read the grants generation: {}", e.getMessage());
+        }
+    }
+
+    private void forgetAll() {
+        userRepository.incrementGrantsGeneration();
+        principalCache.clear();
+        clear();
+        TransactionHooks.afterCommit(this::clear);
+    }
+
+    private void remove(UUID userId) {
+        synchronized (versions) {
+            versions.remove(userId);
+            epoch++;
+        }
+    }
+
+    private void clear() {
+        synchronized (versions) {
+            versions.clear();
+            epoch++;
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.app.benevole.security;
+
+import com.app.benevole.model.Permission;
+import com.app.benevole.repository.PermissionRepository;
+import com.app.benevole.util.TransactionHooks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Interns permission names into dense bit positions, stored in {@link Permission#getBitPosition()}.
+ * Permissions without one get the next position past the highest when the index loads, in id order.
+ * A position never changes, so a bitmap encoded on one node decodes on any other. Deleting a
+ * permission bumps every grants version, so tokens carrying its position stop being trusted
+ * before the position can be handed out again.
+ * <p>
+ * Lookups of an unknown name or position reload the table at most once per
+ * {@link #MISS_REFRESH_INTERVAL} ms, to pick up permissions created on another node.
+ */
+@Component
+public class PermissionIndex {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PermissionIndex.class);
+
+    static final long MISS_REFRESH_INTERVAL = 10000;
+
+    private static final int ASSIGN_ATTEMPTS = 3;
+
+    private final PermissionRepository permissionRepository;
+    private final AtomicLong generation = new AtomicLong();
+
+    private volatile long lastRefresh;
+    private volatile Snapshot snapshot = new Snapshot(Collections.emptyMap(), new String[0]);
+
+    public PermissionIndex(PermissionRepository permissionRepository) {
+        this.permissionRepository = permissionRepository;
+    }
+
+    /**
+     * Loaded once the default permissions have been seeded.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        lastRefresh = System.currentTimeMillis();
+        List<Object[]> rows = permissionRepository.findAllBits();
+        if (rows.stream().anyMatch(row -> row[2] == null)) {
+            assignPositions(rows);
+            rows = permissionRepository.findAllBits();
+        }
+        int max = rows.stream().filter(row -> row[2] != null).mapToInt(row -> (Integer) row[2]).max().orElse(-1);
+        Map<String, Integer> ids = new HashMap<>();
+        String[] names = new String[max + 1];
+        for (Object[] row : rows) {
+            if (row[2] != null) {
+                ids.put((String) row[1], (Integer) row[2]);
+                names[(Integer) row[2]] = (String) row[1];
+            }
+        }
+        snapshot = new Snapshot(Collections.unmodifiableMap(ids), names);
+        generation.incrementAndGet();
+    }
+
+    /**
+     * @return a counter bumped by every reload, lets callers holding resolved ids notice they may be stale
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    public void refreshAfterCommit() {
+        TransactionHooks.afterCommit(this::refresh);
+    }
+
+    /**
+     * @return the bit position of this permission, or -1 when the name is unknown
+     */
+    public int idOf(String name) {
+        Integer id = snapshot.ids.get(name);
+        if (id == null && refreshOnMiss()) {
+            id = snapshot.ids.get(name);
+        }
+        return id == null ? -1 : id;
+    }
+
+    public BitSet encode(Collection<String> names) {
+        BitSet bits = new BitSet();
+        for (String name : names) {
+            int id = idOf(name);
+            if (id >= 0) {
+                bits.set(id);
+            }
+        }
+        return bits;
+    }
+
+    public List<String> decode(BitSet bits) {
+        List<String> names = new ArrayList<>(bits.cardinality());
+        for (int id = bits.nextSetBit(0); id >= 0; id = bits.nextSetBit(id + 1)) {
+            String name = nameOf(id);
+            if (name != null) {
+                names.add(name);
+            }
+        }
+        return names;
+    }
+
+    public String nameOf(int id) {
+        String[] names = snapshot.names;
+        if ((id >= names.length || names[id] == null) && refreshOnMiss()) {
+            names = snapshot.names;
+        }
+        return id < names.length ? names[id] : null;
+    }
+
+    /**
+     * Rows come in id order. A node assigning at the same time makes the unique constraint reject
+     * a position; the pass then starts over from the new maximum.
+     */
+    private void assignPositions(List<Object[]> rows) {
+        for (int attempt = 1; attempt <= ASSIGN_ATTEMPTS; attempt++) {
+            try {
+                int next = permissionRepository.findMaxBitPosition() + 1;
+                for (Object[] row : rows) {
+                    if (row[2] == null) {
+                        next += permissionRepository.assignBitPosition((Long) row[0], next);
+                    }
+                }
+                return;
+            } catch (DataIntegrityViolationException e) {
+                LOGGER.warn("PermissionIndex | assignPositions | attempt {} lost a race: {}", attempt, e.getMessage());
+                rows = permissionRepository.findAllBits();
+            }
+        }
+    }
+
+    private boolean refreshOnMiss() {
+        if (System.currentTimeMillis() - lastRefresh < MISS_REFRESH_INTERVAL) {
+            return false;
+        }
+        refresh();
+        return true;
+    }
+
+    private static final class Snapshot {
+        private final Map<String, Integer> ids;
+        private final String[] names;
+
+        private Snapshot(Map<String, Integer> ids, String[] names) {
+            this.ids = ids;
+            this.names = names;
+        }
+    }
+}
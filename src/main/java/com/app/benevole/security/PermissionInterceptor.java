@@ -0,0 +1,160 @@
+package com.app.benevole.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Enforces {@link RequiresPermission} and {@link RequiresRole} on controller methods.
+ * <p>
+ * Every annotated method is compiled at startup into the {@link PermissionIndex} ids it needs,
+ * so a request costs a map lookup and a few bit tests against the {@link CustomUserDetails}
+ * snapshot. Ids are recompiled when the index reloads, in case a permission was recreated.
+ */
+@Component
+public class PermissionInterceptor implements HandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PermissionInterceptor.class);
+
+    private static final Rule NONE = new Rule(new String[0], new String[0]);
+
+    private final ApplicationContext applicationContext;
+    private final PermissionIndex permissionIndex;
+
+    private final Map<Method, Rule> rules = new ConcurrentHashMap<>();
+
+    public PermissionInterceptor(ApplicationContext applicationContext, PermissionIndex permissionIndex) {
+        this.applicationContext = applicationContext;
+        this.permissionIndex = permissionIndex;
+    }
+
+    /**
+     * Compile the rules of every controller method.
+     * @throws IllegalStateException naming each permission missing from the {@code Permissions} table
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void compile() {
+        Set<String> unknown = new TreeSet<>();
+        for (Object controller : applicationContext.getBeansWithAnnotation(RestController.class).values()) {
+            for (Method method : ReflectionUtils.getUniqueDeclaredMethods(AopUtils.getTargetClass(controller))) {
+                Rule rule = rules.computeIfAbsent(method, this::rule);
+                for (int i = 0; i < rule.permissions.length; i++) {
+                    if (rule.permissionIds[i] < 0) {
+                        unknown.add(rule.permissions[i]);
+                    }
+                }
+            }
+        }
+        if (!unknown.isEmpty()) {
+            throw new IllegalStateException("Unknown permissions required by controllers: " + unknown);
+        }
+        LOGGER.info("PermissionInterceptor | compile | {} controller methods checked", rules.size());
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!(handler instanceof HandlerMethod)) {
+            return true;
+        }
+        Rule rule = rules.computeIfAbsent(((HandlerMethod) handler).getMethod(), this::rule);
+        if (rule == NONE) {
+            return true;
+        }
+        if (rule.generation != permissionIndex.generation()) {
+            rule.resolve(permissionIndex);
+        }
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof CustomUserDetails)) {
+            throw new AccessDeniedException("Access is denied");
+        }
+        CustomUserDetails principal = (CustomUserDetails) authentication.getPrincipal();
+        if (!rule.permits(principal)) {
+            throw new AccessDeniedException("Access is denied");
+        }
+        return true;
+    }
+
+    /**
+     * Method-level annotations replace class-level ones, as {@code @PreAuthorize} did.
+     */
+    private Rule rule(Method method) {
+        RequiresPermission permission = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+        RequiresRole role = AnnotatedElementUtils.findMergedAnnotation(method, RequiresRole.class);
+        if (permission == null && role == null) {
+            permission = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RequiresPermission.class);
+            role = AnnotatedElementUtils.findMergedAnnotation(method.getDeclaringClass(), RequiresRole.class);
+        }
+        if (permission == null && role == null) {
+            return NONE;
+        }
+        Rule rule = new Rule(permission == null ? new String[0] : permission.value(),
+                role == null ? new String[0] : role.value());
+        rule.resolve(permissionIndex);
+        return rule;
+    }
+
+    private static final class Rule {
+        private final String[] permissions;
+        private final String[] roles;
+        private volatile int[] permissionIds;
+        private volatile long generation;
+
+        private Rule(String[] permissions, String[] roles) {
+            this.permissions = permissions;
+            this.roles = roles;
+            this.permissionIds = new int[0];
+        }
+
+        /**
+         * The generation is read first, so a reload racing this one leaves the rule behind
+         * and it resolves again on the next call.
+         */
+        private void resolve(PermissionIndex permissionIndex) {
+            long current = permissionIndex.generation();
+            int[] ids = new int[permissions.length];
+            for (int i = 0; i < permissions.length; i++) {
+                ids[i] = permissionIndex.idOf(permissions[i]);
+            }
+            permissionIds = ids;
+            generation = current;
+        }
+
+        private boolean permits(CustomUserDetails principal) {
+            for (int id : permissionIds) {
+                if (!principal.hasPermission(id)) {
+                    return false;
+                }
+            }
+            if (roles.length == 0) {
+                return true;
+            }
+            for (GrantedAuthority authority : principal.getRoles()) {
+                for (String role : roles) {
+                    if (role.equals(authority.getAuthority())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
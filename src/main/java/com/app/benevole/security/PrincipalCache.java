@@ -0,0 +1,134 @@
+package com.app.benevole.security;
+
+import com.app.benevole.util.TransactionHooks;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
+
+/**
+ * Bounded LRU of {@link CustomUserDetails} snapshots keyed by user id.
+ * <p>
+ * Lets requests authenticated by the JWT filter resolve their principal without
+ * hitting the database. Entries expire after {@code application.security.principalCache.expireAfter};
+ * {@link UserDetailsServiceImpl} also drops a hit whose grants version is no longer current,
+ * so a node that missed an invalidation converges within {@link GrantsVersionService}'s bound.
+ */
+@Component
+public class PrincipalCache {
+
+    private final int maxSize;
+    private final long expireAfter;
+    private final Map<UUID, Entry> entries;
+
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+
+    public PrincipalCache(@Value("${application.security.principalCache.maxSize:10000}") int maxSize,
+                          @Value("${application.security.principalCache.expireAfter:300000}") long expireAfter,
+                          MeterRegistry registry) {
+        this.maxSize = maxSize;
+        this.expireAfter = expireAfter;
+        this.entries = new LinkedHashMap<UUID, Entry>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, Entry> eldest) {
+                if (size() > PrincipalCache.this.maxSize) {
+                    evictions.increment();
+                    return true;
+                }
+                return false;
+            }
+        };
+        this.hits = Counter.builder("security.principal.cache").tag("result", "hit")
+                .description("Principal lookups served from memory").register(registry);
+        this.misses = Counter.builder("security.principal.cache").tag("result", "miss")
+                .description("Principal lookups loaded from the database").register(registry);
+        this.evictions = Counter.builder("security.principal.cache.evictions")
+                .description("Principals dropped because the cache was full").register(registry);
+        Gauge.builder("security.principal.cache.size", this, PrincipalCache::size).register(registry);
+    }
+
+    /**
+     * Return the cached snapshot for this user, or build it with {@code loader} on a miss.
+     * The loader runs outside the lock so a slow database never blocks cache hits.
+     * <p>
+     * A miss first parks a placeholder under the user id, and the loaded snapshot is only stored
+     * if that placeholder is still there. An {@link #evict} or {@link #clear} during the load drops
+     * it, so a load that read the grants before an after-commit eviction cannot cache them again.
+     */
+    public CustomUserDetails get(UUID userId, Function<UUID, CustomUserDetails> loader) {
+        long now = System.currentTimeMillis();
+        Entry pending = new Entry(null, 0);
+        synchronized (entries) {
+            Entry entry = entries.get(userId);
+            if (entry != null && entry.principal != null && entry.expiresAt > now) {
+                hits.increment();
+                return entry.principal;
+            }
+            entries.put(userId, pending);
+        }
+        misses.increment();
+        CustomUserDetails principal = loader.apply(userId);
+        synchronized (entries) {
+            if (entries.get(userId) == pending) {
+                entries.put(userId, new Entry(principal, now + expireAfter));
+            }
+        }
+        return principal;
+    }
+
+    /**
+     * Drop the snapshot of one user. When called inside a transaction the entry is
+     * dropped again after commit, so a request racing the write cannot re-cache stale grants.
+     */
+    public void evict(UUID userId) {
+        remove(userId);
+        TransactionHooks.afterCommit(() -> remove(userId));
+    }
+
+    /**
+     * Drop every snapshot, used when a role or permission shared by many users changes.
+     */
+    public void clear() {
+        removeAll();
+        TransactionHooks.afterCommit(this::removeAll);
+    }
+
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    private void remove(UUID userId) {
+        synchronized (entries) {
+            entries.remove(userId);
+        }
+    }
+
+    private void removeAll() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    private static final class Entry {
+        /**
+         * Null while a load is in flight, see {@link #get}.
+         */
+        private final CustomUserDetails principal;
+        private final long expiresAt;
+
+        private Entry(CustomUserDetails principal, long expiresAt) {
+            this.principal = principal;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.app.benevole.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Permissions the authenticated user must all hold to call a controller method.
+ * Names are resolved to {@link PermissionIndex} ids once at startup by {@link PermissionInterceptor},
+ * which refuses to start when a name is not in the {@code Permissions} table.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    String[] value();
+}
@@ -0,0 +1,15 @@
+package com.app.benevole.security;
+
+import java.lang.annotation.*;
+
+/**
+ * Roles of which the authenticated user must hold at least one.
+ * As with {@code @PreAuthorize}, a method-level check replaces the class-level one.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresRole {
+
+    String[] value();
+}
@@ -0,0 +1,199 @@
+package com.app.benevole.security;
+
+import com.app.benevole.model.Role;
+import com.app.benevole.repository.RoleRepository;
+import com.app.benevole.util.TransactionHooks;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Effective permissions of every role: its own permissions plus everything inherited
+ * through {@link Role#getParents()}, as a bitmap keyed by {@link PermissionIndex}.
+ * <p>
+ * The transitive closure is computed from two projection queries and kept in memory.
+ * A change to one role reloads that role only and recomputes it and its descendants.
+ * <p>
+ * Every change also bumps the role graph version in its transaction. {@link #resolve} reads
+ * that single row and reloads the whole graph only when it moved past the cached one, so a
+ * principal built here never mixes a grants version bumped on another node with the role
+ * graph from before that change. Concurrent calls share one reload.
+ */
+@Component
+public class RolePermissionResolver {
+
+    private final RoleRepository roleRepository;
+
+    private volatile Graph graph = new Graph(-1, Collections.emptyMap(), Collections.emptyMap(), Collections.emptyMap());
+
+    public RolePermissionResolver(RoleRepository roleRepository) {
+        this.roleRepository = roleRepository;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void refresh() {
+        // read first: a change committed during the load leaves the graph behind the row, not ahead
+        long version = roleRepository.findGraphVersion();
+        Map<Long, BitSet> direct = new HashMap<>();
+        Map<Long, Set<Long>> parents = new HashMap<>();
+        for (Long id : roleRepository.findAllIds()) {
+            direct.put(id, new BitSet());
+            parents.put(id, new HashSet<>());
+        }
+        for (Object[] row : roleRepository.findAllPermissionBits()) {
+            direct.computeIfAbsent((Long) row[0], id -> new BitSet()).set((Integer) row[1]);
+        }
+        for (Object[] row : roleRepository.findAllParentIds()) {
+            parents.computeIfAbsent((Long) row[0], id -> new HashSet<>()).add((Long) row[1]);
+        }
+        Map<Long, BitSet> effective = new HashMap<>();
+        for (Long id : direct.keySet()) {
+            closure(id, direct, parents, effective, new HashSet<>());
+        }
+        graph = new Graph(version, direct, parents, effective);
+    }
+
+    /**
+     * Bump the role graph version in the current transaction and reload the whole graph once it
+     * commits.
+     */
+    public void refreshAfterCommit() {
+        roleRepository.incrementGraphVersion();
+        TransactionHooks.afterCommit(this::refresh);
+    }
+
+    /**
+     * Bump the role graph version in the current transaction. Once it commits, reload the
+     * permissions and parents of this role, then recompute it and the roles inheriting from it.
+     * Registered before the grants version bump so principals rebuilt after the bump see the
+     * new closure.
+     */
+    public void refreshRoleAfterCommit(Long roleId) {
+        roleRepository.incrementGraphVersion();
+        TransactionHooks.afterCommit(() -> refreshRole(roleId));
+    }
+
+    private synchronized void refreshRole(Long roleId) {
+        Graph current = graph;
+        long version = roleRepository.findGraphVersion();
+        if (version != current.version + 1) {
+            // other changes were committed since the load, here or on another node
+            refresh();
+            return;
+        }
+        Map<Long, BitSet> direct = new HashMap<>(current.direct);
+        Map<Long, Set<Long>> parents = new HashMap<>(current.parents);
+        BitSet bits = new BitSet();
+        roleRepository.findPermissionBitsById(roleId).forEach(bits::set);
+        direct.put(roleId, bits);
+        parents.put(roleId, new HashSet<>(roleRepository.findParentIdsById(roleId)));
+        Map<Long, BitSet> effective = new HashMap<>(current.effective);
+        Set<Long> affected = descendantsOf(roleId, parents);
+        effective.keySet().removeAll(affected);
+        for (Long id : affected) {
+            closure(id, direct, parents, effective, new HashSet<>());
+        }
+        graph = new Graph(version, direct, parents, effective);
+    }
+
+    /**
+     * @return the union of the effective permissions of these roles, a fresh bitmap the caller may modify
+     */
+    public BitSet resolve(Collection<Role> roles) {
+        Graph current = graph;
+        long version = roleRepository.findGraphVersion();
+        if (version > current.version) {
+            current = reload(version);
+        }
+        BitSet bits = new BitSet();
+        for (Role role : roles) {
+            if (role == null) {
+                continue;
+            }
+            BitSet effective = current.effective.get(role.getId());
+            if (effective != null) {
+                bits.or(effective);
+            }
+        }
+        return bits;
+    }
+
+    /**
+     * @return this role and every role inheriting from it, directly or not
+     */
+    public Set<Long> descendantsOf(Long roleId) {
+        return descendantsOf(roleId, graph.parents);
+    }
+
+    /**
+     * @return true when {@code roleId} is {@code ancestorId} or inherits from it
+     */
+    public boolean inherits(Long roleId, Long ancestorId) {
+        return descendantsOf(ancestorId).contains(roleId);
+    }
+
+    private synchronized Graph reload(long version) {
+        if (graph.version < version) {
+            refresh();
+        }
+        return graph;
+    }
+
+    private static Set<Long> descendantsOf(Long roleId, Map<Long, Set<Long>> parents) {
+        Set<Long> descendants = new HashSet<>();
+        Deque<Long> pending = new ArrayDeque<>();
+        descendants.add(roleId);
+        pending.add(roleId);
+        while (!pending.isEmpty()) {
+            Long ancestor = pending.poll();
+            parents.forEach((child, childParents) -> {
+                if (childParents.contains(ancestor) && descendants.add(child)) {
+                    pending.add(child);
+                }
+            });
+        }
+        return descendants;
+    }
+
+    /**
+     * Depth-first closure with memoisation; a cycle left in the data contributes nothing twice.
+     */
+    private static BitSet closure(Long roleId, Map<Long, BitSet> direct, Map<Long, Set<Long>> parents,
+                                  Map<Long, BitSet> effective, Set<Long> visiting) {
+        BitSet known = effective.get(roleId);
+        if (known != null) {
+            return known;
+        }
+        BitSet bits = new BitSet();
+        if (!visiting.add(roleId)) {
+            return bits;
+        }
+        BitSet own = direct.get(roleId);
+        if (own != null) {
+            bits.or(own);
+        }
+        for (Long parent : parents.getOrDefault(roleId, Collections.emptySet())) {
+            bits.or(closure(parent, direct, parents, effective, visiting));
+        }
+        visiting.remove(roleId);
+        effective.put(roleId, bits);
+        return bits;
+    }
+
+    private static final class Graph {
+        private final long version;
+        private final Map<Long, BitSet> direct;
+        private final Map<Long, Set<Long>> parents;
+        private final Map<Long, BitSet> effective;
+
+        private Graph(long version, Map<Long, BitSet> direct, Map<Long, Set<Long>> parents,
+                      Map<Long, BitSet> effective) {
+            this.version = version;
+            this.direct = direct;
+            this.parents = parents;
+            this.effective = effective;
+        }
+    }
+}
@@ -1,38 +1,83 @@
 package com.app.benevole.security;
 
+import com.app.benevole.model.Permission;
 import com.app.benevole.model.User;
 import com.app.benevole.service.UserService;
 import com.app.benevole.util.NotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsPasswordService;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.util.BitSet;
+import java.util.Objects;
 import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
-public class UserDetailsServiceImpl implements UserDetailsService {
+public class UserDetailsServiceImpl implements UserDetailsService, UserDetailsPasswordService {
 
     @Autowired
     private UserService userService;
+    @Autowired
+    private PrincipalCache principalCache;
+    @Autowired
+    private RolePermissionResolver rolePermissionResolver;
+    @Autowired
+    private PermissionIndex permissionIndex;
+    @Autowired
+    private GrantsVersionService grantsVersionService;
+
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
         User user = userService.findByEmail(email)
                 .orElseThrow(() -> new NotFoundException(
                         String.format("User with email: << %s >> not found!", email)));
-        return new CustomUserDetails(user);
+        return principalOf(user);
     }
 
     /**
-     * User Details not used yet
+     * Resolve the principal of an authenticated request, served from {@link PrincipalCache}
+     * once the user has been loaded. A cached snapshot older than the user's grants version,
+     * bumped on another node, is rebuilt.
      * @param userId
      * @return the authenticated user
      */
     public UserDetails loadUserByUserId(String userId) {
-        User user = userService.findById(UUID.fromString(userId));
-        return new CustomUserDetails(user);
+        UUID id = UUID.fromString(userId);
+        CustomUserDetails principal = principalCache.get(id, this::loadPrincipal);
+        if (principal.getGrantsVersion() != grantsVersionService.current(id)) {
+            principalCache.evict(id);
+            principal = principalCache.get(id, this::loadPrincipal);
+        }
+        return principal;
+    }
+
+    /**
+     * Called by the authentication provider after a successful login when
+     * {@link BoundedPasswordEncoder#upgradeEncoding(String)} asks for a rehash.
+     */
+    @Override
+    public UserDetails updatePassword(UserDetails user, String newPassword) {
+        return principalOf(userService.updatePassword(((CustomUserDetails) user).getEmail(), newPassword));
+    }
+
+    private CustomUserDetails loadPrincipal(UUID userId) {
+        return principalOf(userService.findPrincipalById(userId));
+    }
+
+    /**
+     * Effective permissions come from {@link RolePermissionResolver}, so only the user's
+     * role ids and direct permissions are read from the entity.
+     */
+    private CustomUserDetails principalOf(User user) {
+        BitSet bits = rolePermissionResolver.resolve(user.getRoles());
+        user.getPermissions().stream().filter(Objects::nonNull)
+                .map(Permission::getBitPosition).filter(Objects::nonNull)
+                .forEach(bits::set);
+        return new CustomUserDetails(user, bits, permissionIndex.decode(bits));
     }
 }
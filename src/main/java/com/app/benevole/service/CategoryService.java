@@ -1,49 +1,69 @@
 package com.app.benevole.service;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Category;
 import com.app.benevole.repository.CategoryRepository;
 import com.app.benevole.request.CategoryRequest;
 import com.app.benevole.response.CategoryResponse;
 import com.app.benevole.util.NotFoundException;
+import com.app.benevole.util.SoftDeletes;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
 
 
 @Service
 public class CategoryService {
 
     private final CategoryRepository categoryRepository;
+    private final EntityManager entityManager;
 
-    public CategoryService(CategoryRepository categoryRepository) {
+    public CategoryService(CategoryRepository categoryRepository, EntityManager entityManager) {
         this.categoryRepository = categoryRepository;
+        this.entityManager = entityManager;
     }
 
-    public List<CategoryResponse> findAll(int page, int size) {
-        return categoryRepository.findAll(
-                PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"))
-        ).stream().map(CategoryResponse::new).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> findAll(int page, int size, Cursor cursor) {
+        if (cursor != null) {
+            return categoryRepository.findProjectedAfter(cursor.longId(), PageRequest.of(0, size));
+        }
+        return categoryRepository.findAllProjectedBy(PageRequest.of(page, size));
     }
 
-    public List<CategoryResponse> findAllDeleted(int page, int size) {
-        return categoryRepository
-                .findByDeletedNotNull(
-                        PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"))
-                ).stream()
-                .map(CategoryResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<CategoryResponse> findAllDeleted(int page, int size, Cursor cursor) {
+        // the trash listing is made of the rows the request filter hides
+        SoftDeletes.include(entityManager);
+        if (cursor != null) {
+            return categoryRepository.findDeletedProjectedAfter(cursor.longId(), PageRequest.of(0, size));
+        }
+        return categoryRepository.findDeletedProjectedBy(PageRequest.of(page, size));
     }
 
     public CategoryResponse get(final Long id) {
         return categoryRepository.findById(id)
-                .map(CategoryResponse::new)
+                .map(this::toResponse)
                 .orElseThrow(NotFoundException::new);
     }
 
+    /**
+     * Team and store counts come from one query, the collections are never initialized.
+     */
+    public CategoryResponse toResponse(Category category) {
+        List<Object[]> rows = categoryRepository.countTeamsAndStoresByIdIn(Collections.singleton(category.getId()));
+        if (rows.isEmpty()) {
+            return new CategoryResponse(category, 0, 0);
+        }
+        return new CategoryResponse(category, ((Number) rows.get(0)[1]).intValue(), ((Number) rows.get(0)[2]).intValue());
+    }
+
     public Category create(Category category) {
         return categoryRepository.save(category);
     }
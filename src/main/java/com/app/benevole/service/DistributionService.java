@@ -2,9 +2,13 @@ package com.app.benevole.service;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.app.benevole.enums.Status;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Distribution;
 import com.app.benevole.model.Team;
 import com.app.benevole.repository.DistributionRepository;
@@ -15,6 +19,7 @@ import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -29,27 +34,60 @@ public class DistributionService {
         this.teamRepository = teamRepository;
     }
 
-    public List<DistributionResponse> findAllByStatus(int page, int size, Status status) {
+    @Transactional(readOnly = true)
+    public List<DistributionResponse> findAllByStatus(int page, int size, Cursor cursor, Status status, Expand expand) {
+        if (cursor != null) {
+            return expand(distributionRepository.findProjectedByStatusAfter(status, cursor.longId(),
+                    PageRequest.of(0, size)), expand);
+        }
+        if (expand.isEmpty()) {
+            return distributionRepository.findProjectedByStatus(status, PageRequest.of(page, size));
+        }
         final List<Distribution> distributions = distributionRepository.findByStatus(status,
                 PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"))
         );
         return distributions.stream()
-                .map(DistributionResponse::new)
+                .map(distribution -> new DistributionResponse(distribution, expand))
                 .collect(Collectors.toList());
     }
 
-    public List<DistributionResponse> findAll(int page, int size) {
+    @Transactional(readOnly = true)
+    public List<DistributionResponse> findAll(int page, int size, Cursor cursor, Expand expand) {
+        if (cursor != null) {
+            return expand(distributionRepository.findProjectedAfter(cursor.longId(), PageRequest.of(0, size)), expand);
+        }
+        if (expand.isEmpty()) {
+            return distributionRepository.findAllProjectedBy(PageRequest.of(page, size));
+        }
         final List<Distribution> distributions = distributionRepository.findAll(
                 PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"))
         ).getContent();
         return distributions.stream()
-                .map(DistributionResponse::new)
+                .map(distribution -> new DistributionResponse(distribution, expand))
                 .collect(Collectors.toList());
     }
 
-    public DistributionResponse get(final Long id) {
+    /**
+     * A keyset page is always read as a projection; expanded associations are then loaded
+     * for that page only, in one query, and the page order is kept.
+     */
+    private List<DistributionResponse> expand(List<DistributionResponse> page, Expand expand) {
+        if (expand.isEmpty() || page.isEmpty()) {
+            return page;
+        }
+        Map<Long, Distribution> distributions = distributionRepository
+                .findByIdIn(page.stream().map(DistributionResponse::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Distribution::getId, Function.identity()));
+        return page.stream()
+                .filter(response -> distributions.containsKey(response.getId()))
+                .map(response -> new DistributionResponse(distributions.get(response.getId()), expand))
+                .collect(Collectors.toList());
+    }
+
+    public DistributionResponse get(final Long id, Expand expand) {
         return distributionRepository.findById(id)
-                .map(DistributionResponse::new)
+                .map(distribution -> new DistributionResponse(distribution, expand))
                 .orElseThrow(NotFoundException::new);
     }
 
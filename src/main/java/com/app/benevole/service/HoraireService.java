@@ -1,10 +1,14 @@
 package com.app.benevole.service;
 
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.stream.Collectors;
 
 import com.app.benevole.enums.TeamType;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Horaire;
 import com.app.benevole.repository.HoraireRepository;
 import com.app.benevole.repository.UserRepository;
@@ -12,10 +16,8 @@ import com.app.benevole.request.HoraireRequest;
 import com.app.benevole.response.HoraireResponse;
 import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -30,34 +32,61 @@ public class HoraireService {
         this.userRepository = userRepository;
     }
 
-    public List<HoraireResponse> findAll(int page, int size) {
-        final List<Horaire> hourlies = horaireRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id"))).getContent();
-        return hourlies.stream()
-                .map(HoraireResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<HoraireResponse> findAll(int page, int size, Cursor cursor) {
+        if (cursor != null) {
+            return horaireRepository.findProjectedAfter(cursor.longId(), PageRequest.of(0, size));
+        }
+        return horaireRepository.findAllProjectedBy(PageRequest.of(page, size));
     }
 
     public Horaire findByStartDateAndEndDate(LocalDateTime start, LocalDateTime end) {
         return horaireRepository.findDistinctByStartDateAndEndDate(start, end);
     }
 
-    public List<HoraireResponse> findAllByType(int page, int size, TeamType type) {
-        final List<Horaire> hourlies = horaireRepository.findByType(type, PageRequest.of(page, size, Sort.by(Sort.Direction.ASC, "id")));
-        return hourlies.stream()
-                .map(HoraireResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<HoraireResponse> findAllByType(int page, int size, Cursor cursor, TeamType type) {
+        if (cursor != null) {
+            return horaireRepository.findProjectedByTypeAfter(type, cursor.longId(), PageRequest.of(0, size));
+        }
+        return horaireRepository.findProjectedByType(type, PageRequest.of(page, size));
     }
 
     public HoraireResponse get(final Long id) {
         return horaireRepository.findById(id)
-                .map(HoraireResponse::new)
+                .map(this::toResponse)
                 .orElseThrow(NotFoundException::new);
     }
 
+    public HoraireResponse toResponse(Horaire horaire) {
+        return toResponses(Collections.singletonList(horaire)).get(0);
+    }
+
+    /**
+     * One grouped count for the whole list, {@code Horaire.users} is never initialized.
+     */
+    public List<HoraireResponse> toResponses(List<Horaire> hourlies) {
+        if (hourlies.isEmpty()) {
+            return Collections.emptyList();
+        }
+        Map<Long, Integer> totals = new HashMap<>();
+        for (Object[] row : horaireRepository.countUsersByIdIn(
+                hourlies.stream().map(Horaire::getId).collect(Collectors.toSet()))) {
+            totals.put((Long) row[0], ((Long) row[1]).intValue());
+        }
+        return hourlies.stream()
+                .map(horaire -> new HoraireResponse(horaire, totals.getOrDefault(horaire.getId(), 0)))
+                .collect(Collectors.toList());
+    }
+
     public List<Horaire> all(boolean state) {
         return horaireRepository.findByState(state);
     }
 
+    public int disableEnded() {
+        return horaireRepository.disableEndedBefore(LocalDateTime.now());
+    }
+
     public List<Horaire> availableAfterDayAndType(Double days, String type) {
         return horaireRepository.findByDaysAndType(days, type);
     }
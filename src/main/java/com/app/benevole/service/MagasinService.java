@@ -2,22 +2,21 @@ package com.app.benevole.service;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Category;
 import com.app.benevole.model.Magasin;
 import com.app.benevole.repository.CategoryRepository;
 import com.app.benevole.repository.MagasinRepository;
 import com.app.benevole.repository.RecuperationRepository;
+import com.app.benevole.repository.TeamRepository;
 import com.app.benevole.request.MagasinRequest;
 import com.app.benevole.response.MagasinResponse;
 import com.app.benevole.util.NotFoundException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -27,29 +26,46 @@ public class MagasinService {
     private final MagasinRepository magasinRepository;
     private final CategoryRepository categoryRepository;
     private final RecuperationRepository recuperationRepository;
+    private final TeamRepository teamRepository;
 
-    public MagasinService(MagasinRepository magasinRepository, CategoryRepository categoryRepository, RecuperationRepository recuperationRepository) {
+    public MagasinService(MagasinRepository magasinRepository, CategoryRepository categoryRepository, RecuperationRepository recuperationRepository,
+                          TeamRepository teamRepository) {
         this.magasinRepository = magasinRepository;
         this.categoryRepository = categoryRepository;
         this.recuperationRepository = recuperationRepository;
+        this.teamRepository = teamRepository;
     }
 
-    public List<MagasinResponse> findAll(int page, int size) {
-        final List<Magasin> magasins = magasinRepository.findAll(
-                PageRequest.of(page, size, Sort.by("name"))
-        ).getContent();
-        return magasins.stream()
-                .map(MagasinResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<MagasinResponse> findAll(int page, int size, Cursor cursor) {
+        if (cursor != null) {
+            return magasinRepository.findProjectedAfter(cursor.key(), cursor.longId(), PageRequest.of(0, size));
+        }
+        return magasinRepository.findAllProjectedBy(PageRequest.of(page, size));
     }
 
-    public List<MagasinResponse> findAllByCategory(int page, int size, Category category) {
-        final List<Magasin> magasins = magasinRepository.findByCategory(category,
-                PageRequest.of(page, size, Sort.by("name"))
-        );
-        return magasins.stream()
-                .map(MagasinResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<MagasinResponse> findAllByCategory(int page, int size, Cursor cursor, Category category) {
+        if (cursor != null) {
+            return magasinRepository.findProjectedByCategoryAfter(category, cursor.key(), cursor.longId(),
+                    PageRequest.of(0, size));
+        }
+        return magasinRepository.findProjectedByCategory(category, PageRequest.of(page, size));
+    }
+
+    /**
+     * Stores a team of this category can still be sent to over its dates, one query per page.
+     */
+    @Transactional(readOnly = true)
+    public List<MagasinResponse> findAvailableForTeam(Long team, int page, int size, Cursor cursor) {
+        if (!teamRepository.existsById(team)) {
+            throw new NotFoundException(String.format("Team with ID: %s not found on this system!", team));
+        }
+        if (cursor != null) {
+            return magasinRepository.findAvailableForTeamAfter(team, cursor.key(), cursor.longId(),
+                    PageRequest.of(0, size));
+        }
+        return magasinRepository.findAvailableForTeam(team, PageRequest.of(page, size));
     }
 
     public MagasinResponse get(final Long id) {
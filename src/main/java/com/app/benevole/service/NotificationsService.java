@@ -1,8 +1,8 @@
 package com.app.benevole.service;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Notifications;
 import com.app.benevole.model.User;
 import com.app.benevole.repository.NotificationsRepository;
@@ -12,8 +12,8 @@ import com.app.benevole.response.NotificationsResponse;
 
 import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -27,22 +27,20 @@ public class NotificationsService {
         this.userRepository = userRepository;
     }
 
-    public List<NotificationsResponse> findAll(int page, int size) {
-        final List<Notifications> notifications = notificationsRepository.findAll(
-                PageRequest.of(page, size, Sort.by(Sort.Order.asc("id")))
-        ).getContent();
-        return notifications.stream()
-                .map(NotificationsResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<NotificationsResponse> findAll(int page, int size, Cursor cursor) {
+        if (cursor != null) {
+            return notificationsRepository.findProjectedAfter(cursor.longId(), PageRequest.of(0, size));
+        }
+        return notificationsRepository.findAllProjectedBy(PageRequest.of(page, size));
     }
 
-    public List<NotificationsResponse> findAllByUser(int page, int size, User u) {
-        final List<Notifications> notifications = notificationsRepository.findByUser(u,
-                PageRequest.of(page, size, Sort.by(Sort.Order.asc("id")))
-        );
-        return notifications.stream()
-                .map(NotificationsResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<NotificationsResponse> findAllByUser(int page, int size, Cursor cursor, User u) {
+        if (cursor != null) {
+            return notificationsRepository.findProjectedByUserAfter(u, cursor.longId(), PageRequest.of(0, size));
+        }
+        return notificationsRepository.findProjectedByUser(u, PageRequest.of(page, size));
     }
 
     public NotificationsResponse get(final Long id) {
@@ -1,5 +1,6 @@
 package com.app.benevole.service;
 
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.PermissionParent;
 import com.app.benevole.repository.PermissionParentRepository;
@@ -8,12 +9,10 @@ import com.app.benevole.request.PermissionParentRequest;
 import com.app.benevole.response.PermissionParentResponse;
 import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Service
 @Transactional
@@ -25,9 +24,12 @@ public class PermissionParentService {
         this.repository = repository;
     }
 
-    public List<PermissionParentResponse> getAllPermissionParent(int page, int size) {
-        List<PermissionParent> parentList = repository.findAll(PageRequest.of(page, size, Sort.by(Sort.Order.asc("name")))).getContent();
-        return parentList.stream().map(PermissionParentResponse::new).collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PermissionParentResponse> getAllPermissionParent(int page, int size, Cursor cursor) {
+        if (cursor != null) {
+            return repository.findProjectedAfter(cursor.key(), cursor.longId(), PageRequest.of(0, size));
+        }
+        return repository.findAllProjectedBy(PageRequest.of(page, size));
     }
 
     public PermissionParentResponse get(Long id) {
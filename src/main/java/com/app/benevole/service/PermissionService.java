@@ -1,20 +1,25 @@
 package com.app.benevole.service;
 
+import java.util.Collection;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.PermissionParent;
+import com.app.benevole.model.User;
 import com.app.benevole.repository.PermissionRepository;
 import com.app.benevole.repository.RoleRepository;
+import com.app.benevole.repository.UserRepository;
 import com.app.benevole.request.PermissionRequest;
 import com.app.benevole.response.PermissionResponse;
+import com.app.benevole.security.GrantsVersionService;
+import com.app.benevole.security.PermissionIndex;
+import com.app.benevole.security.RolePermissionResolver;
 import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -23,28 +28,37 @@ public class PermissionService {
 
     private final PermissionRepository permissionRepository;
     private final RoleRepository roleRepository;
+    private final UserRepository userRepository;
+    private final GrantsVersionService grantsVersionService;
+    private final PermissionIndex permissionIndex;
+    private final RolePermissionResolver rolePermissionResolver;
 
-    public PermissionService(PermissionRepository permissionRepository, RoleRepository roleRepository) {
+    public PermissionService(PermissionRepository permissionRepository, RoleRepository roleRepository,
+                             UserRepository userRepository, GrantsVersionService grantsVersionService,
+                             PermissionIndex permissionIndex, RolePermissionResolver rolePermissionResolver) {
         this.permissionRepository = permissionRepository;
         this.roleRepository = roleRepository;
+        this.userRepository = userRepository;
+        this.grantsVersionService = grantsVersionService;
+        this.permissionIndex = permissionIndex;
+        this.rolePermissionResolver = rolePermissionResolver;
     }
 
-    public List<PermissionResponse> findAll(int page, int size) {
-        final List<Permission> permissions = permissionRepository.findAll(
-                PageRequest.of(page, size, Sort.by(Sort.Order.asc("name")))
-        ).getContent();
-        return permissions.stream()
-                .map(PermissionResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PermissionResponse> findAll(int page, int size, Cursor cursor) {
+        if (cursor != null) {
+            return permissionRepository.findProjectedAfter(cursor.key(), cursor.longId(), PageRequest.of(0, size));
+        }
+        return permissionRepository.findAllProjectedBy(PageRequest.of(page, size));
     }
 
-    public List<PermissionResponse> findAllByParent(int page, int size, PermissionParent parent) {
-        final List<Permission> permissions = permissionRepository.findByParent(parent,
-                PageRequest.of(page, size, Sort.by(Sort.Order.asc("name")))
-        );
-        return permissions.stream()
-                .map(PermissionResponse::new)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public List<PermissionResponse> findAllByParent(int page, int size, Cursor cursor, PermissionParent parent) {
+        if (cursor != null) {
+            return permissionRepository.findProjectedByParentAfter(parent, cursor.key(), cursor.longId(),
+                    PageRequest.of(0, size));
+        }
+        return permissionRepository.findProjectedByParent(parent, PageRequest.of(page, size));
     }
 
     public PermissionResponse get(final Long id) {
@@ -58,6 +72,7 @@ public class PermissionService {
                 .name(request.getName())
                 .parent(parent)
                 .build();
+        permissionIndex.refreshAfterCommit();
         return permissionRepository.save(permission);
     }
 
@@ -68,6 +83,8 @@ public class PermissionService {
                 .name(request.getName())
                 .parent(parent)
                 .build();
+        grantsVersionService.bumpAll();
+        permissionIndex.refreshAfterCommit();
         return permissionRepository.saveAndFlush(permission);
     }
 
@@ -78,6 +95,30 @@ public class PermissionService {
         roleRepository.findAllByPermissions(permission)
                 .forEach(role -> role.getPermissions().remove(permission));
         permissionRepository.delete(permission);
+        rolePermissionResolver.refreshAfterCommit();
+        grantsVersionService.bumpAll();
+        permissionIndex.refreshAfterCommit();
+    }
+
+    public void addToUser(UUID userId, Collection<Long> perms) {
+        User user = findUser(userId);
+        user.getPermissions().addAll(permissionRepository.findAllById(perms));
+        grantsVersionService.bump(user);
+        userRepository.saveAndFlush(user);
+    }
+
+    public void removeFromUser(UUID userId, Collection<Long> perms) {
+        User user = findUser(userId);
+        permissionRepository.findAllById(perms).forEach(user.getPermissions()::remove);
+        grantsVersionService.bump(user);
+        userRepository.saveAndFlush(user);
+    }
+
+    private User findUser(UUID userId) {
+        return userRepository.findById(userId)
+                .orElseThrow(
+                        () -> new NotFoundException(String.format("User with ID: %s not found in this system.", userId))
+                );
     }
 
 }
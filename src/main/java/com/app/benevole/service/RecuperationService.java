@@ -3,9 +3,13 @@ package com.app.benevole.service;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.app.benevole.enums.Status;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.Magasin;
 import com.app.benevole.model.Recuperation;
 import com.app.benevole.model.Team;
@@ -18,8 +22,7 @@ import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -36,26 +39,59 @@ public class RecuperationService {
         this.teamRepository = teamRepository;
     }
 
-    public List<RecuperationResponse> findAll(int page, int size) {
+    @Transactional(readOnly = true)
+    public List<RecuperationResponse> findAll(int page, int size, Cursor cursor, Expand expand) {
+        if (cursor != null) {
+            return expand(recuperationRepository.findProjectedAfter(cursor.longId(), PageRequest.of(0, size)), expand);
+        }
+        if (expand.isEmpty()) {
+            return recuperationRepository.findAllProjectedBy(PageRequest.of(page, size));
+        }
         final List<Recuperation> recuperations = recuperationRepository
                 .findAll(PageRequest.of(page, size, Sort.by(Sort.Order.asc("id"))))
                 .getContent();
         return recuperations.stream()
-                .map(RecuperationResponse::new)
+                .map(recuperation -> new RecuperationResponse(recuperation, expand))
                 .collect(Collectors.toList());
     }
 
-    public List<RecuperationResponse> findAllByStatus(int page, int size, Status status) {
+    @Transactional(readOnly = true)
+    public List<RecuperationResponse> findAllByStatus(int page, int size, Cursor cursor, Status status, Expand expand) {
+        if (cursor != null) {
+            return expand(recuperationRepository.findProjectedByStatusAfter(status, cursor.longId(),
+                    PageRequest.of(0, size)), expand);
+        }
+        if (expand.isEmpty()) {
+            return recuperationRepository.findProjectedByStatus(status, PageRequest.of(page, size));
+        }
         final List<Recuperation> recuperations = recuperationRepository
                 .findByStatus(status, PageRequest.of(page, size, Sort.by(Sort.Order.asc("id"))));
         return recuperations.stream()
-                .map(RecuperationResponse::new)
+                .map(recuperation -> new RecuperationResponse(recuperation, expand))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A keyset page is always read as a projection; expanded associations are then loaded
+     * for that page only, in one query, and the page order is kept.
+     */
+    private List<RecuperationResponse> expand(List<RecuperationResponse> page, Expand expand) {
+        if (expand.isEmpty() || page.isEmpty()) {
+            return page;
+        }
+        Map<Long, Recuperation> recuperations = recuperationRepository
+                .findByIdIn(page.stream().map(RecuperationResponse::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Recuperation::getId, Function.identity()));
+        return page.stream()
+                .filter(response -> recuperations.containsKey(response.getId()))
+                .map(response -> new RecuperationResponse(recuperations.get(response.getId()), expand))
                 .collect(Collectors.toList());
     }
 
-    public RecuperationResponse get(final Long id) {
+    public RecuperationResponse get(final Long id, Expand expand) {
         return recuperationRepository.findById(id)
-                .map(RecuperationResponse::new)
+                .map(recuperation -> new RecuperationResponse(recuperation, expand))
                 .orElseThrow(NotFoundException::new);
     }
 
@@ -0,0 +1,112 @@
+package com.app.benevole.service;
+
+import com.app.benevole.exception.RefreshTokenException;
+import com.app.benevole.jwt.RefreshTokenStore;
+import com.app.benevole.model.RefreshToken;
+import lombok.AccessLevel;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Issues opaque refresh tokens and rotates them: every refresh consumes the presented token
+ * and hands out a new one of the same family. Presenting a consumed token again means it
+ * leaked, so the whole family is revoked and the user has to log in again.
+ */
+@Service
+@Transactional(noRollbackFor = RefreshTokenException.class)
+public class RefreshTokenService {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(RefreshTokenService.class);
+
+    private final RefreshTokenStore store;
+    private final SecureRandom random = new SecureRandom();
+
+    @Value(value = "${application.security.expireRefreshToken}")
+    private Long EXPIRE_REFRESH_TOKEN;
+
+    public RefreshTokenService(RefreshTokenStore store) {
+        this.store = store;
+    }
+
+    /**
+     * Start a new token family for a freshly authenticated user.
+     */
+    public String issue(UUID userId) {
+        store.deleteExpired(userId, LocalDateTime.now());
+        return create(userId, UUID.randomUUID().toString());
+    }
+
+    /**
+     * Consume a refresh token and return its successor.
+     * @throws RefreshTokenException when the token is unknown, expired, revoked or replayed
+     */
+    public Rotation rotate(String refreshToken) {
+        String hash = hash(refreshToken);
+        RefreshToken token = store.findByHash(hash)
+                .orElseThrow(() -> new RefreshTokenException("Unknown refresh token"));
+        if (token.isRevoked()) {
+            throw new RefreshTokenException("Refresh token has been revoked");
+        }
+        if (token.getExpiresAt().isBefore(LocalDateTime.now())) {
+            throw new RefreshTokenException("Refresh token is expired");
+        }
+        if (!store.markUsed(hash)) {
+            LOGGER.warn("RefreshTokenService | rotate | reuse detected, revoking family: {}", token.getFamilyId());
+            store.revokeFamily(token.getFamilyId());
+            throw new RefreshTokenException("Refresh token has already been used");
+        }
+        return new Rotation(token.getUserId(), create(token.getUserId(), token.getFamilyId()));
+    }
+
+    public void revoke(String refreshToken) {
+        store.findByHash(hash(refreshToken))
+                .ifPresent(token -> store.revokeFamily(token.getFamilyId()));
+    }
+
+    private String create(UUID userId, String familyId) {
+        byte[] bytes = new byte[32];
+        random.nextBytes(bytes);
+        String value = Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+        store.save(RefreshToken.builder()
+                .tokenHash(hash(value))
+                .familyId(familyId)
+                .userId(userId)
+                .expiresAt(LocalDateTime.now().plus(EXPIRE_REFRESH_TOKEN, ChronoUnit.MILLIS))
+                .build());
+        return value;
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.US_ASCII));
+            StringBuilder hex = new StringBuilder(digest.length * 2);
+            for (byte b : digest) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor(access = AccessLevel.PRIVATE)
+    public static final class Rotation {
+        private final UUID userId;
+        private final String refreshToken;
+    }
+}
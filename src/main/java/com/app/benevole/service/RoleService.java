@@ -1,11 +1,16 @@
 package com.app.benevole.service;
 
 
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
+import com.app.benevole.exception.RoleHierarchyException;
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.Role;
 import com.app.benevole.repository.PermissionRepository;
@@ -13,12 +18,12 @@ import com.app.benevole.repository.RoleRepository;
 import com.app.benevole.repository.UserRepository;
 import com.app.benevole.request.RoleRequest;
 import com.app.benevole.response.RoleResponse;
+import com.app.benevole.security.GrantsVersionService;
+import com.app.benevole.security.RolePermissionResolver;
 import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -28,21 +33,37 @@ public class RoleService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final UserRepository userRepository;
+    private final GrantsVersionService grantsVersionService;
+    private final RolePermissionResolver rolePermissionResolver;
 
     public RoleService(final RoleRepository roleRepository,
-            final PermissionRepository permissionRepository, final UserRepository userRepository) {
+            final PermissionRepository permissionRepository, final UserRepository userRepository,
+            final GrantsVersionService grantsVersionService, final RolePermissionResolver rolePermissionResolver) {
         this.roleRepository = roleRepository;
         this.permissionRepository = permissionRepository;
         this.userRepository = userRepository;
+        this.grantsVersionService = grantsVersionService;
+        this.rolePermissionResolver = rolePermissionResolver;
     }
 
-    public List<RoleResponse> findAll(int page, int size) {
-        final List<Role> roles = roleRepository.findAll(
-                PageRequest.of(page, size, Sort.by(Sort.Order.asc("name")))
-        ).getContent();
-        return roles.stream()
-                .map(RoleResponse::new)
-                .collect(Collectors.toList());
+    /**
+     * Two queries per page whatever its size: the roles, then the parent ids of those roles.
+     */
+    @Transactional(readOnly = true)
+    public List<RoleResponse> findAll(int page, int size, Cursor cursor) {
+        final List<RoleResponse> roles = cursor == null
+                ? roleRepository.findAllProjectedBy(PageRequest.of(page, size))
+                : roleRepository.findProjectedAfter(cursor.key(), cursor.longId(), PageRequest.of(0, size));
+        if (roles.isEmpty()) {
+            return roles;
+        }
+        Map<Long, List<Long>> parents = new HashMap<>();
+        roles.forEach(role -> parents.put(role.getId(), new ArrayList<>()));
+        for (Object[] row : roleRepository.findParentIdsByIdIn(parents.keySet())) {
+            parents.get((Long) row[0]).add((Long) row[1]);
+        }
+        roles.forEach(role -> role.setParents(parents.get(role.getId())));
+        return roles;
     }
 
     public RoleResponse get(Long id) {
@@ -52,10 +73,15 @@ public class RoleService {
     }
 
     public Role create(final RoleRequest request) {
+        Set<Role> parents = request.getParents() == null ? new HashSet<>()
+                : new HashSet<>(roleRepository.findAllById(request.getParents()));
         Role role = Role.builder()
                 .name(request.getName())
+                .parents(parents)
                 .build();
-        return roleRepository.save(role);
+        role = roleRepository.save(role);
+        rolePermissionResolver.refreshRoleAfterCommit(role.getId());
+        return role;
     }
 
     public Role update(Long id, RoleRequest request) {
@@ -64,6 +90,7 @@ public class RoleService {
         role.builder()
                 .name(request.getName())
                 .build();
+        grantsVersionService.bumpRole(role);
         return roleRepository.saveAndFlush(role);
     }
 
@@ -71,8 +98,12 @@ public class RoleService {
         final Role role = roleRepository.findById(id)
                 .orElseThrow(NotFoundException::new);
         // remove many-to-many relations at owning side
+        grantsVersionService.bumpRole(role);
         userRepository.findAllByRoles(role)
                 .forEach(user -> user.getRoles().remove(role));
+        roleRepository.findAllByParents(role)
+                .forEach(child -> child.getParents().remove(role));
+        rolePermissionResolver.refreshAfterCommit();
         roleRepository.delete(role);
     }
 
@@ -84,6 +115,8 @@ public class RoleService {
                 .orElseThrow(()->new NotFoundException(String.format("Permission with ID: %d not found in this system!", permId)));
         role.getPermissions().add(perm);
         roleRepository.saveAndFlush(role);
+        rolePermissionResolver.refreshRoleAfterCommit(roleId);
+        grantsVersionService.bumpRole(role);
     }
 
     public void removePermissionToRole(Long roleId, Long permId){
@@ -94,6 +127,41 @@ public class RoleService {
                 .orElseThrow(()->new NotFoundException(String.format("Permission with ID: %d not found in this system!", permId)));
         role.getPermissions().remove(perm);
         roleRepository.saveAndFlush(role);
+        rolePermissionResolver.refreshRoleAfterCommit(roleId);
+        grantsVersionService.bumpRole(role);
+    }
+
+    /**
+     * Make {@code roleId} inherit every permission of {@code parentId}.
+     * @throws RoleHierarchyException when the parent already inherits from the role
+     */
+    public void addParentToRole(Long roleId, Long parentId) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new NotFoundException(String.format("Rule with ID: %d not found in this system!", roleId)));
+        Role parent = roleRepository.findById(parentId)
+                .orElseThrow(() -> new NotFoundException(String.format("Rule with ID: %d not found in this system!", parentId)));
+        if (rolePermissionResolver.inherits(parentId, roleId)) {
+            throw new RoleHierarchyException(String.format("Rule %s already inherits from rule %s", parent.getName(), role.getName()));
+        }
+        if (role.getParents() == null) {
+            role.setParents(new HashSet<>());
+        }
+        role.getParents().add(parent);
+        roleRepository.saveAndFlush(role);
+        rolePermissionResolver.refreshRoleAfterCommit(roleId);
+        grantsVersionService.bumpRole(role);
+    }
+
+    public void removeParentFromRole(Long roleId, Long parentId) {
+        Role role = roleRepository.findById(roleId)
+                .orElseThrow(() -> new NotFoundException(String.format("Rule with ID: %d not found in this system!", roleId)));
+        Role parent = roleRepository.findById(parentId)
+                .orElseThrow(() -> new NotFoundException(String.format("Rule with ID: %d not found in this system!", parentId)));
+        if (role.getParents() != null && role.getParents().remove(parent)) {
+            roleRepository.saveAndFlush(role);
+            rolePermissionResolver.refreshRoleAfterCommit(roleId);
+            grantsVersionService.bumpRole(role);
+        }
     }
 
 }
@@ -1,13 +1,21 @@
 package com.app.benevole.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import com.app.benevole.enums.TeamType;
+import com.app.benevole.exception.UnknownMembersException;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.helper.Expand;
 import com.app.benevole.model.*;
 import com.app.benevole.repository.*;
 import com.app.benevole.request.TeamRequest;
@@ -16,8 +24,7 @@ import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -29,41 +36,77 @@ public class TeamService {
     private final RecuperationRepository recuperationRepository;
     private final CategoryRepository categoryRepository;
     private final UserRepository userRepository;
+    private final TeamMemberRepository teamMemberRepository;
 
     public TeamService(final TeamRepository teamRepository,
-                       DistributionRepository distributionRepository, RecuperationRepository recuperationRepository, final CategoryRepository categoryRepository, final UserRepository userRepository) {
+                       DistributionRepository distributionRepository, RecuperationRepository recuperationRepository, final CategoryRepository categoryRepository, final UserRepository userRepository,
+                       final TeamMemberRepository teamMemberRepository) {
         this.teamRepository = teamRepository;
         this.distributionRepository = distributionRepository;
         this.recuperationRepository = recuperationRepository;
         this.categoryRepository = categoryRepository;
         this.userRepository = userRepository;
+        this.teamMemberRepository = teamMemberRepository;
     }
 
-    public List<TeamResponse> findAll(int page, int size) {
+    @Transactional(readOnly = true)
+    public List<TeamResponse> findAll(int page, int size, Cursor cursor, Expand expand) {
+        if (cursor != null) {
+            return expand(teamRepository.findProjectedAfter(cursor.key(), cursor.longId(), PageRequest.of(0, size)), expand);
+        }
+        if (expand.isEmpty()) {
+            return teamRepository.findAllProjectedBy(PageRequest.of(page, size));
+        }
         final List<Team> teams = teamRepository.findAll(
                 PageRequest.of(page, size, Sort.by(Sort.Order.asc("name")))
         ).getContent();
         return teams.stream()
-                .map(TeamResponse::new)
+                .map(team -> new TeamResponse(team, expand))
                 .collect(Collectors.toList());
     }
 
-    public List<TeamResponse> findAllByCategory(int page, int size, Long category) {
+    @Transactional(readOnly = true)
+    public List<TeamResponse> findAllByCategory(int page, int size, Cursor cursor, Long category, Expand expand) {
         Category c = categoryRepository.findById(category)
                 .orElseThrow(
                         () -> new NotFoundException(String.format("Category with ID: %s not found on this system!", category))
                 );
+        if (cursor != null) {
+            return expand(teamRepository.findProjectedByCategoryIdAfter(c, cursor.key(), cursor.longId(),
+                    PageRequest.of(0, size)), expand);
+        }
+        if (expand.isEmpty()) {
+            return teamRepository.findProjectedByCategoryId(c, PageRequest.of(page, size));
+        }
         final List<Team> teams = teamRepository.findByCategoryId(c,
                 PageRequest.of(page, size, Sort.by(Sort.Order.asc("name")))
         );
         return teams.stream()
-                .map(TeamResponse::new)
+                .map(team -> new TeamResponse(team, expand))
+                .collect(Collectors.toList());
+    }
+
+    /**
+     * A keyset page is always read as a projection; expanded associations are then loaded
+     * for that page only, in one query, and the page order is kept.
+     */
+    private List<TeamResponse> expand(List<TeamResponse> page, Expand expand) {
+        if (expand.isEmpty() || page.isEmpty()) {
+            return page;
+        }
+        Map<Long, Team> teams = teamRepository
+                .findByIdIn(page.stream().map(TeamResponse::getId).collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.toMap(Team::getId, Function.identity()));
+        return page.stream()
+                .filter(response -> teams.containsKey(response.getId()))
+                .map(response -> new TeamResponse(teams.get(response.getId()), expand))
                 .collect(Collectors.toList());
     }
 
-    public TeamResponse get(Long id) {
+    public TeamResponse get(Long id, Expand expand) {
         return teamRepository.findById(id)
-                .map(TeamResponse::new)
+                .map(team -> new TeamResponse(team, expand))
                 .orElseThrow(NotFoundException::new);
     }
 
@@ -73,10 +116,7 @@ public class TeamService {
                         () -> new NotFoundException(String.format("Category with ID: %s not found on this system!", request.getCategoryId()))
                 );
         Team team = null;
-        Set<User> members = new HashSet<>();
-        request.getMembers().forEach(
-                (userId) -> members.add(userRepository.findById(userId).orElse(null))
-        );
+        Set<UUID> members = existingMembers(request.getMembers());
         if (TeamType.DISTRIBUTION == request.getType()) {
             Distribution d = distributionRepository
                     .findById(request.getDistribution())
@@ -90,7 +130,6 @@ public class TeamService {
                     .name(request.getName())
                     .type(request.getType())
                     .distribution(d)
-                    .members(members)
                     .build();
         } else if (TeamType.RECUPERATION == request.getType()) {
             Recuperation r = recuperationRepository
@@ -105,7 +144,6 @@ public class TeamService {
                     .name(request.getName())
                     .type(request.getType())
                     .recuperation(r)
-                    .members(members)
                     .build();
         } else {
             throw new NotFoundException(
@@ -113,7 +151,12 @@ public class TeamService {
             );
         }
 
-        return teamRepository.save(team);
+        // the join rows reference the team, which has to be written first
+        team = teamRepository.saveAndFlush(team);
+        if (!members.isEmpty()) {
+            teamMemberRepository.addAll(team.getId(), members);
+        }
+        return team;
     }
 
     public Team update(Long id, TeamRequest request) {
@@ -144,29 +187,46 @@ public class TeamService {
     }
 
     public void addTeamMember(Long team, UUID user) {
-        Team t = teamRepository.findById(team)
-                .orElseThrow(
-                        () -> new NotFoundException(String.format("Team with ID: %s not found on this system!", team))
-                );
-        User u = userRepository.findById(user)
-                .orElseThrow(
-                        () -> new NotFoundException(String.format("Member with ID: %s not found on this system!", user))
-                );
-        t.getMembers().add(u);
-        teamRepository.saveAndFlush(t);
+        addTeamMembers(team, Collections.singletonList(user));
     }
 
     public void removeTeamMember(Long team, UUID user) {
-        Team t = teamRepository.findById(team)
-                .orElseThrow(
-                        () -> new NotFoundException(String.format("Team with ID: %s not found on this system!", team))
-                );
-        User u = userRepository.findById(user)
-                .orElseThrow(
-                        () -> new NotFoundException(String.format("Member with ID: %s not found on this system!", user))
-                );
-        t.getMembers().remove(u);
-        teamRepository.saveAndFlush(t);
+        removeTeamMembers(team, Collections.singletonList(user));
+    }
+
+    public void addTeamMembers(Long team, Collection<UUID> users) {
+        teamMemberRepository.addAll(existingTeam(team), existingMembers(users));
+    }
+
+    public void removeTeamMembers(Long team, Collection<UUID> users) {
+        teamMemberRepository.removeAll(existingTeam(team), existingMembers(users));
+    }
+
+    private Long existingTeam(Long team) {
+        if (!teamRepository.existsById(team)) {
+            throw new NotFoundException(String.format("Team with ID: %s not found on this system!", team));
+        }
+        return team;
+    }
+
+    /**
+     * Resolves all ids in one query.
+     *
+     * @throws UnknownMembersException listing every id that matches no user
+     */
+    private Set<UUID> existingMembers(Collection<UUID> users) {
+        if (users == null || users.isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<UUID> requested = new LinkedHashSet<>(users);
+        Set<UUID> found = new HashSet<>(userRepository.findIdsByIdIn(requested));
+        List<UUID> missing = requested.stream()
+                .filter(id -> !found.contains(id))
+                .collect(Collectors.toList());
+        if (!missing.isEmpty()) {
+            throw new UnknownMembersException(missing);
+        }
+        return requested;
     }
 
     public List<Team> allByDates(LocalDateTime startDate, LocalDateTime endDate) {
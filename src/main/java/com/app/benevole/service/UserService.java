@@ -1,21 +1,21 @@
 package com.app.benevole.service;
 
 import java.util.*;
-import java.util.stream.Collectors;
 
+import com.app.benevole.helper.Cursor;
 import com.app.benevole.model.Permission;
 import com.app.benevole.model.Role;
 import com.app.benevole.model.User;
 import com.app.benevole.repository.*;
 import com.app.benevole.request.UserRequest;
 import com.app.benevole.response.UserResponse;
+import com.app.benevole.security.GrantsVersionService;
+import com.app.benevole.security.RolePermissionResolver;
 import com.app.benevole.util.NotFoundException;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
-
-import javax.transaction.Transactional;
+import org.springframework.transaction.annotation.Transactional;
 
 
 @Service
@@ -24,25 +24,64 @@ public class UserService {
 
     private UserRepository userRepository;
     private RoleRepository roleRepository;
+    private HoraireRepository horaireRepository;
     private PermissionRepository permissionRepository;
     private PasswordEncoder passwordEncoder;
+    private GrantsVersionService grantsVersionService;
+    private RolePermissionResolver rolePermissionResolver;
 
     public UserService(final UserRepository userRepository, final RoleRepository roleRepository,
-                       TeamRepository teamRepository, final HoraireRepository horaireRepository, PasswordEncoder passwordEncoder) {
+                       TeamRepository teamRepository, final HoraireRepository horaireRepository,
+                       final PermissionRepository permissionRepository, PasswordEncoder passwordEncoder,
+                       GrantsVersionService grantsVersionService, RolePermissionResolver rolePermissionResolver) {
         this.userRepository = userRepository;
         this.roleRepository = roleRepository;
+        this.horaireRepository = horaireRepository;
+        this.permissionRepository = permissionRepository;
         this.passwordEncoder = passwordEncoder;
+        this.grantsVersionService = grantsVersionService;
+        this.rolePermissionResolver = rolePermissionResolver;
     }
 
-    public List<UserResponse> findAll(int page, int size) {
-        final List<User> users = userRepository.findAll(PageRequest.of(page, size, Sort.by(Sort.Order.asc("username")))).getContent();
-        return users.stream()
-                .map(UserResponse::new)
-                .collect(Collectors.toList());
+    /**
+     * Two queries per page whatever its size: the users, then the role names of those users.
+     */
+    @Transactional(readOnly = true)
+    public List<UserResponse> findAll(int page, int size, Cursor cursor) {
+        return withRoles(cursor == null
+                ? userRepository.findAllProjectedBy(PageRequest.of(page, size))
+                : userRepository.findProjectedAfter(cursor.key(), cursor.uuidId(), PageRequest.of(0, size)));
+    }
+
+    /**
+     * Volunteers of the horaire not already in a team over the same hours, two queries per page.
+     */
+    @Transactional(readOnly = true)
+    public List<UserResponse> findAvailableForHoraire(Long hourly, int page, int size, Cursor cursor) {
+        if (!horaireRepository.existsById(hourly)) {
+            throw new NotFoundException(String.format("Horaire with ID: %s not found on this system!", hourly));
+        }
+        return withRoles(cursor == null
+                ? userRepository.findAvailableForHoraire(hourly, PageRequest.of(page, size))
+                : userRepository.findAvailableForHoraireAfter(hourly, cursor.key(), cursor.uuidId(),
+                PageRequest.of(0, size)));
+    }
+
+    private List<UserResponse> withRoles(List<UserResponse> users) {
+        if (users.isEmpty()) {
+            return users;
+        }
+        Map<UUID, List<String>> roles = new HashMap<>();
+        users.forEach(user -> roles.put(user.getId(), new ArrayList<>()));
+        for (Object[] row : userRepository.findRoleNamesByIdIn(roles.keySet())) {
+            roles.get((UUID) row[0]).add((String) row[1]);
+        }
+        users.forEach(user -> user.setRoles(roles.get(user.getId())));
+        return users;
     }
 
     public UserResponse get(final UUID id) {
-        return userRepository.findById(id)
+        return userRepository.findDetailById(id)
                 .map(UserResponse::new)
                 .orElseThrow(NotFoundException::new);
     }
@@ -91,11 +130,24 @@ public class UserService {
                 .sexe(request.getSexe())
                 .roles(roles)
                 .build();
+        grantsVersionService.bump(user);
         return userRepository.saveAndFlush(user);
     }
 
+    /**
+     * Replace the stored hash, used to rehash on login when the bcrypt cost changed.
+     */
+    public User updatePassword(final String email, final String encodedPassword) {
+        User user = userRepository.findByEmail(email)
+                .orElseThrow(NotFoundException::new);
+        user.setPassword(encodedPassword);
+        grantsVersionService.forget(user.getId());
+        return userRepository.save(user);
+    }
+
     public void delete(final UUID id) {
         userRepository.deleteById(id);
+        grantsVersionService.forgetEverywhere(id);
     }
 
     public boolean emailExists(final String email) {
@@ -118,14 +170,29 @@ public class UserService {
                 );
     }
 
+    /**
+     * The user with the roles and direct permissions a principal is built from, in one query.
+     */
+    public User findPrincipalById(UUID userId) {
+        return userRepository
+                .findPrincipalById(userId)
+                .orElseThrow(
+                        () -> new NotFoundException(String.format("User with ID: %s not found!", userId))
+                );
+    }
+
     public void addPermissionsToUser(UUID userId, List<Long> perms) {
         User user = userRepository.findById(userId)
                 .orElseThrow(
                         () -> new NotFoundException(String.format("User with ID: %s not found!", userId))
                 );
         List<Permission> permissions = permissionRepository.findAllById(perms);
-        user.getRoles().forEach(role -> permissions.removeAll(role.getPermissions()));
+        // skip permissions the user already inherits through a role
+        BitSet inherited = rolePermissionResolver.resolve(user.getRoles());
+        permissions.removeIf(permission -> permission.getBitPosition() != null
+                && inherited.get(permission.getBitPosition()));
         user.getPermissions().addAll(permissions);
+        grantsVersionService.bump(user);
         userRepository.saveAndFlush(user);
     }
 }
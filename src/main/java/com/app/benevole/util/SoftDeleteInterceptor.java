@@ -0,0 +1,62 @@
+package com.app.benevole.util;
+
+import com.app.benevole.security.CustomUserDetails;
+import com.app.benevole.security.PermissionIndex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.persistence.EntityManagerFactory;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * Enables the {@link SoftDeletes} filter on the entity manager opened for the request by
+ * open-in-view, so every service transaction of the request sees live rows only, unless the
+ * client asked for {@code includeDeleted=true} and holds {@link SoftDeletes#INCLUDE_PERMISSION}.
+ * Registered after the open-in-view interceptor.
+ */
+@Component
+public class SoftDeleteInterceptor implements HandlerInterceptor {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(SoftDeleteInterceptor.class);
+
+    private final EntityManagerFactory entityManagerFactory;
+    private final PermissionIndex permissionIndex;
+
+    public SoftDeleteInterceptor(EntityManagerFactory entityManagerFactory, PermissionIndex permissionIndex) {
+        this.entityManagerFactory = entityManagerFactory;
+        this.permissionIndex = permissionIndex;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (Boolean.parseBoolean(request.getParameter(SoftDeletes.INCLUDE_PARAMETER))) {
+            if (!mayIncludeDeleted()) {
+                throw new AccessDeniedException("Access is denied");
+            }
+            return true;
+        }
+        EntityManagerHolder holder =
+                (EntityManagerHolder) TransactionSynchronizationManager.getResource(entityManagerFactory);
+        if (holder == null) {
+            LOGGER.warn("SoftDeleteInterceptor | preHandle | no request entity manager, is spring.jpa.open-in-view off?");
+            return true;
+        }
+        SoftDeletes.exclude(holder.getEntityManager());
+        return true;
+    }
+
+    private boolean mayIncludeDeleted() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        return authentication != null && authentication.getPrincipal() instanceof CustomUserDetails
+                && ((CustomUserDetails) authentication.getPrincipal())
+                .hasPermission(permissionIndex.idOf(SoftDeletes.INCLUDE_PERMISSION));
+    }
+}
@@ -0,0 +1,38 @@
+package com.app.benevole.util;
+
+import org.hibernate.Session;
+
+import javax.persistence.EntityManager;
+
+/**
+ * Hibernate filter hiding rows whose {@code deleted} column is set. It applies to queries only:
+ * {@code findById} and lazy associations still reach soft-deleted rows.
+ */
+public final class SoftDeletes {
+
+    public static final String FILTER = "notDeleted";
+
+    /**
+     * Request parameter turning the filter off for one API call.
+     */
+    public static final String INCLUDE_PARAMETER = "includeDeleted";
+
+    /**
+     * Permission a caller needs to send {@link #INCLUDE_PARAMETER}.
+     */
+    public static final String INCLUDE_PERMISSION = "read deleted";
+
+    private SoftDeletes() {
+    }
+
+    public static void exclude(EntityManager entityManager) {
+        entityManager.unwrap(Session.class).enableFilter(FILTER);
+    }
+
+    /**
+     * Shows soft-deleted rows again, for the rest of the session.
+     */
+    public static void include(EntityManager entityManager) {
+        entityManager.unwrap(Session.class).disableFilter(FILTER);
+    }
+}
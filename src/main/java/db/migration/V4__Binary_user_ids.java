@@ -0,0 +1,75 @@
+package db.migration;
+
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Convert user ids from {@code VARCHAR(36)} to {@code BINARY(16)}, in place and keeping the values:
+ * each column goes through {@code VARBINARY(36)} so the text survives byte for byte, is unhexed,
+ * then narrowed. Ids already issued keep working in the API, only their storage changes.
+ * <p>
+ * Written in Java because the foreign keys of a database created by ddl-auto carry generated
+ * names, which are looked up in {@code information_schema} before being dropped.
+ */
+public class V4__Binary_user_ids extends BaseJavaMigration {
+
+    /**
+     * Table, column, nullable.
+     */
+    private static final String[][] COLUMNS = {
+            {"users", "id", "not null"},
+            {"user_has_roles", "user_id", "not null"},
+            {"user_has_permissions", "user_id", "not null"},
+            {"user_teams", "user_id", "not null"},
+            {"user_horaires", "user_id", "not null"},
+            {"notificationses", "user_id", "null"},
+            {"refresh_tokens", "user_id", "not null"},
+    };
+
+    @Override
+    public void migrate(Context context) throws SQLException {
+        Connection connection = context.getConnection();
+        try (Statement statement = connection.createStatement()) {
+            for (String[] foreignKey : foreignKeysTo(connection, "users")) {
+                statement.execute("alter table " + foreignKey[0] + " drop foreign key " + foreignKey[1]);
+            }
+            for (String[] column : COLUMNS) {
+                String table = column[0];
+                String name = column[1];
+                statement.execute("alter table " + table + " modify " + name + " varbinary(36) " + column[2]);
+                statement.execute("update " + table + " set " + name + " = unhex(replace(" + name + ", '-', ''))"
+                        + " where length(" + name + ") = 36");
+                statement.execute("alter table " + table + " modify " + name + " binary(16) " + column[2]);
+            }
+            for (String[] column : COLUMNS) {
+                if (!column[0].equals("users") && !column[0].equals("refresh_tokens")) {
+                    statement.execute("alter table " + column[0] + " add constraint fk_" + column[0] + "_user"
+                            + " foreign key (" + column[1] + ") references users (id)");
+                }
+            }
+        }
+    }
+
+    private static List<String[]> foreignKeysTo(Connection connection, String table) throws SQLException {
+        List<String[]> foreignKeys = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement(
+                "select table_name, constraint_name from information_schema.key_column_usage"
+                        + " where table_schema = database() and referenced_table_name = ?")) {
+            statement.setString(1, table);
+            try (ResultSet rows = statement.executeQuery()) {
+                while (rows.next()) {
+                    foreignKeys.add(new String[]{rows.getString(1), rows.getString(2)});
+                }
+            }
+        }
+        return foreignKeys;
+    }
+}
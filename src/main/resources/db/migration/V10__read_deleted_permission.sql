@@ -0,0 +1,19 @@
+-- Permission required by includeDeleted=true, see SoftDeleteInterceptor. As in V3 a fresh
+-- database has no parents yet and the application seeds it. The id comes from a block of
+-- the pooled sequence (V5) reserved here, so no node is handed it as well.
+
+update id_sequences set next_val = next_val + 50 where sequence_name = 'permissions';
+
+insert into permissions (id, name, permissions_id, date_created, last_updated)
+select s.next_val - 50, 'read deleted', pp.id, now(), now()
+from id_sequences s
+         join permission_parent pp on pp.name = 'permissions'
+where s.sequence_name = 'permissions'
+  and not exists (select 1 from permissions p where p.name = 'read deleted');
+
+insert into role_has_permissions (role_id, permission_id)
+select r.id, p.id
+from roles r
+         join permissions p on p.name = 'read deleted'
+where r.name = 'super admin'
+  and not exists (select 1 from role_has_permissions rp where rp.role_id = r.id and rp.permission_id = p.id);
@@ -0,0 +1,12 @@
+-- Bumped in the transaction of every grants version change, see GrantsVersionService. Each node
+-- polls this single row and drops its cached grants versions when it moved, instead of
+-- re-reading the version of every active user.
+
+create table grants_generation
+(
+    id         int    not null,
+    generation bigint not null,
+    primary key (id)
+) engine = InnoDB;
+
+insert into grants_generation (id, generation) values (1, 0);
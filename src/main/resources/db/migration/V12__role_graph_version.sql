@@ -0,0 +1,12 @@
+-- Bumped in the transaction of every change to roles, their permissions or their parents, see
+-- RolePermissionResolver. Nodes compare it with the version of their cached role graph and
+-- reload the graph only when it moved.
+
+create table role_graph_version
+(
+    id      int    not null,
+    version bigint not null,
+    primary key (id)
+) engine = InnoDB;
+
+insert into role_graph_version (id, version) values (1, 0);
@@ -0,0 +1,5 @@
+-- HoraireRepository.findProjectedByType[After] page in id order, which the range on start_date of
+-- idx_horaires_deleted_type_start cannot deliver: EXPLAIN showed a walk of the primary key instead.
+-- (deleted, type) ends with the primary key like every secondary index. The wider index stays for
+-- findByDaysAndType, which seeks on start_date.
+create index idx_horaires_deleted_type on horaires (deleted, type);
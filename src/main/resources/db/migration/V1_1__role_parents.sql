@@ -0,0 +1,10 @@
+-- Roles inherit the permissions of their parent roles.
+
+create table role_parents
+(
+    role_id   bigint not null,
+    parent_id bigint not null,
+    primary key (role_id, parent_id),
+    constraint fk_role_parents_role foreign key (role_id) references roles (id),
+    constraint fk_role_parents_parent foreign key (parent_id) references roles (id)
+) engine = InnoDB;
@@ -0,0 +1,4 @@
+-- Bumped whenever the roles or permissions of a user change, issued tokens carry it.
+
+alter table users
+    add column grants_version bigint default 0 not null;
@@ -0,0 +1,15 @@
+-- Hashed refresh tokens, rotated on use. Reusing one revokes its whole family.
+
+create table refresh_tokens
+(
+    id           bigint      not null auto_increment,
+    token_hash   varchar(64) not null,
+    family_id    varchar(36) not null,
+    user_id      varchar(36) not null,
+    expires_at   datetime    not null,
+    used         bit         not null,
+    revoked      bit         not null,
+    date_created datetime    not null,
+    primary key (id),
+    constraint uk_refresh_tokens_token_hash unique (token_hash)
+) engine = InnoDB;
@@ -0,0 +1,11 @@
+-- Ids of access tokens revoked before they expire, see TokenRevocationList.
+
+create table revoked_tokens
+(
+    id         bigint      not null auto_increment,
+    jti        varchar(36) not null,
+    expires_at datetime    not null,
+    revoked_at datetime    not null,
+    primary key (id),
+    constraint uk_revoked_tokens_jti unique (jti)
+) engine = InnoDB;
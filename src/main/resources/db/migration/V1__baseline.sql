@@ -0,0 +1,213 @@
+-- Schema as previously generated by hibernate.ddl-auto=update with MySQL5InnoDBDialect
+-- and SpringPhysicalNamingStrategy. Existing databases are baselined at this version and
+-- never run it, see spring.flyway.baseline-on-migrate.
+
+create table categories
+(
+    id           bigint   not null auto_increment,
+    name         varchar(255),
+    deleted      datetime,
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table permission_parent
+(
+    id   bigint      not null auto_increment,
+    name varchar(30) not null,
+    primary key (id),
+    constraint uk_permission_parent_name unique (name)
+) engine = InnoDB;
+
+create table permissions
+(
+    id             bigint   not null auto_increment,
+    name           varchar(255),
+    date_created   datetime not null,
+    last_updated   datetime not null,
+    permissions_id bigint   not null,
+    primary key (id),
+    constraint fk_permissions_parent foreign key (permissions_id) references permission_parent (id)
+) engine = InnoDB;
+
+create table roles
+(
+    id           bigint   not null auto_increment,
+    name         varchar(255),
+    deleted      datetime,
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table role_has_permissions
+(
+    role_id       bigint not null,
+    permission_id bigint not null,
+    primary key (role_id, permission_id),
+    constraint fk_role_has_permissions_role foreign key (role_id) references roles (id),
+    constraint fk_role_has_permissions_permission foreign key (permission_id) references permissions (id)
+) engine = InnoDB;
+
+create table users
+(
+    id           varchar(36)  not null,
+    username     varchar(50)  not null,
+    password     varchar(255) not null,
+    enabled      bit,
+    first_name   varchar(255),
+    last_name    varchar(255),
+    birth_date   date,
+    email        varchar(255) not null,
+    address      varchar(255),
+    postal_code  varchar(20),
+    city         varchar(50),
+    phone        varchar(50),
+    permis       bit,
+    profession   varchar(255),
+    sexe         varchar(30),
+    date_created datetime     not null,
+    last_updated datetime     not null,
+    primary key (id),
+    constraint uk_users_email unique (email),
+    constraint uk_users_phone unique (phone)
+) engine = InnoDB;
+
+create table user_has_roles
+(
+    user_id varchar(36) not null,
+    role_id bigint      not null,
+    primary key (user_id, role_id),
+    constraint fk_user_has_roles_user foreign key (user_id) references users (id),
+    constraint fk_user_has_roles_role foreign key (role_id) references roles (id)
+) engine = InnoDB;
+
+create table user_has_permissions
+(
+    user_id       varchar(36) not null,
+    permission_id bigint      not null,
+    primary key (user_id, permission_id),
+    constraint fk_user_has_permissions_user foreign key (user_id) references users (id),
+    constraint fk_user_has_permissions_permission foreign key (permission_id) references permissions (id)
+) engine = InnoDB;
+
+create table notificationses
+(
+    id           bigint   not null auto_increment,
+    content      longtext,
+    `open`       bit,
+    deleted      datetime,
+    user_id      varchar(36),
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id),
+    constraint fk_notificationses_user foreign key (user_id) references users (id)
+) engine = InnoDB;
+
+create table teams
+(
+    id             bigint   not null auto_increment,
+    name           varchar(255),
+    start_date     datetime,
+    end_date       datetime,
+    type           varchar(255),
+    deleted        datetime,
+    category_id_id bigint,
+    date_created   datetime not null,
+    last_updated   datetime not null,
+    primary key (id),
+    constraint fk_teams_category foreign key (category_id_id) references categories (id)
+) engine = InnoDB;
+
+create table user_teams
+(
+    user_id varchar(36) not null,
+    team_id bigint      not null,
+    primary key (user_id, team_id),
+    constraint fk_user_teams_user foreign key (user_id) references users (id),
+    constraint fk_user_teams_team foreign key (team_id) references teams (id)
+) engine = InnoDB;
+
+create table horaires
+(
+    id           bigint   not null auto_increment,
+    start_date   datetime,
+    end_date     datetime,
+    type         varchar(255),
+    deleted      datetime,
+    state        bit      not null,
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id)
+) engine = InnoDB;
+
+create table user_horaires
+(
+    user_id    varchar(36) not null,
+    horaire_id bigint      not null,
+    primary key (user_id, horaire_id),
+    constraint fk_user_horaires_user foreign key (user_id) references users (id),
+    constraint fk_user_horaires_horaire foreign key (horaire_id) references horaires (id)
+) engine = InnoDB;
+
+create table magasins
+(
+    id           bigint   not null auto_increment,
+    name         varchar(255),
+    address      varchar(255),
+    phone        varchar(30),
+    deleted      date,
+    category_id  bigint,
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id),
+    constraint uk_magasins_phone unique (phone),
+    constraint fk_magasins_category foreign key (category_id) references categories (id)
+) engine = InnoDB;
+
+create table recuperations
+(
+    id           bigint   not null auto_increment,
+    start_date   datetime,
+    end_date     datetime,
+    start        datetime,
+    `end`        datetime,
+    status       varchar(255),
+    rapport      longtext,
+    deleted      datetime,
+    team_id      bigint,
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id),
+    constraint uk_recuperations_team unique (team_id),
+    constraint fk_recuperations_team foreign key (team_id) references teams (id)
+) engine = InnoDB;
+
+create table recuperation_magasins
+(
+    recuperation_id bigint not null,
+    magasin_id      bigint not null,
+    primary key (recuperation_id, magasin_id),
+    constraint fk_recuperation_magasins_recuperation foreign key (recuperation_id) references recuperations (id),
+    constraint fk_recuperation_magasins_magasin foreign key (magasin_id) references magasins (id)
+) engine = InnoDB;
+
+create table distributions
+(
+    id           bigint   not null auto_increment,
+    start_date   datetime,
+    end_date     datetime,
+    start        datetime,
+    `end`        datetime,
+    location     varchar(255),
+    rapport      longtext,
+    status       varchar(255),
+    deleted      datetime,
+    team_id      bigint,
+    date_created datetime not null,
+    last_updated datetime not null,
+    primary key (id),
+    constraint uk_distributions_team unique (team_id),
+    constraint fk_distributions_team foreign key (team_id) references teams (id)
+) engine = InnoDB;
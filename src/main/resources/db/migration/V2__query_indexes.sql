@@ -0,0 +1,56 @@
+-- One index per hot predicate of com.app.benevole.repository. InnoDB appends the primary key
+-- to every secondary index, so (col) also serves "where col = ? order by id" and the keyset
+-- pages seeking on (col, id). Foreign keys and unique constraints already carry an index.
+
+-- CategoryRepository.findByDeletedNotNull / findDeletedProjectedBy
+create index idx_categories_deleted on categories (deleted);
+
+-- DistributionRepository.findByStatus / findProjectedByStatus[After]
+create index idx_distributions_status on distributions (status);
+-- DistributionRepository.findByDeletedNotNull
+create index idx_distributions_deleted on distributions (deleted);
+
+-- HoraireRepository.findDistinctByStartDateAndEndDate / findBetween
+create index idx_horaires_start_end on horaires (start_date, end_date);
+-- HoraireRepository.findByType / findProjectedByType[After] / findByDaysAndType / findByTypeAndState
+create index idx_horaires_type_start on horaires (type, start_date);
+-- HoraireRepository.findByState, the expiry sweep of HourlyTask
+create index idx_horaires_state_end on horaires (state, end_date);
+
+-- MagasinRepository.findAllProjectedBy / findProjectedAfter, ordered by name
+create index idx_magasins_name on magasins (name);
+-- MagasinRepository.findByCategory / findProjectedByCategory[After]
+create index idx_magasins_category_name on magasins (category_id, name);
+
+-- PermissionRepository.findAllProjectedBy / findProjectedAfter, ordered by name
+create index idx_permissions_name on permissions (name);
+-- PermissionRepository.findByParent / findProjectedByParent[After]
+create index idx_permissions_parent_name on permissions (permissions_id, name);
+
+-- RecuperationRepository.getRecuperationByStartAndEnd
+create index idx_recuperations_start_end on recuperations (start_date, end_date);
+-- RecuperationRepository.findByStatus / findProjectedByStatus[After]
+create index idx_recuperations_status on recuperations (status);
+
+-- RoleRepository.findAllProjectedBy / findProjectedAfter, ordered by name
+create index idx_roles_name on roles (name);
+
+-- TeamRepository.getTeamsByStartAndEnd
+create index idx_teams_start_end on teams (start_date, end_date);
+-- TeamRepository.findAllProjectedBy / findProjectedAfter, ordered by name
+create index idx_teams_name on teams (name);
+-- TeamRepository.findByCategoryId / findProjectedByCategoryId[After]
+create index idx_teams_category_name on teams (category_id_id, name);
+
+-- UserRepository.findAllProjectedBy / findProjectedAfter, ordered by username
+create index idx_users_username on users (username);
+
+-- RefreshTokenRepository.revokeFamily
+create index idx_refresh_tokens_family on refresh_tokens (family_id);
+-- RefreshTokenRepository.deleteExpired
+create index idx_refresh_tokens_user_expires on refresh_tokens (user_id, expires_at);
+
+-- RevokedTokenRepository.findRevokedSince
+create index idx_revoked_tokens_revoked_at on revoked_tokens (revoked_at);
+-- RevokedTokenRepository.deleteExpired
+create index idx_revoked_tokens_expires_at on revoked_tokens (expires_at);
@@ -0,0 +1,39 @@
+-- Permission names required by the controllers but missing from databases seeded before they
+-- were checked at startup. A fresh database has no parents yet at this point: nothing is
+-- inserted and the application seeds the full set itself.
+
+update permissions set name = 'add team member' where name = 'add member';
+update permissions set name = 'remove team member' where name = 'remove member';
+
+insert into permissions (name, permissions_id, date_created, last_updated)
+select 'update notification', pp.id, now(), now()
+from permission_parent pp
+where pp.name = 'notifications'
+  and not exists (select 1 from permissions p where p.name = 'update notification');
+
+insert into permissions (name, permissions_id, date_created, last_updated)
+select 'add permission to rule', pp.id, now(), now()
+from permission_parent pp
+where pp.name = 'rules'
+  and not exists (select 1 from permissions p where p.name = 'add permission to rule');
+
+insert into permissions (name, permissions_id, date_created, last_updated)
+select 'remove permission to rule', pp.id, now(), now()
+from permission_parent pp
+where pp.name = 'rules'
+  and not exists (select 1 from permissions p where p.name = 'remove permission to rule');
+
+-- grant them to the seeded roles that hold the rest of their group
+insert into role_has_permissions (role_id, permission_id)
+select r.id, p.id
+from roles r
+         join permissions p on p.name = 'update notification'
+where r.name = 'user'
+  and not exists (select 1 from role_has_permissions rp where rp.role_id = r.id and rp.permission_id = p.id);
+
+insert into role_has_permissions (role_id, permission_id)
+select r.id, p.id
+from roles r
+         join permissions p on p.name in ('add permission to rule', 'remove permission to rule')
+where r.name = 'super admin'
+  and not exists (select 1 from role_has_permissions rp where rp.role_id = r.id and rp.permission_id = p.id);
@@ -0,0 +1,24 @@
+-- Pooled id blocks for the @TableGenerator mappings: one row per entity table, each round trip
+-- reserves 50 ids so inserts no longer need the generated key back and Hibernate can batch them.
+-- The pooled optimizer hands out (next_val - 49 .. next_val) first, so every row starts 50 past
+-- the highest id already assigned by AUTO_INCREMENT.
+
+create table id_sequences
+(
+    sequence_name varchar(255) not null,
+    next_val      bigint,
+    primary key (sequence_name)
+) engine = InnoDB;
+
+insert into id_sequences (sequence_name, next_val) select 'categories', coalesce(max(id), 0) + 50 from categories;
+insert into id_sequences (sequence_name, next_val) select 'distributions', coalesce(max(id), 0) + 50 from distributions;
+insert into id_sequences (sequence_name, next_val) select 'horaires', coalesce(max(id), 0) + 50 from horaires;
+insert into id_sequences (sequence_name, next_val) select 'magasins', coalesce(max(id), 0) + 50 from magasins;
+insert into id_sequences (sequence_name, next_val) select 'notificationses', coalesce(max(id), 0) + 50 from notificationses;
+insert into id_sequences (sequence_name, next_val) select 'permission_parent', coalesce(max(id), 0) + 50 from permission_parent;
+insert into id_sequences (sequence_name, next_val) select 'permissions', coalesce(max(id), 0) + 50 from permissions;
+insert into id_sequences (sequence_name, next_val) select 'recuperations', coalesce(max(id), 0) + 50 from recuperations;
+insert into id_sequences (sequence_name, next_val) select 'refresh_tokens', coalesce(max(id), 0) + 50 from refresh_tokens;
+insert into id_sequences (sequence_name, next_val) select 'revoked_tokens', coalesce(max(id), 0) + 50 from revoked_tokens;
+insert into id_sequences (sequence_name, next_val) select 'roles', coalesce(max(id), 0) + 50 from roles;
+insert into id_sequences (sequence_name, next_val) select 'teams', coalesce(max(id), 0) + 50 from teams;
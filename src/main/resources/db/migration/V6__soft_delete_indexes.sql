@@ -0,0 +1,46 @@
+-- API queries now carry "deleted is null" (see com.app.benevole.util.SoftDeletes). MySQL has no
+-- partial indexes, but NULL is an ordinary key in InnoDB: leading with deleted makes live rows one
+-- contiguous range, so a page scans live rows only, and the appended primary key still serves
+-- "order by id" and the keyset seeks. Indexes whose first column backs a foreign key keep it
+-- first, with deleted right after; both are equalities there.
+
+-- CategoryRepository: idx_categories_deleted (deleted) already serves the live and deleted pages.
+
+-- DistributionRepository.findAllProjectedBy / findProjectedAfter use idx_distributions_deleted
+drop index idx_distributions_status on distributions;
+create index idx_distributions_deleted_status on distributions (deleted, status);
+
+-- HoraireRepository.findAllProjectedBy / findProjectedAfter
+create index idx_horaires_deleted on horaires (deleted);
+drop index idx_horaires_start_end on horaires;
+create index idx_horaires_deleted_start_end on horaires (deleted, start_date, end_date);
+drop index idx_horaires_type_start on horaires;
+create index idx_horaires_deleted_type_start on horaires (deleted, type, start_date);
+
+drop index idx_magasins_name on magasins;
+create index idx_magasins_deleted_name on magasins (deleted, name);
+alter table magasins
+    drop index idx_magasins_category_name,
+    add index idx_magasins_category_deleted_name (category_id, deleted, name);
+
+-- NotificationsRepository.findAllProjectedBy / findProjectedAfter / findProjectedByUser[After]
+create index idx_notificationses_deleted on notificationses (deleted);
+create index idx_notificationses_user_deleted on notificationses (user_id, deleted);
+
+-- RecuperationRepository.findAllProjectedBy / findProjectedAfter
+create index idx_recuperations_deleted on recuperations (deleted);
+drop index idx_recuperations_start_end on recuperations;
+create index idx_recuperations_deleted_start_end on recuperations (deleted, start_date, end_date);
+drop index idx_recuperations_status on recuperations;
+create index idx_recuperations_deleted_status on recuperations (deleted, status);
+
+drop index idx_roles_name on roles;
+create index idx_roles_deleted_name on roles (deleted, name);
+
+drop index idx_teams_start_end on teams;
+create index idx_teams_deleted_start_end on teams (deleted, start_date, end_date);
+drop index idx_teams_name on teams;
+create index idx_teams_deleted_name on teams (deleted, name);
+alter table teams
+    drop index idx_teams_category_name,
+    add index idx_teams_category_deleted_name (category_id_id, deleted, name);
@@ -0,0 +1,43 @@
+-- Rows soft-deleted longer than application.softDelete.retentionDays are moved here by
+-- SoftDeletePurgeTask, together with the join rows they own. The columns are copied from the
+-- live tables so rows move with "insert ... select *". Only the primary key is kept: no foreign
+-- keys, and no unique keys, since a value freed by an archived row may be archived again later.
+
+create table notificationses_archive engine = InnoDB as select * from notificationses where 1 = 0;
+alter table notificationses_archive add primary key (id);
+
+create table distributions_archive engine = InnoDB as select * from distributions where 1 = 0;
+alter table distributions_archive add primary key (id);
+
+create table recuperations_archive engine = InnoDB as select * from recuperations where 1 = 0;
+alter table recuperations_archive add primary key (id);
+
+create table recuperation_magasins_archive engine = InnoDB as select * from recuperation_magasins where 1 = 0;
+alter table recuperation_magasins_archive add primary key (recuperation_id, magasin_id);
+
+create table horaires_archive engine = InnoDB as select * from horaires where 1 = 0;
+alter table horaires_archive add primary key (id);
+
+create table user_horaires_archive engine = InnoDB as select * from user_horaires where 1 = 0;
+alter table user_horaires_archive add primary key (user_id, horaire_id);
+
+create table teams_archive engine = InnoDB as select * from teams where 1 = 0;
+alter table teams_archive add primary key (id);
+
+create table user_teams_archive engine = InnoDB as select * from user_teams where 1 = 0;
+alter table user_teams_archive add primary key (user_id, team_id);
+
+create table magasins_archive engine = InnoDB as select * from magasins where 1 = 0;
+alter table magasins_archive add primary key (id);
+
+create table roles_archive engine = InnoDB as select * from roles where 1 = 0;
+alter table roles_archive add primary key (id);
+
+create table role_has_permissions_archive engine = InnoDB as select * from role_has_permissions where 1 = 0;
+alter table role_has_permissions_archive add primary key (role_id, permission_id);
+
+create table role_parents_archive engine = InnoDB as select * from role_parents where 1 = 0;
+alter table role_parents_archive add primary key (role_id, parent_id);
+
+create table categories_archive engine = InnoDB as select * from categories where 1 = 0;
+alter table categories_archive add primary key (id);
@@ -0,0 +1,18 @@
+-- One row per scheduled job, see com.app.benevole.scheduler.ScheduledJobRunner. A node runs the
+-- job only after moving locked_until forward itself; times come from the database clock so the
+-- nodes' own clocks never have to agree. The last_* columns record the outcome of the last runs.
+
+create table scheduled_job_lock
+(
+    name            varchar(64)  not null,
+    locked_until    datetime(3)  not null,
+    locked_at       datetime(3)  not null,
+    locked_by       varchar(255) not null,
+    last_success_at datetime(3),
+    last_duration   bigint,
+    last_rows       int,
+    last_failure_at datetime(3),
+    last_error      varchar(1000),
+    failures        int          not null default 0,
+    primary key (name)
+) engine = InnoDB;
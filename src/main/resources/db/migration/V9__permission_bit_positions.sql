@@ -0,0 +1,8 @@
+-- Dense bit position of each permission in the bitmaps keyed by PermissionIndex: access tokens,
+-- principals and role closures. Database ids are pooled (V5) and leave gaps of up to the
+-- allocation size, so they no longer make compact bit positions.
+-- PermissionIndex assigns the position of every row where it is null, in id order, and never
+-- changes one afterwards, so bitmaps decode the same on every node.
+alter table permissions
+    add column bit_position int,
+    add constraint uk_permissions_bit_position unique (bit_position);
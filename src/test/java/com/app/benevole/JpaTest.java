@@ -0,0 +1,28 @@
+package com.app.benevole;
+
+import org.springframework.boot.autoconfigure.AutoConfigurationPackage;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.ContextConfiguration;
+
+import java.lang.annotation.*;
+
+/**
+ * Repository slice on H2, see {@code application-test.yaml}. Boots the entities and repositories
+ * of the application without {@link BenevoleApplication}, whose seeding needs the full context.
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+@Inherited
+@DataJpaTest
+@ActiveProfiles("test")
+@ContextConfiguration(classes = JpaTest.Slice.class)
+public @interface JpaTest {
+
+    @Configuration(proxyBeanMethods = false)
+    @AutoConfigurationPackage(basePackageClasses = BenevoleApplication.class)
+    class Slice {
+    }
+}
@@ -0,0 +1,334 @@
+package com.app.benevole;
+
+import com.app.benevole.enums.Status;
+import com.app.benevole.enums.TeamType;
+import com.app.benevole.model.Category;
+import com.app.benevole.model.PermissionParent;
+import com.app.benevole.model.User;
+import com.app.benevole.repository.*;
+import com.app.benevole.util.SoftDeletes;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * EXPLAIN of the statements the repositories actually send, soft-delete filter on, against a
+ * database migrated by Flyway and seeded by {@code query-indexes-seed.sql}. Fails when MySQL plans
+ * a full scan or picks another index than the one the migrations added for the query.
+ * <p>
+ * Runs only when the MySQL server of application.yaml is reachable. It uses a database of its
+ * own, {@value #DATABASE}, created on first run and emptied by the seed.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@ContextConfiguration(classes = {JpaTest.Slice.class, QueryIndexesTests.StatementLog.class})
+@TestPropertySource(properties = "spring.datasource.url=" + QueryIndexesTests.URL)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@EnabledIf("mysqlReachable")
+class QueryIndexesTests {
+
+    static final String DATABASE = "benevole_explain";
+    static final String URL = "jdbc:mysql://localhost:3306/" + DATABASE + "?createDatabaseIfNotExist=true";
+
+    private static final PageRequest PAGE = PageRequest.of(0, 20);
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 1, 0, 0);
+
+    private static boolean seeded;
+
+    @Autowired
+    private StatementLog statementLog;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+    @Autowired
+    private DistributionRepository distributionRepository;
+    @Autowired
+    private HoraireRepository horaireRepository;
+    @Autowired
+    private MagasinRepository magasinRepository;
+    @Autowired
+    private NotificationsRepository notificationsRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+    @Autowired
+    private RecuperationRepository recuperationRepository;
+    @Autowired
+    private RefreshTokenRepository refreshTokenRepository;
+    @Autowired
+    private RevokedTokenRepository revokedTokenRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private TeamRepository teamRepository;
+    @Autowired
+    private UserRepository userRepository;
+
+    static boolean mysqlReachable() {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yaml"));
+        Properties properties = Objects.requireNonNull(yaml.getObject());
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = DriverManager.getConnection(URL,
+                properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"))) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @BeforeEach
+    void seed() {
+        if (!seeded) {
+            new ResourceDatabasePopulator(new ClassPathResource("query-indexes-seed.sql"))
+                    .execute(jdbcTemplate.getDataSource());
+            seeded = true;
+        }
+    }
+
+    @Test
+    void deletedCategories() {
+        assertPlan(() -> {
+            SoftDeletes.include(entityManager);
+            categoryRepository.findDeletedProjectedBy(PAGE);
+        }, "idx_categories_deleted", "idx_teams_category_deleted_name", "idx_magasins_category_deleted_name");
+    }
+
+    @Test
+    void distributions() {
+        assertPlan(() -> distributionRepository.findAllProjectedBy(PAGE), "idx_distributions_deleted");
+        assertPlan(() -> distributionRepository.findProjectedByStatus(Status.PENDING, PAGE),
+                "idx_distributions_deleted_status");
+    }
+
+    @Test
+    void hourlies() {
+        assertPlan(() -> horaireRepository.findAllProjectedBy(PAGE),
+                "idx_horaires_deleted", "fk_user_horaires_horaire");
+        assertPlan(() -> horaireRepository.findProjectedByType(TeamType.DISTRIBUTION, PAGE),
+                "idx_horaires_deleted_type");
+        assertPlan(() -> horaireRepository.findDistinctByStartDateAndEndDate(NOW, NOW.plusHours(2)),
+                "idx_horaires_deleted_start_end");
+        assertPlan(() -> horaireRepository.disableEndedBefore(NOW), "idx_horaires_state_end");
+    }
+
+    @Test
+    void stores() {
+        assertPlan(() -> magasinRepository.findAllProjectedBy(PAGE), "idx_magasins_deleted_name");
+        assertPlan(() -> magasinRepository.findProjectedAfter("store 2000", 2000L, PAGE),
+                "idx_magasins_deleted_name");
+        assertPlan(() -> magasinRepository.findProjectedByCategory(reference(Category.class, 1L), PAGE),
+                "idx_magasins_category_deleted_name");
+    }
+
+    @Test
+    void storesAvailableForATeam() {
+        assertPlan(() -> magasinRepository.findAvailableForTeam(1L, PAGE),
+                "idx_magasins_category_deleted_name", "fk_recuperation_magasins_magasin");
+        assertPlan(() -> magasinRepository.findAvailableForTeamAfter(1L, "store 2001", 2001L, PAGE),
+                "idx_magasins_category_deleted_name", "fk_recuperation_magasins_magasin");
+    }
+
+    @Test
+    void notifications() {
+        assertPlan(() -> notificationsRepository.findAllProjectedBy(PAGE), "idx_notificationses_deleted");
+        assertPlan(() -> notificationsRepository.findProjectedByUser(reference(User.class, userId(1)), PAGE),
+                "idx_notificationses_user_deleted");
+    }
+
+    @Test
+    void permissions() {
+        assertPlan(() -> permissionRepository.findProjectedAfter("permission 1000", 1000L, PAGE),
+                "idx_permissions_name");
+        assertPlan(() -> permissionRepository.findProjectedByParent(reference(PermissionParent.class, 1L), PAGE),
+                "idx_permissions_parent_name");
+    }
+
+    @Test
+    void recuperations() {
+        assertPlan(() -> recuperationRepository.findAllProjectedBy(PAGE), "idx_recuperations_deleted");
+        assertPlan(() -> recuperationRepository.findProjectedByStatus(Status.PENDING, PAGE),
+                "idx_recuperations_deleted_status");
+        assertPlan(() -> recuperationRepository.getRecuperationByStartAndEnd(NOW, NOW.plusHours(3)),
+                "idx_recuperations_deleted_start_end");
+    }
+
+    @Test
+    void roles() {
+        assertPlan(() -> roleRepository.findProjectedAfter("role 1000", 1000L, PAGE), "idx_roles_deleted_name");
+    }
+
+    @Test
+    void teams() {
+        assertPlan(() -> teamRepository.findAllProjectedBy(PAGE), "idx_teams_deleted_name");
+        assertPlan(() -> teamRepository.findProjectedAfter("team 2000", 2000L, PAGE), "idx_teams_deleted_name");
+        assertPlan(() -> teamRepository.findProjectedByCategoryId(reference(Category.class, 1L), PAGE),
+                "idx_teams_category_deleted_name");
+        assertPlan(() -> teamRepository.getTeamsByStartAndEnd(NOW, NOW.plusHours(3)),
+                "idx_teams_deleted_start_end");
+    }
+
+    @Test
+    void users() {
+        assertPlan(() -> userRepository.findProjectedAfter("user2000", userId(2000), PAGE), "idx_users_username");
+    }
+
+    @Test
+    void usersAvailableForAnHourly() {
+        assertPlan(() -> userRepository.findAvailableForHoraire(1L, PAGE), "fk_user_horaires_horaire");
+        assertPlan(() -> userRepository.findAvailableForHoraireAfter(1L, "user2000", userId(2000), PAGE),
+                "fk_user_horaires_horaire");
+    }
+
+    @Test
+    void tokens() {
+        assertPlan(() -> refreshTokenRepository.revokeFamily(String.format("%036x", 1)),
+                "idx_refresh_tokens_family");
+        assertPlan(() -> refreshTokenRepository.deleteExpired(userId(1), NOW), "idx_refresh_tokens_user_expires");
+        assertPlan(() -> revokedTokenRepository.findRevokedSince(NOW.minusMinutes(5), NOW),
+                "idx_revoked_tokens_revoked_at");
+        assertPlan(() -> revokedTokenRepository.deleteExpired(LocalDateTime.of(2026, 1, 1, 1, 0)),
+                "idx_revoked_tokens_expires_at");
+    }
+
+    /**
+     * Runs the query in a rolled back transaction and explains the last statement it sent. Every
+     * table of the plan must be read through an index, these among them.
+     */
+    private void assertPlan(Runnable query, String... indexes) {
+        TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+        Recorded statement = transaction.execute(status -> {
+            status.setRollbackOnly();
+            SoftDeletes.exclude(entityManager);
+            statementLog.clear();
+            query.run();
+            return statementLog.last();
+        });
+        List<Map<String, Object>> plan = jdbcTemplate.queryForList("explain " + statement.sql,
+                statement.parameters.toArray());
+
+        assertThat(plan).as(statement.sql)
+                .noneMatch(row -> "ALL".equals(row.get("type")))
+                .extracting(row -> row.get("key"))
+                .contains((Object[]) indexes);
+    }
+
+    private <T> T reference(Class<T> type, Object id) {
+        return entityManager.getReference(type, id);
+    }
+
+    private static UUID userId(long n) {
+        // the seed stores user n as unhex(lpad(hex(n), 32, '0'))
+        return new UUID(0, n);
+    }
+
+    static class Recorded {
+        final String sql;
+        final List<Object> parameters;
+
+        Recorded(String sql, List<Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Wraps the data source to record each prepared statement with its bound parameters.
+     */
+    static class StatementLog implements BeanPostProcessor {
+
+        private final List<Recorded> statements = new CopyOnWriteArrayList<>();
+
+        void clear() {
+            statements.clear();
+        }
+
+        Recorded last() {
+            return statements.get(statements.size() - 1);
+        }
+
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+            if (!(bean instanceof DataSource)) {
+                return bean;
+            }
+            return new DelegatingDataSource((DataSource) bean) {
+                @Override
+                public Connection getConnection() throws SQLException {
+                    Connection connection = super.getConnection();
+                    return proxy(Connection.class, connection, (method, args, result) ->
+                            method.getName().equals("prepareStatement")
+                                    ? record((String) args[0], (PreparedStatement) result) : result);
+                }
+            };
+        }
+
+        private PreparedStatement record(String sql, PreparedStatement statement) {
+            SortedMap<Integer, Object> parameters = new TreeMap<>();
+            return proxy(PreparedStatement.class, statement, (method, args, result) -> {
+                String name = method.getName();
+                if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer) {
+                    parameters.put((Integer) args[0], name.equals("setNull") ? null : args[1]);
+                } else if (name.startsWith("execute")) {
+                    statements.add(new Recorded(sql, new ArrayList<>(parameters.values())));
+                }
+                return result;
+            });
+        }
+
+        private interface Call {
+            Object after(Method method, Object[] args, Object result) throws SQLException;
+        }
+
+        @SuppressWarnings("unchecked")
+        private static <T> T proxy(Class<T> type, T target, Call call) {
+            return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+                try {
+                    return call.after(method, args, method.invoke(target, args));
+                } catch (InvocationTargetException e) {
+                    throw e.getTargetException();
+                }
+            });
+        }
+    }
+}
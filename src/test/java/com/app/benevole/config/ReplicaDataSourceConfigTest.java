@@ -0,0 +1,149 @@
+package com.app.benevole.config;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.User;
+import com.app.benevole.security.CustomUserDetails;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.sql.DataSource;
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Routes between two H2 databases, each holding a {@code node} row naming it, so a query tells
+ * which side served it.
+ */
+@JpaTest
+@Import({ReplicaDataSourceConfig.class, ReplicaDataSourceConfigTest.Probe.class, ReplicaDataSourceConfigTest.Metrics.class})
+@TestPropertySource(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing_primary;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=END,VALUE,KEY,YEAR,MONTH,DAY",
+        "application.datasource.replica.enabled=true",
+        "application.datasource.replica.url=jdbc:h2:mem:routing_replica;MODE=MySQL;DATABASE_TO_LOWER=TRUE",
+        "application.datasource.replica.lagWindow=60000"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ReplicaDataSourceConfigTest {
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primary;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replica;
+
+    @Autowired
+    private Probe probe;
+
+    @BeforeEach
+    void markNodes() {
+        mark(primary, "primary");
+        mark(replica, "replica");
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void sendsReadOnlyTransactionsToTheReplica() {
+        assertThat(probe.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void sendsWritesToThePrimary() {
+        assertThat(probe.write()).isEqualTo("primary");
+
+        assertThat(writes(primary)).isEqualTo(1);
+        assertThat(writes(replica)).isZero();
+    }
+
+    @Test
+    void keepsTheReadsOfAUserWhoJustWroteOnThePrimary() {
+        UUID writer = UUID.randomUUID();
+        signIn(writer, "alice");
+        probe.write();
+
+        assertThat(probe.read()).isEqualTo("primary");
+
+        signIn(UUID.randomUUID(), "alice");
+        assertThat(probe.read()).isEqualTo("replica");
+    }
+
+    @Test
+    void leavesAnonymousReadsOnTheReplica() {
+        signIn(UUID.randomUUID(), "alice");
+        probe.write();
+        SecurityContextHolder.clearContext();
+
+        assertThat(probe.read()).isEqualTo("replica");
+    }
+
+    private static void mark(DataSource dataSource, String name) {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        jdbc.execute("drop table if exists node");
+        jdbc.execute("create table node (name varchar(16) not null, writes int not null)");
+        jdbc.update("insert into node (name, writes) values (?, 0)", name);
+    }
+
+    private static int writes(DataSource dataSource) {
+        return new JdbcTemplate(dataSource).queryForObject("select writes from node", Integer.class);
+    }
+
+    private static void signIn(UUID id, String username) {
+        User user = User.builder().id(id).username(username).email(username + "@example.com")
+                .password("secret").enabled(true).roles(Set.of()).build();
+        CustomUserDetails principal = new CustomUserDetails(user, new BitSet(), List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+
+    static class Probe {
+
+        private final JdbcTemplate jdbc;
+
+        Probe(DataSource dataSource) {
+            this.jdbc = new JdbcTemplate(dataSource);
+        }
+
+        @Transactional(readOnly = true)
+        public String read() {
+            return jdbc.queryForObject("select name from node", String.class);
+        }
+
+        @Transactional
+        public String write() {
+            jdbc.update("update node set writes = writes + 1");
+            return jdbc.queryForObject("select name from node", String.class);
+        }
+    }
+
+    @TestConfiguration(proxyBeanMethods = false)
+    static class Metrics {
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.app.benevole.config;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ReplicaLagGuardTest {
+
+    @Test
+    void remembersWritesPerUserIdWithinTheWindow() {
+        ReplicaLagGuard guard = new ReplicaLagGuard(60000, 10);
+        UUID writer = UUID.randomUUID();
+
+        guard.recordWrite(writer);
+
+        assertThat(guard.wroteRecently(writer)).isTrue();
+        assertThat(guard.wroteRecently(UUID.randomUUID())).isFalse();
+    }
+
+    @Test
+    void forgetsWritesOnceTheWindowElapsed() {
+        ReplicaLagGuard guard = new ReplicaLagGuard(0, 10);
+        UUID writer = UUID.randomUUID();
+
+        guard.recordWrite(writer);
+
+        assertThat(guard.wroteRecently(writer)).isFalse();
+    }
+}
@@ -0,0 +1,100 @@
+package com.app.benevole.helper;
+
+import com.app.benevole.exception.InvalidCursorException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class CursorTest {
+
+    @Test
+    void roundTripsSortKeysContainingTheSeparator() {
+        Cursor cursor = Cursor.of(Cursor.encode(42L, "10:30 - équipe: nord!"));
+
+        assertThat(cursor.longId()).isEqualTo(42L);
+        assertThat(cursor.key()).isEqualTo("10:30 - équipe: nord!");
+    }
+
+    @Test
+    void roundTripsEmptyAndNullSortKeys() {
+        assertThat(Cursor.of(Cursor.encode(7L, "")).key()).isEmpty();
+        Cursor nullKey = Cursor.of(Cursor.encode(7L, null));
+        assertThat(nullKey.key()).isNull();
+        assertThat(nullKey.longId()).isEqualTo(7L);
+    }
+
+    @Test
+    void roundTripsUuidIds() {
+        UUID id = UUID.randomUUID();
+
+        Cursor cursor = Cursor.of(Cursor.encode(id, "jdoe"));
+
+        assertThat(cursor.uuidId()).isEqualTo(id);
+        assertThat(cursor.key()).isEqualTo("jdoe");
+    }
+
+    @Test
+    void leavesOffsetModeWithoutACursor() {
+        assertThat(Cursor.of(null)).isNull();
+        assertThat(Cursor.of(" ")).isNull();
+    }
+
+    @Test
+    void rejectsInvalidBase64() {
+        assertThatThrownBy(() -> Cursor.of("not base64!"))
+                .isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsValuesNotProducedByEncode() {
+        assertThatThrownBy(() -> Cursor.of(base64(":name"))).isInstanceOf(InvalidCursorException.class);
+        assertThatThrownBy(() -> Cursor.of(base64("!"))).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsAUuidCursorOnALongKeyedListing() {
+        Cursor cursor = Cursor.of(Cursor.encode(UUID.randomUUID(), "jdoe"));
+
+        assertThatThrownBy(cursor::longId).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsALongCursorOnAUuidKeyedListing() {
+        Cursor cursor = Cursor.of(Cursor.encode(42L, "jdoe"));
+
+        assertThatThrownBy(cursor::uuidId).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void rejectsAnIdCursorOnAKeyedListing() {
+        Cursor cursor = Cursor.of(Cursor.encode(42L));
+
+        assertThat(cursor.longId()).isEqualTo(42L);
+        assertThatThrownBy(cursor::key).isInstanceOf(InvalidCursorException.class);
+    }
+
+    @Test
+    void pointsPastTheLastRowOfAFullPage() {
+        ResponseEntity<List<Long>> page = Cursor.page(List.of(1L, 2L, 3L), 3, Cursor::encode);
+
+        assertThat(page.getBody()).containsExactly(1L, 2L, 3L);
+        assertThat(Cursor.of(page.getHeaders().getFirst(Cursor.HEADER)).longId()).isEqualTo(3L);
+    }
+
+    @Test
+    void endsTheListingOnAShortOrEmptyPage() {
+        assertThat(Cursor.page(List.of(1L, 2L), 3, Cursor::encode).getHeaders().containsKey(Cursor.HEADER)).isFalse();
+        assertThat(Cursor.page(List.<Long>of(), 3, Cursor::encode).getHeaders().containsKey(Cursor.HEADER)).isFalse();
+    }
+
+    private static String base64(String value) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,68 @@
+package com.app.benevole.jwt;
+
+import com.app.benevole.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.withSettings;
+
+/**
+ * {@link TokenRevocationList#isRevoked} for tokens that were never revoked, the case of nearly
+ * every request, with the bucket of their expiry empty and holding as many revocations as it is
+ * sized for.
+ * <p>
+ * Not part of the regular build, run it with {@code mvn test -Dtest=TokenRevocationListBenchmark}.
+ * The store answers false positives from memory, so the loaded figure leaves out the database
+ * round trip they cost in production, about one request in a hundred.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenRevocationListBenchmark {
+
+    private static final int EXPECTED_PER_BUCKET = 10000;
+
+    @Param({"0", "10000"})
+    public int revoked;
+
+    private TokenRevocationList list;
+    private Date expiration;
+    private String[] probes;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        list = new TokenRevocationList(mock(RevokedTokenRepository.class, withSettings().stubOnly()),
+                new SimpleMeterRegistry(), 900000, EXPECTED_PER_BUCKET, 0.01, 5000);
+        expiration = new Date(System.currentTimeMillis() + 3600000);
+        for (int i = 0; i < revoked; i++) {
+            list.revoke(UUID.randomUUID().toString(), expiration);
+        }
+        probes = new String[4096];
+        for (int i = 0; i < probes.length; i++) {
+            probes[i] = UUID.randomUUID().toString();
+        }
+    }
+
+    @Benchmark
+    public boolean isRevoked() {
+        return list.isRevoked(probes[next++ & (probes.length - 1)], expiration);
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(getClass().getName()).build()).run();
+    }
+}
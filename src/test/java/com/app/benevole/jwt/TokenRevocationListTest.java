@@ -0,0 +1,123 @@
+package com.app.benevole.jwt;
+
+import com.app.benevole.model.RevokedToken;
+import com.app.benevole.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Date;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class TokenRevocationListTest {
+
+    private static final long BUCKET_WIDTH = 900000;
+    private static final int EXPECTED_PER_BUCKET = 10000;
+    private static final double FALSE_POSITIVE_RATE = 0.01;
+
+    private final RevokedTokenRepository repository = mock(RevokedTokenRepository.class);
+    private final MeterRegistry registry = new SimpleMeterRegistry();
+    private final TokenRevocationList list = new TokenRevocationList(repository, registry,
+            BUCKET_WIDTH, EXPECTED_PER_BUCKET, FALSE_POSITIVE_RATE, 5000);
+
+    private final Date expiration = new Date(System.currentTimeMillis() + 3600000);
+
+    @Test
+    void reportsARevokedToken() {
+        String jti = UUID.randomUUID().toString();
+        when(repository.existsByJti(jti)).thenReturn(false, true);
+
+        list.revoke(jti, expiration);
+
+        assertThat(list.isRevoked(jti, expiration)).isTrue();
+        verify(repository).save(any(RevokedToken.class));
+    }
+
+    @Test
+    void clearsTokensOfAnEmptyBucketWithoutTheStore() {
+        list.revoke(UUID.randomUUID().toString(), expiration);
+        reset(repository);
+
+        Date otherBucket = new Date(expiration.getTime() + 2 * BUCKET_WIDTH);
+        assertThat(list.isRevoked(UUID.randomUUID().toString(), otherBucket)).isFalse();
+        assertThat(list.isRevoked(UUID.randomUUID().toString(), null)).isFalse();
+        assertThat(list.isRevoked(null, expiration)).isFalse();
+        verify(repository, never()).existsByJti(anyString());
+    }
+
+    @Test
+    void probesOnlyTheBucketOfTheTokensExpiry() {
+        String jti = UUID.randomUUID().toString();
+        list.revoke(jti, expiration);
+        reset(repository);
+
+        assertThat(list.isRevoked(jti, new Date(expiration.getTime() + BUCKET_WIDTH))).isFalse();
+        verify(repository, never()).existsByJti(anyString());
+    }
+
+    @Test
+    void ignoresTokensThatAlreadyExpired() {
+        list.revoke(UUID.randomUUID().toString(), new Date(System.currentTimeMillis() - 1000));
+
+        verifyNoInteractions(repository);
+    }
+
+    @Test
+    void staysNearTheConfiguredFalsePositiveRateWhenFull() {
+        Date sameBucket = new Date((expiration.getTime() / BUCKET_WIDTH) * BUCKET_WIDTH + 1000);
+        for (int i = 0; i < EXPECTED_PER_BUCKET; i++) {
+            list.revoke(UUID.randomUUID().toString(), sameBucket);
+        }
+
+        int probes = 100000;
+        for (int i = 0; i < probes; i++) {
+            assertThat(list.isRevoked(UUID.randomUUID().toString(), sameBucket)).isFalse();
+        }
+
+        double lookups = registry.counter("security.jwt.revocation.checks", "result", "lookup").count();
+        double cleared = registry.counter("security.jwt.revocation.checks", "result", "cleared").count();
+        assertThat(lookups + cleared).isEqualTo(probes);
+        assertThat(lookups / probes).isLessThan(FALSE_POSITIVE_RATE * 1.5);
+    }
+
+    @Test
+    void pullsRevocationsOfOtherNodesAndDropsExpiredBuckets() {
+        ReflectionTestUtils.setField(list, "EXPIRE_ACCESS_TOKEN", 3600000L);
+        String live = UUID.randomUUID().toString();
+        String expired = UUID.randomUUID().toString();
+        Date expiredAt = new Date(System.currentTimeMillis() - 2 * BUCKET_WIDTH);
+        when(repository.findRevokedSince(any(), any())).thenReturn(List.of(
+                revoked(live, expiration), revoked(expired, expiredAt)));
+        when(repository.existsByJti(live)).thenReturn(true);
+
+        list.load();
+
+        assertThat(list.isRevoked(live, expiration)).isTrue();
+        assertThat(list.isRevoked(expired, expiredAt)).isFalse();
+        verify(repository, never()).existsByJti(expired);
+    }
+
+    @Test
+    void skipsSchedulerRunsBeforeTheFirstLoad() {
+        list.sync();
+
+        verifyNoInteractions(repository);
+    }
+
+    private static RevokedToken revoked(String jti, Date expiration) {
+        return RevokedToken.builder()
+                .jti(jti)
+                .expiresAt(LocalDateTime.ofInstant(expiration.toInstant(), ZoneId.systemDefault()))
+                .revokedAt(LocalDateTime.now())
+                .build();
+    }
+}
@@ -0,0 +1,127 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Horaire;
+import com.app.benevole.model.Team;
+import com.app.benevole.model.User;
+import com.app.benevole.response.UserResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Volunteers of an horaire not in a team over its hours, computed as the endpoint did before,
+ * by loading the horaire's users and every team and removing members in memory, against
+ * {@link UserRepository#findAvailableForHoraire}.
+ * <p>
+ * Not part of the regular build, run it with {@code mvn test -Dtest=AvailableVolunteersBenchmark}.
+ * Teams span exactly the hours of the horaire, the only case the former code matched, so both
+ * sides return the same users.
+ */
+@JpaTest
+class AvailableVolunteersBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(AvailableVolunteersBenchmark.class);
+
+    private static final int VOLUNTEERS = 5000;
+    private static final int TEAMS = 200;
+    private static final int MEMBERS = 10;
+    private static final int SIZE = 20;
+    private static final int RUNS = 20;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HoraireRepository horaireRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Long hourly;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime start = LocalDateTime.of(2023, 3, 1, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+        Horaire horaire = entityManager.persist(Horaire.builder().startDate(start).endDate(end)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        List<Team> teams = new ArrayList<>(TEAMS);
+        for (int i = 0; i < TEAMS; i++) {
+            teams.add(entityManager.persist(Team.builder().name("team " + i).startDate(start).endDate(end)
+                    .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build()));
+        }
+        for (int i = 0; i < VOLUNTEERS; i++) {
+            entityManager.persist(User.builder().username(String.format("user %05d", i))
+                    .email("user" + i + "@example.com").password("secret").horaires(Set.of(horaire))
+                    .teams(i < TEAMS * MEMBERS ? Set.of(teams.get(i / MEMBERS)) : Set.of())
+                    .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+            if (i % 500 == 499) {
+                entityManager.flush();
+                entityManager.clear();
+                horaire = entityManager.find(Horaire.class, horaire.getId());
+                teams.replaceAll(team -> entityManager.find(Team.class, team.getId()));
+            }
+        }
+        entityManager.flush();
+        entityManager.clear();
+        hourly = horaire.getId();
+    }
+
+    @Test
+    void run() {
+        Supplier<List<UserResponse>> inMemory = () -> {
+            Horaire horaire = horaireRepository.findById(hourly).orElseThrow();
+            List<User> available = new ArrayList<>(horaire.getUsers());
+            teamRepository.getTeamsByStartAndEnd(horaire.getStartDate(), horaire.getEndDate())
+                    .forEach(team -> available.removeAll(team.getMembers()));
+            return available.stream().map(UserResponse::new).collect(Collectors.toList());
+        };
+        Supplier<List<UserResponse>> antiJoin = () -> userRepository.findAvailableForHoraire(hourly,
+                PageRequest.of(0, VOLUNTEERS));
+        Supplier<List<UserResponse>> page = () -> userRepository.findAvailableForHoraire(hourly,
+                PageRequest.of(0, SIZE));
+
+        assertThat(antiJoin.get()).hasSize(VOLUNTEERS - TEAMS * MEMBERS).extracting(UserResponse::getId)
+                .containsExactlyInAnyOrderElementsOf(inMemory.get().stream().map(UserResponse::getId)::iterator);
+
+        LOGGER.info("AvailableVolunteersBenchmark | run | {} volunteers, {} teams | in memory: {} ms | "
+                        + "anti-join: {} ms | anti-join, page of {}: {} ms",
+                VOLUNTEERS, TEAMS, time(inMemory), time(antiJoin), SIZE, time(page));
+    }
+
+    /**
+     * Clears the persistence context before every run, so that no run reads entities a previous one loaded.
+     */
+    private double time(Supplier<List<UserResponse>> query) {
+        for (int i = 0; i < RUNS; i++) {
+            entityManager.clear();
+            query.get();
+        }
+        long elapsed = 0;
+        for (int i = 0; i < RUNS; i++) {
+            entityManager.clear();
+            long start = System.nanoTime();
+            query.get();
+            elapsed += System.nanoTime() - start;
+        }
+        return elapsed / RUNS / 10_000 / 100.0;
+    }
+}
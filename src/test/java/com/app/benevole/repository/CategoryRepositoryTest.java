@@ -0,0 +1,73 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Category;
+import com.app.benevole.model.Magasin;
+import com.app.benevole.model.Team;
+import com.app.benevole.response.CategoryResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JpaTest
+class CategoryRepositoryTest {
+
+    @Autowired
+    private CategoryRepository categoryRepository;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private MagasinRepository magasinRepository;
+
+    @Test
+    void countsLiveTeamsAndStoresOnly() {
+        Category category = categoryRepository.save(Category.builder().name("food")
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        teamRepository.save(team(category, null));
+        teamRepository.save(team(category, null));
+        teamRepository.save(team(category, LocalDateTime.now()));
+        magasinRepository.save(magasin(category, "0100000001", null));
+        magasinRepository.save(magasin(category, "0100000002", LocalDate.now()));
+
+        List<CategoryResponse> listed = categoryRepository.findAllProjectedBy(PageRequest.of(0, 10));
+        List<Object[]> counted = categoryRepository.countTeamsAndStoresByIdIn(List.of(category.getId()));
+
+        assertThat(listed).singleElement().satisfies(response -> {
+            assertThat(response.getTeamSize()).isEqualTo(2);
+            assertThat(response.getStoreSize()).isEqualTo(1);
+        });
+        assertThat(counted).singleElement()
+                .satisfies(row -> assertThat(row).containsExactly(category.getId(), 2L, 1L));
+    }
+
+    @Test
+    void countsZeroForAnEmptyCategory() {
+        Category category = categoryRepository.save(Category.builder().name("empty")
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+
+        assertThat(categoryRepository.findProjectedAfter(category.getId() - 1, PageRequest.of(0, 10)))
+                .singleElement().satisfies(response -> {
+                    assertThat(response.getTeamSize()).isZero();
+                    assertThat(response.getStoreSize()).isZero();
+                });
+    }
+
+    private static Team team(Category category, LocalDateTime deleted) {
+        return Team.builder().name("team").categoryId(category).deleted(deleted)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build();
+    }
+
+    private static Magasin magasin(Category category, String phone, LocalDate deleted) {
+        return Magasin.builder().name("store").phone(phone).category(category).deleted(deleted)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build();
+    }
+}
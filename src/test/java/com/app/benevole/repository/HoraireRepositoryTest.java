@@ -0,0 +1,79 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Horaire;
+import com.app.benevole.model.User;
+import com.app.benevole.response.HoraireResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@JpaTest
+class HoraireRepositoryTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2023, 3, 1, 12, 0);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HoraireRepository horaireRepository;
+
+    @Test
+    void closesOnlyOpenHorairesThatEndedBeforeNow() {
+        Horaire ended = entityManager.persist(horaire(NOW.minusDays(1), true));
+        Horaire endedEarlier = entityManager.persist(horaire(NOW.minusDays(30), true));
+        Horaire endingNow = entityManager.persist(horaire(NOW, true));
+        Horaire upcoming = entityManager.persist(horaire(NOW.plusHours(1), true));
+        Horaire alreadyClosed = entityManager.persist(horaire(NOW.minusDays(2), false));
+        entityManager.flush();
+        entityManager.clear();
+
+        int closed = horaireRepository.disableEndedBefore(NOW);
+
+        assertThat(closed).isEqualTo(2);
+        assertThat(state(ended)).isFalse();
+        assertThat(state(endedEarlier)).isFalse();
+        assertThat(state(endingNow)).isTrue();
+        assertThat(state(upcoming)).isTrue();
+        assertThat(state(alreadyClosed)).isFalse();
+        assertThat(horaireRepository.disableEndedBefore(NOW)).isZero();
+    }
+
+    @Test
+    void countsRegisteredUsersInSql() {
+        Horaire busy = entityManager.persist(horaire(NOW, true));
+        Horaire empty = entityManager.persist(horaire(NOW, true));
+        for (String username : List.of("alice", "bob")) {
+            entityManager.persist(User.builder().username(username).email(username + "@example.com")
+                    .password("secret").horaires(Set.of(busy))
+                    .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(horaireRepository.findAllProjectedBy(PageRequest.of(0, 10)))
+                .extracting(HoraireResponse::getId, HoraireResponse::getTotalUsers)
+                .containsExactly(tuple(busy.getId(), 2), tuple(empty.getId(), 0));
+        assertThat(horaireRepository.countUsersByIdIn(List.of(busy.getId(), empty.getId())))
+                .singleElement().satisfies(row -> assertThat(row).containsExactly(busy.getId(), 2L));
+    }
+
+    private boolean state(Horaire horaire) {
+        return entityManager.find(Horaire.class, horaire.getId()).isState();
+    }
+
+    private static Horaire horaire(LocalDateTime end, boolean state) {
+        return Horaire.builder().startDate(end.minusHours(2)).endDate(end).state(state)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build();
+    }
+}
@@ -0,0 +1,81 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.response.RoleResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Page 1000 of the role listing read with an offset against the same page read past a cursor.
+ * <p>
+ * Not part of the regular build, run it with {@code mvn test -Dtest=KeysetPaginationBenchmark}.
+ * One name in ten is null so that the seek crosses the null-key branch of its clause.
+ */
+@JpaTest
+class KeysetPaginationBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(KeysetPaginationBenchmark.class);
+
+    private static final int SIZE = 20;
+    private static final int PAGE = 1000;
+    private static final int ROWS = (PAGE + 1) * SIZE;
+    private static final int RUNS = 200;
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        // the schema of this slice comes from the entities, add the index of V2 the seek relies on
+        jdbcTemplate.execute("create index idx_roles_name on roles (name)");
+        // H2 answers a repeated query on an unchanged table from its last result otherwise
+        jdbcTemplate.execute("set optimize_reuse_results 0");
+        Timestamp now = new Timestamp(System.currentTimeMillis());
+        List<Object[]> rows = new ArrayList<>(ROWS);
+        for (int i = 1; i <= ROWS; i++) {
+            rows.add(new Object[]{(long) i, i % 10 == 0 ? null : String.format("role %06d", i % 5000), now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into roles (id, name, date_created, last_updated) values (?, ?, ?, ?)", rows);
+    }
+
+    @Test
+    void run() {
+        List<RoleResponse> previous = roleRepository.findAllProjectedBy(PageRequest.of(PAGE - 1, SIZE));
+        RoleResponse last = previous.get(previous.size() - 1);
+        Supplier<List<RoleResponse>> offset = () -> roleRepository.findAllProjectedBy(PageRequest.of(PAGE, SIZE));
+        Supplier<List<RoleResponse>> keyset = () -> roleRepository.findProjectedAfter(last.getName(), last.getId(),
+                PageRequest.of(0, SIZE));
+
+        assertThat(keyset.get()).extracting(RoleResponse::getId)
+                .containsExactlyElementsOf(offset.get().stream().map(RoleResponse::getId)::iterator);
+
+        LOGGER.info("KeysetPaginationBenchmark | run | page {} of {} rows | offset: {} us | keyset: {} us",
+                PAGE, SIZE, time(offset), time(keyset));
+    }
+
+    private static long time(Supplier<List<RoleResponse>> query) {
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < RUNS; i++) {
+            query.get();
+        }
+        return (System.nanoTime() - start) / RUNS / 1000;
+    }
+}
@@ -0,0 +1,101 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Category;
+import com.app.benevole.model.Magasin;
+import com.app.benevole.model.Recuperation;
+import com.app.benevole.model.Team;
+import com.app.benevole.response.MagasinResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JpaTest
+class MagasinRepositoryTest {
+
+    private static final LocalDateTime START = LocalDateTime.of(2023, 3, 1, 10, 0);
+    private static final LocalDateTime END = START.plusHours(2);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private MagasinRepository magasinRepository;
+
+    private int phones;
+
+    @Test
+    void offersStoresWhoseRecuperationsOnlyTouchTheTeamOrWereDeleted() {
+        Category category = category("food");
+        Team team = entityManager.persist(Team.builder().name("north").categoryId(category)
+                .startDate(START).endDate(END)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        booked(magasin("a before", category), START.minusHours(2), START, null);
+        booked(magasin("b after", category), END, END.plusHours(2), null);
+        booked(magasin("c overlapping end", category), START.plusHours(1), END.plusHours(1), null);
+        booked(magasin("d overlapping start", category), START.minusMinutes(1), START.plusMinutes(1), null);
+        booked(magasin("e containing", category), START.minusHours(1), END.plusHours(1), null);
+        booked(magasin("f inside", category), START.plusMinutes(30), END.minusMinutes(30), null);
+        booked(magasin("g deleted recuperation", category), START, END, LocalDateTime.now());
+        magasin("h never booked", category);
+        Magasin deleted = magasin("i deleted store", category);
+        deleted.setDeleted(LocalDate.now());
+        magasin("j other category", category("clothes"));
+        entityManager.flush();
+        entityManager.clear();
+
+        List<MagasinResponse> available = magasinRepository.findAvailableForTeam(team.getId(), PageRequest.of(0, 10));
+
+        assertThat(available).extracting(MagasinResponse::getName)
+                .containsExactly("a before", "b after", "g deleted recuperation", "h never booked");
+        MagasinResponse second = available.get(1);
+        assertThat(magasinRepository.findAvailableForTeamAfter(team.getId(), second.getName(), second.getId(),
+                PageRequest.of(0, 10))).extracting(MagasinResponse::getName)
+                .containsExactly("g deleted recuperation", "h never booked");
+    }
+
+    @Test
+    void projectsTheCategoryAsASummaryAndKeepsStoresWithoutOne() {
+        Category category = category("food");
+        Magasin filed = magasin("a filed", category);
+        Magasin unfiled = magasin("b unfiled", null);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<MagasinResponse> stores = magasinRepository.findAllProjectedBy(PageRequest.of(0, 10));
+
+        assertThat(stores).extracting(MagasinResponse::getId).containsExactly(filed.getId(), unfiled.getId());
+        assertThat(stores.get(0).getCategory()).satisfies(summary -> {
+            assertThat(summary.getId()).isEqualTo(category.getId());
+            assertThat(summary.getName()).isEqualTo("food");
+            assertThat(summary.getTeamSize()).isNull();
+            assertThat(summary.getStoreSize()).isNull();
+        });
+        assertThat(stores.get(1).getCategory()).isNull();
+    }
+
+    private Category category(String name) {
+        return entityManager.persist(Category.builder().name(name)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+
+    private Magasin magasin(String name, Category category) {
+        return entityManager.persist(Magasin.builder().name(name).phone(String.valueOf(++phones)).category(category)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+
+    private void booked(Magasin magasin, LocalDateTime start, LocalDateTime end, LocalDateTime deleted) {
+        entityManager.persist(Recuperation.builder().startDate(start).endDate(end).deleted(deleted)
+                .magasins(Set.of(magasin))
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+}
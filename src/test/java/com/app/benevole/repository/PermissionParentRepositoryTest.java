@@ -0,0 +1,38 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Permission;
+import com.app.benevole.model.PermissionParent;
+import com.app.benevole.response.PermissionParentResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@JpaTest
+class PermissionParentRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PermissionParentRepository repository;
+
+    @Test
+    void countsPermissionsOfEachGroupInSql() {
+        PermissionParent teams = entityManager.persist(PermissionParent.builder().name("teams").build());
+        PermissionParent empty = entityManager.persist(PermissionParent.builder().name("empty").build());
+        entityManager.persist(new Permission("read team", teams));
+        entityManager.persist(new Permission("update team", teams));
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(repository.findAllProjectedBy(PageRequest.of(0, 10)))
+                .extracting(PermissionParentResponse::getId, PermissionParentResponse::getName,
+                        PermissionParentResponse::getPermissions)
+                .containsExactly(tuple(empty.getId(), "empty", 0), tuple(teams.getId(), "teams", 2));
+    }
+}
@@ -0,0 +1,92 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Permission;
+import com.app.benevole.model.PermissionParent;
+import org.hibernate.BaseSessionEventListener;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * JDBC executions of the session, counted by {@link Executions}: a batch counts once however
+ * many rows it carries, a statement sent on its own counts as a single.
+ */
+@JpaTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.session.events.auto="
+        + "com.app.benevole.repository.PermissionRepositoryTest$Executions")
+class PermissionRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private PermissionRepository permissionRepository;
+
+    private PermissionParent teams;
+
+    @BeforeEach
+    void setUp() {
+        teams = entityManager.persist(PermissionParent.builder().name("teams").build());
+        entityManager.flush();
+        Executions.reset();
+    }
+
+    @Test
+    void insertsRowsInBatchesOfTheGeneratorsAllocation() {
+        List<Permission> permissions = IntStream.range(0, 120)
+                .mapToObj(i -> new Permission("permission " + i, teams)).collect(Collectors.toList());
+
+        permissionRepository.saveAll(permissions);
+        entityManager.flush();
+
+        assertThat(permissions).extracting(Permission::getId).doesNotContainNull().doesNotHaveDuplicates();
+        assertThat(Executions.BATCHES.get()).isEqualTo(3);
+        // only the id_sequences round trips of the generator, a few per 50 ids instead of one insert per row
+        assertThat(Executions.SINGLES.get()).isLessThan(10);
+    }
+
+    @Test
+    void batchesUpdatesOfManyRows() {
+        List<Permission> permissions = permissionRepository.saveAll(IntStream.range(0, 60)
+                .mapToObj(i -> new Permission("permission " + i, teams)).collect(Collectors.toList()));
+        entityManager.flush();
+        Executions.reset();
+
+        permissions.forEach(permission -> permission.setName(permission.getName() + " renamed"));
+        entityManager.flush();
+
+        assertThat(Executions.BATCHES.get()).isEqualTo(2);
+        assertThat(Executions.SINGLES.get()).isZero();
+    }
+
+    public static class Executions extends BaseSessionEventListener {
+
+        static final AtomicInteger BATCHES = new AtomicInteger();
+        static final AtomicInteger SINGLES = new AtomicInteger();
+
+        static void reset() {
+            BATCHES.set(0);
+            SINGLES.set(0);
+        }
+
+        @Override
+        public void jdbcExecuteBatchStart() {
+            BATCHES.incrementAndGet();
+        }
+
+        @Override
+        public void jdbcExecuteStatementStart() {
+            SINGLES.incrementAndGet();
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.helper.Cursor;
+import com.app.benevole.model.Role;
+import com.app.benevole.response.RoleResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@JpaTest
+class RoleRepositoryTest {
+
+    @Autowired
+    private RoleRepository roleRepository;
+
+    @Test
+    void keysetPagesMatchTheOffsetOrderAcrossNullAndDuplicateNames() {
+        for (String name : Arrays.asList("b", null, "a:1", "b", null, "a", "c", "b", null)) {
+            roleRepository.save(role(name));
+        }
+        List<Long> expected = roleRepository.findAllProjectedBy(PageRequest.of(0, 100)).stream()
+                .map(RoleResponse::getId).collect(Collectors.toList());
+
+        List<Long> actual = new ArrayList<>();
+        List<RoleResponse> page = roleRepository.findAllProjectedBy(PageRequest.of(0, 2));
+        while (!page.isEmpty()) {
+            page.forEach(role -> actual.add(role.getId()));
+            RoleResponse last = page.get(page.size() - 1);
+            Cursor cursor = Cursor.of(Cursor.encode(last.getId(), last.getName()));
+            page = roleRepository.findProjectedAfter(cursor.key(), cursor.longId(), PageRequest.of(0, 2));
+        }
+
+        assertThat(expected).hasSize(9);
+        assertThat(actual).containsExactlyElementsOf(expected);
+    }
+
+    private static Role role(String name) {
+        Role role = new Role();
+        role.setName(name);
+        role.setDateCreated(OffsetDateTime.now());
+        role.setLastUpdated(OffsetDateTime.now());
+        return role;
+    }
+}
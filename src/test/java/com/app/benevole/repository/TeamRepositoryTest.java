@@ -0,0 +1,93 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Category;
+import com.app.benevole.model.Distribution;
+import com.app.benevole.model.Recuperation;
+import com.app.benevole.model.Team;
+import com.app.benevole.response.DistributionResponse;
+import com.app.benevole.response.RecuperationResponse;
+import com.app.benevole.response.TeamResponse;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+/**
+ * Shapes of the team listings and of the distribution and recuperation listings pointing at teams.
+ */
+@JpaTest
+class TeamRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private TeamRepository teamRepository;
+
+    @Autowired
+    private DistributionRepository distributionRepository;
+
+    @Autowired
+    private RecuperationRepository recuperationRepository;
+
+    @Test
+    void projectsAssociationsAsIdsAndKeepsTeamsWithoutThem() {
+        Category category = entityManager.persist(Category.builder().name("food")
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        Team delivering = entityManager.persist(team("a delivering", category));
+        Team collecting = entityManager.persist(team("b collecting", category));
+        Team idle = entityManager.persist(team("c idle", null));
+        Distribution distribution = entityManager.persist(Distribution.builder().team(delivering)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        Recuperation recuperation = entityManager.persist(Recuperation.builder().team(collecting)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        List<TeamResponse> teams = teamRepository.findAllProjectedBy(PageRequest.of(0, 10));
+
+        assertThat(teams).extracting(TeamResponse::getId, TeamResponse::getCategoryId,
+                        TeamResponse::getDistributionId, TeamResponse::getRecuperationId)
+                .containsExactly(
+                        tuple(delivering.getId(), category.getId(), distribution.getId(), null),
+                        tuple(collecting.getId(), category.getId(), null, recuperation.getId()),
+                        tuple(idle.getId(), null, null, null));
+        assertThat(teams).allSatisfy(team -> {
+            assertThat(team.getCategory()).isNull();
+            assertThat(team.getDistribution()).isNull();
+            assertThat(team.getRecuperation()).isNull();
+        });
+    }
+
+    @Test
+    void projectsTheTeamOfDistributionsAndRecuperationsAsAnId() {
+        Team team = entityManager.persist(team("north", null));
+        Distribution assigned = entityManager.persist(Distribution.builder().team(team)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        Distribution unassigned = entityManager.persist(Distribution.builder()
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        Recuperation recuperation = entityManager.persist(Recuperation.builder()
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        entityManager.flush();
+        entityManager.clear();
+
+        assertThat(distributionRepository.findAllProjectedBy(PageRequest.of(0, 10)))
+                .extracting(DistributionResponse::getId, DistributionResponse::getTeamId)
+                .containsExactly(tuple(assigned.getId(), team.getId()), tuple(unassigned.getId(), null));
+        assertThat(recuperationRepository.findAllProjectedBy(PageRequest.of(0, 10)))
+                .extracting(RecuperationResponse::getId, RecuperationResponse::getTeamId)
+                .containsExactly(tuple(recuperation.getId(), null));
+    }
+
+    private static Team team(String name, Category category) {
+        return Team.builder().name(name).categoryId(category)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build();
+    }
+}
@@ -0,0 +1,140 @@
+package com.app.benevole.repository;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.*;
+import com.app.benevole.response.UserResponse;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Statements issued by the user lookups, counted by Hibernate statistics (enabled in the test profile).
+ */
+@JpaTest
+class UserRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    private Statistics statistics;
+    private Role role;
+    private Team team;
+    private Horaire horaire;
+    private User first;
+
+    @BeforeEach
+    void setUp() {
+        PermissionParent parent = entityManager.persist(PermissionParent.builder().name("teams").build());
+        Permission read = entityManager.persist(new Permission("read team", parent));
+        Permission update = entityManager.persist(new Permission("update team", parent));
+        role = entityManager.persist(Role.builder().name("admin").permissions(Set.of(read))
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        team = entityManager.persist(Team.builder().name("north")
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        horaire = entityManager.persist(Horaire.builder().startDate(LocalDateTime.now()).endDate(LocalDateTime.now())
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        first = entityManager.persist(user("first", update));
+        entityManager.persist(user("second", update));
+        entityManager.flush();
+        entityManager.clear();
+
+        statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void listsTeamMembersInOneStatementWithoutTheirGrants() {
+        assertMembersOnly(userRepository.findAllByTeams(team));
+    }
+
+    @Test
+    void listsHoraireMembersInOneStatementWithoutTheirGrants() {
+        assertMembersOnly(userRepository.findAllByHoraires(horaire));
+    }
+
+    @Test
+    void listsRoleHoldersInOneStatementWithoutTheirGrants() {
+        assertMembersOnly(userRepository.findAllByRoles(role));
+    }
+
+    @Test
+    void loadsThePrincipalGraphInOneStatement() {
+        User user = userRepository.findPrincipalById(first.getId()).orElseThrow();
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(Hibernate.isInitialized(user.getRoles())).isTrue();
+        assertThat(Hibernate.isInitialized(user.getPermissions())).isTrue();
+        assertThat(user.getRoles()).extracting(Role::getName).containsExactly("admin");
+        assertThat(user.getPermissions()).extracting(Permission::getName).containsExactly("update team");
+    }
+
+    @Test
+    void offersHoraireMembersWhoseTeamsOnlyTouchItOrWereDeleted() {
+        LocalDateTime start = LocalDateTime.of(2023, 3, 1, 10, 0);
+        LocalDateTime end = start.plusHours(2);
+        Horaire slot = entityManager.persist(Horaire.builder().startDate(start).endDate(end)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        registered(slot, "a before", team(start.minusHours(2), start, null));
+        registered(slot, "b after", team(end, end.plusHours(2), null));
+        registered(slot, "c overlapping end", team(start.plusHours(1), end.plusHours(1), null));
+        registered(slot, "d overlapping start", team(start.minusMinutes(1), start.plusMinutes(1), null));
+        registered(slot, "e containing", team(start.minusHours(1), end.plusHours(1), null));
+        registered(slot, "f inside", team(start.plusMinutes(30), end.minusMinutes(30), null));
+        registered(slot, "g deleted team", team(start, end, LocalDateTime.now()));
+        registered(slot, "h no team", null);
+        entityManager.flush();
+        entityManager.clear();
+
+        List<UserResponse> available = userRepository.findAvailableForHoraire(slot.getId(), PageRequest.of(0, 10));
+
+        assertThat(available).extracting(UserResponse::getUsername)
+                .containsExactly("a before", "b after", "g deleted team", "h no team");
+        UserResponse second = available.get(1);
+        assertThat(userRepository.findAvailableForHoraireAfter(slot.getId(), second.getUsername(), second.getId(),
+                PageRequest.of(0, 10))).extracting(UserResponse::getUsername)
+                .containsExactly("g deleted team", "h no team");
+    }
+
+    private Team team(LocalDateTime start, LocalDateTime end, LocalDateTime deleted) {
+        return entityManager.persist(Team.builder().name("team").startDate(start).endDate(end).deleted(deleted)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+
+    private void registered(Horaire horaire, String username, Team team) {
+        entityManager.persist(User.builder().username(username).email(username.replace(' ', '.') + "@example.com")
+                .password("secret").horaires(Set.of(horaire)).teams(team == null ? Set.of() : Set.of(team))
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+
+    private void assertMembersOnly(List<User> users) {
+        assertThat(users).extracting(User::getUsername).containsExactlyInAnyOrder("first", "second");
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(users).allSatisfy(user -> {
+            assertThat(Hibernate.isInitialized(user.getRoles())).isFalse();
+            assertThat(Hibernate.isInitialized(user.getPermissions())).isFalse();
+        });
+    }
+
+    private User user(String username, Permission permission) {
+        return User.builder().username(username).email(username + "@example.com").password("secret")
+                .roles(Set.of(role)).permissions(Set.of(permission))
+                .teams(Set.of(team)).horaires(Set.of(horaire))
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build();
+    }
+}
@@ -0,0 +1,142 @@
+package com.app.benevole.scheduler;
+
+import com.app.benevole.repository.JobLockRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.context.annotation.AnnotationConfigApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Map;
+import java.util.OptionalInt;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Two nodes, each its own application context and connection, sharing one H2 database in MySQL
+ * mode with the lock table of V8.
+ */
+class ScheduledJobRunnerTest {
+
+    private static final String URL = "jdbc:h2:mem:locks;MODE=MySQL;DB_CLOSE_DELAY=-1";
+    private static final String JOB = "test.job";
+    private static final Duration AT_MOST = Duration.ofMinutes(10);
+
+    private AnnotationConfigApplicationContext first;
+    private AnnotationConfigApplicationContext second;
+
+    @BeforeEach
+    void setUp() {
+        first = new AnnotationConfigApplicationContext(Node.class);
+        second = new AnnotationConfigApplicationContext(Node.class);
+        JdbcTemplate jdbcTemplate = first.getBean(JdbcTemplate.class);
+        jdbcTemplate.execute("drop table if exists scheduled_job_lock");
+        new ResourceDatabasePopulator(new ClassPathResource("db/migration/V8__scheduled_job_lock.sql"))
+                .execute(first.getBean(DataSource.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        first.close();
+        second.close();
+    }
+
+    @Test
+    void skipsWhileAnotherNodeHoldsTheLease() {
+        int[] nested = new int[1];
+
+        OptionalInt outer = runner(first).run(JOB, AT_MOST, Duration.ZERO, () -> {
+            nested[0] = runner(second).run(JOB, AT_MOST, Duration.ZERO, () -> 1).orElse(-1);
+            return 2;
+        });
+
+        assertThat(outer).hasValue(2);
+        assertThat(nested[0]).isEqualTo(-1);
+        assertThat(second.getBean(MeterRegistry.class).counter("scheduled.job.skipped", "job", JOB).count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    void takesAnExpiredLeaseOverWithTheConditionalUpdate() {
+        assertThat(runner(first).run(JOB, AT_MOST, Duration.ZERO, () -> 3)).hasValue(3);
+
+        assertThat(runner(second).run(JOB, AT_MOST, Duration.ZERO, () -> 4)).hasValue(4);
+
+        Map<String, Object> lock = lock();
+        assertThat(lock.get("locked_by")).isEqualTo(owner(second));
+        assertThat(lock.get("last_rows")).isEqualTo(4);
+    }
+
+    @Test
+    void keepsTheLeaseForAtLeastAfterARun() throws InterruptedException {
+        runner(first).run(JOB, AT_MOST, Duration.ofMillis(500), () -> 1);
+
+        assertThat(runner(second).run(JOB, AT_MOST, Duration.ZERO, () -> 2)).isEmpty();
+        Thread.sleep(600);
+        assertThat(runner(second).run(JOB, AT_MOST, Duration.ZERO, () -> 2)).hasValue(2);
+    }
+
+    @Test
+    void shortensTheLeaseAndRecordsAFailure() {
+        OptionalInt failed = runner(first).run(JOB, AT_MOST, Duration.ZERO, () -> {
+            throw new IllegalStateException("boom");
+        });
+
+        assertThat(failed).isEmpty();
+        Map<String, Object> lock = lock();
+        assertThat(lock.get("failures")).isEqualTo(1);
+        assertThat((String) lock.get("last_error")).contains("boom");
+        assertThat(runner(second).run(JOB, AT_MOST, Duration.ZERO, () -> 1)).hasValue(1);
+    }
+
+    private Map<String, Object> lock() {
+        return first.getBean(JdbcTemplate.class).queryForMap("select * from scheduled_job_lock where name = ?", JOB);
+    }
+
+    private static ScheduledJobRunner runner(AnnotationConfigApplicationContext node) {
+        return node.getBean(ScheduledJobRunner.class);
+    }
+
+    private static String owner(AnnotationConfigApplicationContext node) {
+        return (String) ReflectionTestUtils.getField(runner(node), "owner");
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    static class Node {
+
+        @Bean
+        DataSource dataSource() {
+            return new DriverManagerDataSource(URL, "sa", "");
+        }
+
+        @Bean
+        JdbcTemplate jdbcTemplate(DataSource dataSource) {
+            return new JdbcTemplate(dataSource);
+        }
+
+        @Bean
+        MeterRegistry meterRegistry() {
+            return new SimpleMeterRegistry();
+        }
+
+        @Bean
+        JobLockRepository jobLockRepository(JdbcTemplate jdbcTemplate) {
+            return new JobLockRepository(jdbcTemplate);
+        }
+
+        @Bean
+        ScheduledJobRunner scheduledJobRunner(JobLockRepository locks, MeterRegistry registry) {
+            return new ScheduledJobRunner(locks, registry);
+        }
+    }
+}
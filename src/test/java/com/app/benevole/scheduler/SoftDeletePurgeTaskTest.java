@@ -0,0 +1,144 @@
+package com.app.benevole.scheduler;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Distribution;
+import com.app.benevole.model.Horaire;
+import com.app.benevole.model.Team;
+import com.app.benevole.model.User;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.test.context.transaction.BeforeTransaction;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.OptionalInt;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.IntSupplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Purges on the H2 repository slice, with archive tables copied from the live tables the way
+ * {@code V7__soft_delete_archive} does. Batches of one id, so that every table loops.
+ */
+@JpaTest
+class SoftDeletePurgeTaskTest {
+
+    private static final List<String> ARCHIVED = List.of("notificationses", "distributions", "recuperations",
+            "recuperation_magasins", "horaires", "user_horaires", "teams", "user_teams", "magasins", "roles",
+            "role_has_permissions", "role_parents", "categories");
+
+    private static final LocalDateTime EXPIRED = LocalDateTime.now().minusDays(100);
+    private static final LocalDateTime RECENT = LocalDateTime.now().minusDays(10);
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private NamedParameterJdbcTemplate namedParameterJdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private SoftDeletePurgeTask task;
+
+    @BeforeTransaction
+    void createArchives() {
+        for (String table : ARCHIVED) {
+            jdbcTemplate.execute("create table if not exists " + table + "_archive as select * from " + table
+                    + " where 1 = 0");
+        }
+    }
+
+    @BeforeEach
+    void setUp() {
+        ScheduledJobRunner jobRunner = mock(ScheduledJobRunner.class);
+        when(jobRunner.run(anyString(), any(), any(), any()))
+                .thenAnswer(invocation -> OptionalInt.of(invocation.<IntSupplier>getArgument(3).getAsInt()));
+        task = new SoftDeletePurgeTask(namedParameterJdbcTemplate, transactionManager, jobRunner, 90, 1);
+    }
+
+    @Test
+    void archivesExpiredRowsWithTheJoinRowsTheyOwn() {
+        Team expired = team("expired", EXPIRED);
+        Team recent = team("recent", RECENT);
+        Horaire first = horaire(EXPIRED);
+        Horaire second = horaire(EXPIRED);
+        User member = user("member", Set.of(expired, recent), Set.of(first, second));
+        entityManager.flush();
+
+        task.purge();
+
+        assertThat(ids("teams")).containsExactly(recent.getId());
+        assertThat(ids("teams_archive")).containsExactly(expired.getId());
+        assertThat(ids("horaires")).isEmpty();
+        assertThat(ids("horaires_archive")).containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(joined("user_teams", "team_id", member)).containsExactly(recent.getId());
+        assertThat(joined("user_teams_archive", "team_id", member)).containsExactly(expired.getId());
+        assertThat(joined("user_horaires", "horaire_id", member)).isEmpty();
+        assertThat(joined("user_horaires_archive", "horaire_id", member))
+                .containsExactlyInAnyOrder(first.getId(), second.getId());
+        assertThat(jdbcTemplate.queryForObject("select name from teams_archive", String.class)).isEqualTo("expired");
+    }
+
+    @Test
+    void keepsExpiredRowsStillReferencedByLiveRows() {
+        Team referenced = team("referenced", EXPIRED);
+        entityManager.persist(Distribution.builder().location("Lyon").team(referenced)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        User member = user("member", Set.of(referenced), Set.of());
+        entityManager.flush();
+
+        task.purge();
+
+        assertThat(ids("teams")).containsExactly(referenced.getId());
+        assertThat(ids("teams_archive")).isEmpty();
+        assertThat(joined("user_teams", "team_id", member)).containsExactly(referenced.getId());
+        assertThat(joined("user_teams_archive", "team_id", member)).isEmpty();
+    }
+
+    private List<Long> ids(String table) {
+        return jdbcTemplate.queryForList("select id from " + table, Long.class);
+    }
+
+    private List<Long> joined(String table, String column, User user) {
+        return jdbcTemplate.queryForList("select " + column + " from " + table + " where user_id = ?", Long.class,
+                uuidBytes(user.getId()));
+    }
+
+    private static byte[] uuidBytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits())
+                .putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private Team team(String name, LocalDateTime deleted) {
+        return entityManager.persist(Team.builder().name(name).deleted(deleted)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+
+    private Horaire horaire(LocalDateTime deleted) {
+        return entityManager.persist(Horaire.builder().startDate(LocalDateTime.now()).endDate(LocalDateTime.now())
+                .deleted(deleted).dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+
+    private User user(String username, Set<Team> teams, Set<Horaire> horaires) {
+        return entityManager.persist(User.builder().username(username).email(username + "@example.com")
+                .password("secret").teams(teams).horaires(horaires)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+    }
+}
@@ -0,0 +1,73 @@
+package com.app.benevole.security;
+
+import com.app.benevole.model.User;
+import com.app.benevole.repository.RoleRepository;
+import com.app.benevole.repository.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class GrantsVersionServiceTest {
+
+    private final UserRepository userRepository = mock(UserRepository.class);
+    private final GrantsVersionService service = new GrantsVersionService(userRepository, mock(RoleRepository.class),
+            new PrincipalCache(10, 60000, new SimpleMeterRegistry()), mock(RolePermissionResolver.class),
+            10, 600000);
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void servesVersionsFromMemoryWhileTheGenerationStands() {
+        when(userRepository.findGrantsVersionById(userId)).thenReturn(Optional.of(3L));
+        when(userRepository.findGrantsGeneration()).thenReturn(7L);
+        service.sync();
+
+        assertThat(service.current(userId)).isEqualTo(3);
+        service.sync();
+        assertThat(service.current(userId)).isEqualTo(3);
+
+        verify(userRepository, times(1)).findGrantsVersionById(userId);
+    }
+
+    @Test
+    void rereadsVersionsOnceAnotherNodeMovedTheGeneration() {
+        when(userRepository.findGrantsVersionById(userId)).thenReturn(Optional.of(3L), Optional.of(4L));
+        when(userRepository.findGrantsGeneration()).thenReturn(7L);
+        service.sync();
+        service.current(userId);
+
+        when(userRepository.findGrantsGeneration()).thenReturn(8L);
+        service.sync();
+
+        assertThat(service.current(userId)).isEqualTo(4);
+    }
+
+    @Test
+    void dropsAVersionReadBeforeAnInvalidation() {
+        when(userRepository.findGrantsVersionById(userId)).thenAnswer(invocation -> {
+            service.forget(userId);
+            return Optional.of(3L);
+        }).thenReturn(Optional.of(4L));
+
+        assertThat(service.current(userId)).isEqualTo(3);
+        assertThat(service.current(userId)).isEqualTo(4);
+    }
+
+    @Test
+    void movesTheGenerationWithGrantsChangesOnly() {
+        User user = User.builder().id(userId).build();
+
+        service.forget(userId);
+        verify(userRepository, never()).incrementGrantsGeneration();
+
+        service.bump(user);
+        service.forgetEverywhere(userId);
+        service.bumpAll();
+        verify(userRepository, times(3)).incrementGrantsGeneration();
+        assertThat(user.getGrantsVersion()).isEqualTo(1);
+    }
+}
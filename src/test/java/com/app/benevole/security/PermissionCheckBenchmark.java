@@ -0,0 +1,94 @@
+package com.app.benevole.security;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.core.GrantedAuthority;
+
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Permission checks of the former SpEL expression root, which streamed the principal's authorities
+ * into a fresh list per call, against the bit tests of {@link CustomUserDetails}.
+ * <p>
+ * Not part of the regular build, run it with {@code mvn test -Dtest=PermissionCheckBenchmark}.
+ * Every required permission is granted, so the string checks scan as far as they ever do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PermissionCheckBenchmark {
+
+    @Param({"20", "60", "200"})
+    public int granted;
+
+    private CustomUserDetails principal;
+    private String[] required;
+    private int[] requiredIds;
+    private String[] any;
+    private int[] anyIds;
+
+    @Setup
+    public void setUp() {
+        List<String> names = IntStream.range(0, granted).mapToObj(i -> "permission " + i).collect(Collectors.toList());
+        BitSet bits = new BitSet();
+        bits.set(0, granted);
+        principal = new CustomUserDetails(UUID.randomUUID(), "user@example.com", "user", 0,
+                List.of("user"), bits, names);
+        required = new String[]{names.get(granted / 2), names.get(granted - 1)};
+        requiredIds = new int[]{granted / 2, granted - 1};
+        any = new String[]{"not granted", names.get(granted - 1)};
+        anyIds = new int[]{granted, granted - 1};
+    }
+
+    @Benchmark
+    public boolean hasPermissionByName() {
+        List<String> names = principal.getPermissions().stream()
+                .filter(Objects::nonNull).map(GrantedAuthority::getAuthority)
+                .collect(Collectors.toList());
+        return Arrays.stream(required).filter(name -> !name.isEmpty()).allMatch(names::contains);
+    }
+
+    @Benchmark
+    public boolean hasPermissionByBit() {
+        for (int id : requiredIds) {
+            if (!principal.hasPermission(id)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Benchmark
+    public boolean hasAnyPermissionByName() {
+        for (String name : any) {
+            if (principal.getPermissions().stream().map(GrantedAuthority::getAuthority).anyMatch(name::equals)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Benchmark
+    public boolean hasAnyPermissionByBit() {
+        for (int id : anyIds) {
+            if (principal.hasPermission(id)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Test
+    void run() throws RunnerException {
+        new Runner(new OptionsBuilder().include(getClass().getName()).build()).run();
+    }
+}
@@ -0,0 +1,81 @@
+package com.app.benevole.security;
+
+import com.app.benevole.repository.PermissionRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.util.BitSet;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+class PermissionIndexTest {
+
+    private final PermissionRepository permissionRepository = mock(PermissionRepository.class);
+    private final PermissionIndex index = new PermissionIndex(permissionRepository);
+
+    @Test
+    void keysBitmapsByBitPositionRatherThanId() {
+        when(permissionRepository.findAllBits()).thenReturn(List.of(
+                row(51L, "read teams", 0), row(101L, "read team", 1), row(151L, "create team", 2)));
+
+        index.refresh();
+
+        assertThat(index.idOf("create team")).isEqualTo(2);
+        assertThat(index.idOf("unknown")).isEqualTo(-1);
+        BitSet bits = index.encode(List.of("read teams", "create team"));
+        assertThat(bits.toLongArray()).containsExactly(0b101L);
+        assertThat(index.decode(bits)).containsExactly("read teams", "create team");
+        verify(permissionRepository, never()).assignBitPosition(anyLong(), anyInt());
+    }
+
+    @Test
+    void assignsNextPositionsInIdOrder() {
+        when(permissionRepository.findAllBits())
+                .thenReturn(List.of(row(51L, "read teams", 0), row(101L, "read team", null), row(151L, "create team", null)))
+                .thenReturn(List.of(row(51L, "read teams", 0), row(101L, "read team", 1), row(151L, "create team", 2)));
+        when(permissionRepository.findMaxBitPosition()).thenReturn(0);
+        when(permissionRepository.assignBitPosition(anyLong(), anyInt())).thenReturn(1);
+
+        index.refresh();
+
+        verify(permissionRepository).assignBitPosition(101L, 1);
+        verify(permissionRepository).assignBitPosition(151L, 2);
+        assertThat(index.idOf("read team")).isEqualTo(1);
+    }
+
+    @Test
+    void startsOverWhenAnotherNodeTookAPosition() {
+        when(permissionRepository.findAllBits())
+                .thenReturn(List.of(row(101L, "read team", null), row(151L, "create team", null)))
+                .thenReturn(List.of(row(101L, "read team", 0), row(151L, "create team", null)))
+                .thenReturn(List.of(row(101L, "read team", 0), row(151L, "create team", 1)));
+        when(permissionRepository.findMaxBitPosition()).thenReturn(-1, 0);
+        when(permissionRepository.assignBitPosition(101L, 0)).thenReturn(1);
+        when(permissionRepository.assignBitPosition(151L, 1))
+                .thenThrow(new DataIntegrityViolationException("uk_permissions_bit_position"))
+                .thenReturn(1);
+
+        index.refresh();
+
+        verify(permissionRepository, times(2)).assignBitPosition(151L, 1);
+        assertThat(index.nameOf(1)).isEqualTo("create team");
+    }
+
+    @Test
+    void countsReloads() {
+        when(permissionRepository.findAllBits()).thenReturn(List.of());
+
+        long before = index.generation();
+        index.refresh();
+
+        assertThat(index.generation()).isEqualTo(before + 1);
+    }
+
+    private static Object[] row(Long id, String name, Integer position) {
+        return new Object[]{id, name, position};
+    }
+}
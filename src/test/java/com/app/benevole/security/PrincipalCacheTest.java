@@ -0,0 +1,80 @@
+package com.app.benevole.security;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PrincipalCacheTest {
+
+    private final PrincipalCache cache = new PrincipalCache(10, 60000, new SimpleMeterRegistry());
+    private final UUID userId = UUID.randomUUID();
+
+    @Test
+    void servesSecondLookupFromMemory() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(userId, id -> principal(id, loads.incrementAndGet()));
+        CustomUserDetails principal = cache.get(userId, id -> principal(id, loads.incrementAndGet()));
+
+        assertThat(loads).hasValue(1);
+        assertThat(principal.getGrantsVersion()).isEqualTo(1);
+    }
+
+    @Test
+    void dropsLoadRacingAnEviction() {
+        AtomicInteger loads = new AtomicInteger();
+
+        CustomUserDetails stale = cache.get(userId, id -> {
+            CustomUserDetails loaded = principal(id, loads.incrementAndGet());
+            cache.evict(id);
+            return loaded;
+        });
+        CustomUserDetails fresh = cache.get(userId, id -> principal(id, loads.incrementAndGet()));
+
+        assertThat(stale.getGrantsVersion()).isEqualTo(1);
+        assertThat(fresh.getGrantsVersion()).isEqualTo(2);
+        assertThat(cache.get(userId, id -> principal(id, loads.incrementAndGet())).getGrantsVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void dropsLoadRacingAClear() {
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get(userId, id -> {
+            CustomUserDetails loaded = principal(id, loads.incrementAndGet());
+            cache.clear();
+            return loaded;
+        });
+        CustomUserDetails fresh = cache.get(userId, id -> principal(id, loads.incrementAndGet()));
+
+        assertThat(fresh.getGrantsVersion()).isEqualTo(2);
+    }
+
+    @Test
+    void reloadsAfterAFailedLoad() {
+        AtomicInteger loads = new AtomicInteger();
+
+        try {
+            cache.get(userId, id -> {
+                loads.incrementAndGet();
+                throw new IllegalStateException("database down");
+            });
+        } catch (IllegalStateException expected) {
+            // the placeholder stays behind and must not be served
+        }
+        CustomUserDetails principal = cache.get(userId, id -> principal(id, loads.incrementAndGet()));
+
+        assertThat(principal.getGrantsVersion()).isEqualTo(2);
+    }
+
+    private static CustomUserDetails principal(UUID id, long grantsVersion) {
+        return new CustomUserDetails(id, "user@example.com", "user", grantsVersion,
+                List.of("user"), new BitSet(), List.of());
+    }
+}
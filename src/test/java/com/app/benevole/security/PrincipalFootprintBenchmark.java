@@ -0,0 +1,123 @@
+package com.app.benevole.security;
+
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Heap retained by 10k cached principals of a super admin, walked with JOL, and the bytes one
+ * {@code getAuthorities()} call allocates. {@link FormerPrincipal} keeps the fields and the
+ * {@code getAuthorities()} of {@link CustomUserDetails} before authorities were interned: one
+ * {@link SimpleGrantedAuthority} and one name string per entry and principal.
+ * <p>
+ * Not part of the regular build, run it with {@code mvn test -Dtest=PrincipalFootprintBenchmark}.
+ * Names are copied per principal, as each load from the database materialises its own strings.
+ */
+class PrincipalFootprintBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(PrincipalFootprintBenchmark.class);
+
+    private static final int PRINCIPALS = 10_000;
+    private static final int CALLS = 100_000;
+    private static final List<String> ROLES = List.of("ROLE_SUPER_ADMIN", "ROLE_ADMIN");
+    private static final List<String> PERMISSIONS = IntStream.range(0, 68)
+            .mapToObj(i -> (i % 2 == 0 ? "read " : "update ") + "resource " + i / 2)
+            .collect(Collectors.toList());
+
+    @Test
+    void run() {
+        BitSet bits = new BitSet();
+        bits.set(0, PERMISSIONS.size());
+        List<FormerPrincipal> former = new ArrayList<>(PRINCIPALS);
+        List<CustomUserDetails> current = new ArrayList<>(PRINCIPALS);
+        for (int i = 0; i < PRINCIPALS; i++) {
+            UUID id = UUID.randomUUID();
+            former.add(new FormerPrincipal(id, "user" + i + "@example.com", "user" + i, copy(ROLES), bits,
+                    copy(PERMISSIONS)));
+            current.add(new CustomUserDetails(id, "user" + i + "@example.com", "user" + i, 0, copy(ROLES), bits,
+                    copy(PERMISSIONS)));
+        }
+        long formerBytes = GraphLayout.parseInstance(former).totalSize();
+        long currentBytes = GraphLayout.parseInstance(current).totalSize();
+        long formerCall = allocatedPerCall(former.get(0)::getAuthorities);
+        long currentCall = allocatedPerCall(current.get(0)::getAuthorities);
+
+        LOGGER.info("PrincipalFootprintBenchmark | run | {} principals of {} authorities | former: {} KB retained, "
+                        + "{} B per getAuthorities() | interned: {} KB retained, {} B per getAuthorities()",
+                PRINCIPALS, ROLES.size() + PERMISSIONS.size(), formerBytes / 1024, formerCall,
+                currentBytes / 1024, currentCall);
+        assertThat(currentBytes).isLessThan(formerBytes);
+    }
+
+    private static List<String> copy(List<String> names) {
+        return names.stream().map(String::new).collect(Collectors.toList());
+    }
+
+    private static long allocatedPerCall(Supplier<Collection<? extends GrantedAuthority>> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        int sink = 0;
+        for (int i = 0; i < CALLS; i++) {
+            sink += call.get().size();
+        }
+        long before = threads.getThreadAllocatedBytes(thread);
+        for (int i = 0; i < CALLS; i++) {
+            sink += call.get().size();
+        }
+        long allocated = threads.getThreadAllocatedBytes(thread) - before;
+        assertThat(sink).isPositive();
+        return allocated / CALLS;
+    }
+
+    private static class FormerPrincipal {
+
+        private final UUID id;
+        private final String email;
+        private final String username;
+        private final String password;
+        private final boolean enabled;
+        private final long grantsVersion;
+        private final List<GrantedAuthority> roles;
+        private final List<GrantedAuthority> permissions;
+        private final long[] permissionBits;
+
+        private FormerPrincipal(UUID id, String email, String username, Collection<String> roles,
+                                BitSet permissionBits, Collection<String> permissions) {
+            this.id = id;
+            this.email = email;
+            this.username = username;
+            this.password = null;
+            this.enabled = true;
+            this.grantsVersion = 0;
+            this.roles = Collections.unmodifiableList(roles.stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList()));
+            this.permissions = Collections.unmodifiableList(permissions.stream()
+                    .map(SimpleGrantedAuthority::new)
+                    .collect(Collectors.toList()));
+            this.permissionBits = permissionBits.toLongArray();
+        }
+
+        private Collection<? extends GrantedAuthority> getAuthorities() {
+            List<GrantedAuthority> authorities = new ArrayList<>();
+            for (GrantedAuthority role : roles) {
+                authorities.add(new SimpleGrantedAuthority(role.getAuthority()));
+            }
+            for (GrantedAuthority perm : permissions) {
+                authorities.add(new SimpleGrantedAuthority(perm.getAuthority()));
+            }
+            return authorities;
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.app.benevole.security;
+
+import com.app.benevole.model.Role;
+import com.app.benevole.repository.RoleRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.BitSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.*;
+
+class RolePermissionResolverTest {
+
+    private final RoleRepository roleRepository = mock(RoleRepository.class);
+    private final RolePermissionResolver resolver = new RolePermissionResolver(roleRepository);
+
+    @Test
+    void inheritsPermissionsOfParentRoles() {
+        when(roleRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(roleRepository.findAllPermissionBits()).thenReturn(List.of(pair(1L, 3), pair(2L, 5)));
+        when(roleRepository.findAllParentIds()).thenReturn(List.<Object[]>of(pair(2L, 1L)));
+
+        BitSet bits = resolver.resolve(Set.of(role(2L)));
+
+        assertThat(bits.stream()).containsExactly(3, 5);
+    }
+
+    @Test
+    void reloadsOnlyWhenTheGraphVersionMoved() {
+        when(roleRepository.findAllIds()).thenReturn(List.of(1L));
+        when(roleRepository.findAllParentIds()).thenReturn(List.of());
+        when(roleRepository.findAllPermissionBits())
+                .thenReturn(List.<Object[]>of(pair(1L, 3)))
+                .thenReturn(List.of());
+        when(roleRepository.findGraphVersion()).thenReturn(4L);
+        resolver.refresh();
+
+        assertThat(resolver.resolve(Set.of(role(1L))).stream()).containsExactly(3);
+        assertThat(resolver.resolve(Set.of(role(1L))).stream()).containsExactly(3);
+        verify(roleRepository, times(1)).findAllPermissionBits();
+
+        when(roleRepository.findGraphVersion()).thenReturn(5L);
+        assertThat(resolver.resolve(Set.of(role(1L))).isEmpty()).isTrue();
+        verify(roleRepository, times(2)).findAllPermissionBits();
+    }
+
+    @Test
+    void recomputesOnlyTheChangedRoleAfterALocalCommit() {
+        when(roleRepository.findAllIds()).thenReturn(List.of(1L, 2L));
+        when(roleRepository.findAllPermissionBits()).thenReturn(List.of(pair(1L, 3), pair(2L, 5)));
+        when(roleRepository.findAllParentIds()).thenReturn(List.<Object[]>of(pair(2L, 1L)));
+        when(roleRepository.findGraphVersion()).thenReturn(4L);
+        resolver.refresh();
+        when(roleRepository.findPermissionBitsById(1L)).thenReturn(List.of(7));
+        when(roleRepository.findParentIdsById(1L)).thenReturn(List.of());
+
+        when(roleRepository.findGraphVersion()).thenReturn(5L);
+        commit(() -> resolver.refreshRoleAfterCommit(1L));
+
+        verify(roleRepository).incrementGraphVersion();
+        assertThat(resolver.resolve(Set.of(role(2L))).stream()).containsExactly(5, 7);
+        verify(roleRepository, times(1)).findAllPermissionBits();
+    }
+
+    @Test
+    void reloadsEverythingWhenAnotherNodeChangedTheGraphToo() {
+        when(roleRepository.findAllIds()).thenReturn(List.of(1L));
+        when(roleRepository.findAllParentIds()).thenReturn(List.of());
+        when(roleRepository.findAllPermissionBits())
+                .thenReturn(List.<Object[]>of(pair(1L, 3)))
+                .thenReturn(List.<Object[]>of(pair(1L, 8)));
+        when(roleRepository.findGraphVersion()).thenReturn(4L);
+        resolver.refresh();
+
+        when(roleRepository.findGraphVersion()).thenReturn(6L);
+        commit(() -> resolver.refreshRoleAfterCommit(1L));
+
+        verify(roleRepository, never()).findPermissionBitsById(1L);
+        assertThat(resolver.resolve(Set.of(role(1L))).stream()).containsExactly(8);
+    }
+
+    private static void commit(Runnable work) {
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            work.run();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    private static Object[] pair(Long left, Object right) {
+        return new Object[]{left, right};
+    }
+
+    private static Role role(Long id) {
+        Role role = new Role("role " + id);
+        role.setId(id);
+        return role;
+    }
+}
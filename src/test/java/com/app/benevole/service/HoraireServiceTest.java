@@ -0,0 +1,66 @@
+package com.app.benevole.service;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.model.Horaire;
+import com.app.benevole.model.User;
+import com.app.benevole.repository.HoraireRepository;
+import com.app.benevole.response.HoraireResponse;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@JpaTest
+@Import(HoraireService.class)
+class HoraireServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private HoraireRepository horaireRepository;
+
+    @Autowired
+    private HoraireService horaireService;
+
+    @Test
+    void countsUsersOfAllHourliesInOneQueryWithoutLoadingThem() {
+        Horaire busy = entityManager.persist(horaire());
+        Horaire empty = entityManager.persist(horaire());
+        for (String username : List.of("alice", "bob", "carol")) {
+            entityManager.persist(User.builder().username(username).email(username + "@example.com")
+                    .password("secret").horaires(Set.of(busy))
+                    .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        }
+        entityManager.flush();
+        entityManager.clear();
+        List<Horaire> hourlies = horaireRepository.findAllById(List.of(busy.getId(), empty.getId()));
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+                .unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        List<HoraireResponse> responses = horaireService.toResponses(hourlies);
+
+        assertThat(responses).extracting(HoraireResponse::getId, HoraireResponse::getTotalUsers)
+                .containsExactlyInAnyOrder(tuple(busy.getId(), 3), tuple(empty.getId(), 0));
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+        assertThat(hourlies).noneMatch(horaire -> Hibernate.isInitialized(horaire.getUsers()));
+    }
+
+    private static Horaire horaire() {
+        LocalDateTime start = LocalDateTime.of(2023, 3, 1, 10, 0);
+        return Horaire.builder().startDate(start).endDate(start.plusHours(2))
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build();
+    }
+}
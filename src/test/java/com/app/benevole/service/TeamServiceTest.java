@@ -0,0 +1,117 @@
+package com.app.benevole.service;
+
+import com.app.benevole.JpaTest;
+import com.app.benevole.enums.TeamType;
+import com.app.benevole.exception.UnknownMembersException;
+import com.app.benevole.model.Category;
+import com.app.benevole.model.Team;
+import com.app.benevole.model.User;
+import com.app.benevole.repository.TeamMemberRepository;
+import com.app.benevole.request.TeamRequest;
+import com.app.benevole.util.NotFoundException;
+import com.app.benevole.util.TimeOrderedUuidGenerator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@JpaTest
+@Import({TeamService.class, TeamMemberRepository.class})
+class TeamServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TeamService teamService;
+
+    private Category category;
+    private Team team;
+    private UUID alice;
+    private UUID bob;
+
+    @BeforeEach
+    void setUp() {
+        category = entityManager.persist(Category.builder().name("food")
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        team = entityManager.persist(Team.builder().name("north").categoryId(category)
+                .dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build());
+        alice = user("alice");
+        bob = user("bob");
+        entityManager.flush();
+    }
+
+    @Test
+    void addsKnownMembersOnce() {
+        teamService.addTeamMembers(team.getId(), List.of(alice, bob, alice));
+        teamService.addTeamMember(team.getId(), bob);
+
+        assertThat(memberships()).isEqualTo(2);
+    }
+
+    @Test
+    void listsEveryUnknownMemberAndAddsNone() {
+        UUID first = TimeOrderedUuidGenerator.next();
+        UUID second = TimeOrderedUuidGenerator.next();
+
+        assertThatThrownBy(() -> teamService.addTeamMembers(team.getId(), List.of(alice, first, bob, second, first)))
+                .isInstanceOfSatisfying(UnknownMembersException.class,
+                        e -> assertThat(e.getMembers()).containsExactly(first, second));
+        assertThat(memberships()).isZero();
+    }
+
+    @Test
+    void listsUnknownMembersAndRemovesNone() {
+        teamService.addTeamMembers(team.getId(), List.of(alice, bob));
+        UUID unknown = TimeOrderedUuidGenerator.next();
+
+        assertThatThrownBy(() -> teamService.removeTeamMembers(team.getId(), List.of(alice, unknown)))
+                .isInstanceOfSatisfying(UnknownMembersException.class,
+                        e -> assertThat(e.getMembers()).containsExactly(unknown));
+        assertThat(memberships()).isEqualTo(2);
+    }
+
+    @Test
+    void rejectsUnknownMembersBeforeCreatingTheTeam() {
+        UUID unknown = TimeOrderedUuidGenerator.next();
+        TeamRequest request = new TeamRequest();
+        request.setName("south");
+        request.setType(TeamType.DISTRIBUTION);
+        request.setCategoryId(category.getId());
+        request.setMembers(List.of(alice, unknown));
+
+        assertThatThrownBy(() -> teamService.create(request))
+                .isInstanceOfSatisfying(UnknownMembersException.class,
+                        e -> assertThat(e.getMembers()).containsExactly(unknown));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from teams", Integer.class)).isEqualTo(1);
+    }
+
+    @Test
+    void checksTheTeamBeforeItsMembers() {
+        assertThatThrownBy(() -> teamService.addTeamMembers(team.getId() + 1, List.of(TimeOrderedUuidGenerator.next())))
+                .isInstanceOf(NotFoundException.class);
+    }
+
+    private UUID user(String username) {
+        return entityManager.persist(User.builder().username(username).email(username + "@example.com")
+                .password("secret").dateCreated(OffsetDateTime.now()).lastUpdated(OffsetDateTime.now()).build())
+                .getId();
+    }
+
+    private int memberships() {
+        return jdbcTemplate.queryForObject("select count(*) from user_teams where team_id = ?", Integer.class,
+                team.getId());
+    }
+}
@@ -0,0 +1,95 @@
+package com.app.benevole.util;
+
+import com.app.benevole.security.CustomUserDetails;
+import com.app.benevole.security.PermissionIndex;
+import org.hibernate.Session;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.orm.jpa.EntityManagerHolder;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.persistence.EntityManager;
+import javax.persistence.EntityManagerFactory;
+import java.util.BitSet;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+class SoftDeleteInterceptorTest {
+
+    private static final int INCLUDE_BIT = 4;
+
+    private final EntityManagerFactory entityManagerFactory = mock(EntityManagerFactory.class);
+    private final PermissionIndex permissionIndex = mock(PermissionIndex.class);
+    private final Session session = mock(Session.class);
+    private final SoftDeleteInterceptor interceptor = new SoftDeleteInterceptor(entityManagerFactory, permissionIndex);
+
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+
+    SoftDeleteInterceptorTest() {
+        EntityManager entityManager = mock(EntityManager.class);
+        when(entityManager.unwrap(Session.class)).thenReturn(session);
+        TransactionSynchronizationManager.bindResource(entityManagerFactory, new EntityManagerHolder(entityManager));
+        when(permissionIndex.idOf(SoftDeletes.INCLUDE_PERMISSION)).thenReturn(INCLUDE_BIT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.unbindResource(entityManagerFactory);
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void hidesDeletedRowsByDefault() {
+        authenticate(new BitSet());
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+
+        verify(session).enableFilter(SoftDeletes.FILTER);
+    }
+
+    @Test
+    void includesDeletedRowsForHoldersOfThePermission() {
+        BitSet bits = new BitSet();
+        bits.set(INCLUDE_BIT);
+        authenticate(bits);
+        request.setParameter(SoftDeletes.INCLUDE_PARAMETER, "true");
+
+        assertThat(interceptor.preHandle(request, new MockHttpServletResponse(), null)).isTrue();
+
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void rejectsIncludeDeletedWithoutThePermission() {
+        authenticate(new BitSet());
+        request.setParameter(SoftDeletes.INCLUDE_PARAMETER, "true");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, new MockHttpServletResponse(), null))
+                .isInstanceOf(AccessDeniedException.class);
+        verifyNoInteractions(session);
+    }
+
+    @Test
+    void rejectsIncludeDeletedFromAnonymousCallers() {
+        request.setParameter(SoftDeletes.INCLUDE_PARAMETER, "true");
+
+        assertThatThrownBy(() -> interceptor.preHandle(request, new MockHttpServletResponse(), null))
+                .isInstanceOf(AccessDeniedException.class);
+    }
+
+    private static void authenticate(BitSet bits) {
+        CustomUserDetails principal = new CustomUserDetails(UUID.randomUUID(), "user@example.com", "user", 0,
+                List.of("user"), bits, List.of());
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+    }
+}
@@ -0,0 +1,78 @@
+package com.app.benevole.util;
+
+import org.hibernate.type.UUIDBinaryType;
+import org.hibernate.type.descriptor.java.JavaTypeDescriptor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TimeOrderedUuidGeneratorTest {
+
+    private static final JavaTypeDescriptor<UUID> BINARY = UUIDBinaryType.INSTANCE.getJavaTypeDescriptor();
+
+    @Test
+    void setsVersionSevenAndTheRfcVariant() {
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        assertThat(id.version()).isEqualTo(7);
+        assertThat(id.variant()).isEqualTo(2);
+    }
+
+    @Test
+    void startsWithTheCurrentMillisecond() {
+        long before = System.currentTimeMillis();
+        UUID id = TimeOrderedUuidGenerator.next();
+        long after = System.currentTimeMillis();
+
+        // more than 2048 ids a millisecond, as other tests draw, carry the counter past the clock
+        assertThat(millis(id)).isBetween(before, after + 1000);
+    }
+
+    @Test
+    void increasesWithinOneMillisecondAsStoredBytes() {
+        UUID previous = TimeOrderedUuidGenerator.next();
+        int sameMillisecond = 0;
+        for (int i = 0; i < 100000; i++) {
+            UUID id = TimeOrderedUuidGenerator.next();
+
+            assertThat(Arrays.compareUnsigned(BINARY.unwrap(id, byte[].class, null),
+                    BINARY.unwrap(previous, byte[].class, null))).as(id.toString()).isPositive();
+            if (millis(id) == millis(previous)) {
+                sameMillisecond++;
+            }
+            previous = id;
+        }
+
+        assertThat(sameMillisecond).isGreaterThan(1000);
+    }
+
+    @Test
+    void roundTripsThroughBinaryColumns() {
+        UUID id = TimeOrderedUuidGenerator.next();
+
+        byte[] bytes = BINARY.unwrap(id, byte[].class, null);
+
+        assertThat(bytes).hasSize(16);
+        assertThat(bytes[6] >>> 4).isEqualTo(7);
+        assertThat(BINARY.wrap(bytes, null)).isEqualTo(id);
+    }
+
+    @Test
+    void staysUniqueAcrossThreads() {
+        Set<UUID> ids = ConcurrentHashMap.newKeySet();
+
+        IntStream.range(0, 200000).parallel().forEach(i -> ids.add(TimeOrderedUuidGenerator.next()));
+
+        assertThat(ids).hasSize(200000);
+    }
+
+    private static long millis(UUID id) {
+        return id.getMostSignificantBits() >>> 16;
+    }
+}
@@ -0,0 +1,119 @@
+package com.app.benevole.util;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIf;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.config.YamlPropertiesFactoryBean;
+import org.springframework.core.io.ClassPathResource;
+
+import java.nio.ByteBuffer;
+import java.sql.*;
+import java.util.Objects;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Inserts into a table shaped like {@code users}, keyed by random version 4 UUIDs against the
+ * version 7 UUIDs of {@link TimeOrderedUuidGenerator}, both stored as {@code BINARY(16)}. Logs
+ * the insert rate and the leaf pages of the clustered index InnoDB ends up with.
+ * <p>
+ * Not part of the regular build, run it with {@code mvn test -Dtest=UuidInsertBenchmark}. Needs
+ * the MySQL server of application.yaml and uses a database of its own, {@value #DATABASE}.
+ */
+@EnabledIf("mysqlReachable")
+class UuidInsertBenchmark {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(UuidInsertBenchmark.class);
+
+    static final String DATABASE = "benevole_bench";
+    static final String URL = "jdbc:mysql://localhost:3306/" + DATABASE
+            + "?createDatabaseIfNotExist=true&rewriteBatchedStatements=true";
+
+    private static final int ROWS = 300_000;
+    private static final int BATCH = 1000;
+
+    static boolean mysqlReachable() {
+        DriverManager.setLoginTimeout(2);
+        try (Connection ignored = connect()) {
+            return true;
+        } catch (SQLException e) {
+            return false;
+        }
+    }
+
+    @Test
+    void run() throws SQLException {
+        try (Connection connection = connect()) {
+            Result random = insert(connection, "uuid_random", UUID::randomUUID);
+            Result timeOrdered = insert(connection, "uuid_time_ordered", TimeOrderedUuidGenerator::next);
+
+            LOGGER.info("UuidInsertBenchmark | run | {} rows | random: {} rows/s, {} leaf pages | "
+                            + "time-ordered: {} rows/s, {} leaf pages",
+                    ROWS, random.rate, random.leafPages, timeOrdered.rate, timeOrdered.leafPages);
+            assertThat(timeOrdered.leafPages).isLessThan(random.leafPages);
+        }
+    }
+
+    private static Result insert(Connection connection, String table, Supplier<UUID> ids) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("drop table if exists " + table);
+            statement.execute("create table " + table + " (id binary(16) not null primary key, "
+                    + "username varchar(255) not null, email varchar(255) not null, password varchar(255) not null) "
+                    + "engine = InnoDB");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement(
+                "insert into " + table + " (id, username, email, password) values (?, ?, ?, ?)")) {
+            for (int i = 1; i <= ROWS; i++) {
+                insert.setBytes(1, bytes(ids.get()));
+                insert.setString(2, "user" + i);
+                insert.setString(3, "user" + i + "@example.com");
+                insert.setString(4, "$2a$10$abcdefghijklmnopqrstuv0123456789abcdefghijklmnopqrstu");
+                insert.addBatch();
+                if (i % BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("analyze table " + table);
+            try (ResultSet pages = statement.executeQuery("select stat_value from mysql.innodb_index_stats "
+                    + "where database_name = '" + DATABASE + "' and table_name = '" + table + "' "
+                    + "and index_name = 'PRIMARY' and stat_name = 'n_leaf_pages'")) {
+                pages.next();
+                return new Result(ROWS * 1_000_000_000L / elapsed, pages.getLong(1));
+            }
+        }
+    }
+
+    private static byte[] bytes(UUID id) {
+        return ByteBuffer.allocate(16).putLong(id.getMostSignificantBits()).putLong(id.getLeastSignificantBits()).array();
+    }
+
+    private static Connection connect() throws SQLException {
+        YamlPropertiesFactoryBean yaml = new YamlPropertiesFactoryBean();
+        yaml.setResources(new ClassPathResource("application.yaml"));
+        Properties properties = Objects.requireNonNull(yaml.getObject());
+        return DriverManager.getConnection(URL, properties.getProperty("spring.datasource.username"),
+                properties.getProperty("spring.datasource.password"));
+    }
+
+    private static class Result {
+
+        private final long rate;
+        private final long leafPages;
+
+        private Result(long rate, long leafPages) {
+            this.rate = rate;
+            this.leafPages = leafPages;
+        }
+    }
+}
@@ -0,0 +1,116 @@
+-- Rows for QueryIndexesTests: the optimizer answers tiny tables with full scans whatever the
+-- indexes, so every table gets a few thousand rows, one in ten of them soft-deleted.
+
+delete from user_horaires;
+delete from user_teams;
+delete from user_has_roles;
+delete from user_has_permissions;
+delete from notificationses;
+delete from refresh_tokens;
+delete from revoked_tokens;
+delete from recuperation_magasins;
+delete from recuperations;
+delete from distributions;
+delete from magasins;
+delete from teams;
+delete from horaires;
+delete from role_parents;
+delete from role_has_permissions;
+delete from roles;
+delete from permissions;
+delete from permission_parent;
+delete from categories;
+delete from users;
+
+drop table if exists seed_numbers;
+create table seed_numbers (n int not null primary key) engine = InnoDB;
+insert into seed_numbers (n) values (1);
+insert into seed_numbers (n) select n + 1 from seed_numbers;
+insert into seed_numbers (n) select n + 2 from seed_numbers;
+insert into seed_numbers (n) select n + 4 from seed_numbers;
+insert into seed_numbers (n) select n + 8 from seed_numbers;
+insert into seed_numbers (n) select n + 16 from seed_numbers;
+insert into seed_numbers (n) select n + 32 from seed_numbers;
+insert into seed_numbers (n) select n + 64 from seed_numbers;
+insert into seed_numbers (n) select n + 128 from seed_numbers;
+insert into seed_numbers (n) select n + 256 from seed_numbers;
+insert into seed_numbers (n) select n + 512 from seed_numbers;
+insert into seed_numbers (n) select n + 1024 from seed_numbers;
+insert into seed_numbers (n) select n + 2048 from seed_numbers;
+insert into seed_numbers (n) select n + 4096 from seed_numbers;
+
+insert into categories (id, name, deleted, date_created, last_updated)
+select n, concat('category ', n), if(n % 10 = 0, '2026-01-01', null), now(), now()
+from seed_numbers where n <= 100;
+
+insert into permission_parent (id, name)
+select n, concat('parent ', n) from seed_numbers where n <= 20;
+
+insert into permissions (id, name, permissions_id, bit_position, date_created, last_updated)
+select n, concat('permission ', n), n % 20 + 1, n - 1, now(), now()
+from seed_numbers where n <= 2000;
+
+insert into roles (id, name, deleted, date_created, last_updated)
+select n, concat('role ', n), if(n % 10 = 0, '2026-01-01', null), now(), now()
+from seed_numbers where n <= 2000;
+
+insert into teams (id, name, start_date, end_date, type, deleted, category_id_id, date_created, last_updated)
+select n, concat('team ', n), timestampadd(hour, n, '2026-01-01'), timestampadd(hour, n + 3, '2026-01-01'),
+       if(n % 2 = 0, 'DISTRIBUTION', 'RECUPERATION'), if(n % 10 = 0, '2026-01-01', null), n % 100 + 1, now(), now()
+from seed_numbers where n <= 4000;
+
+insert into horaires (id, start_date, end_date, type, deleted, state, date_created, last_updated)
+select n, timestampadd(hour, n, '2026-01-01'), timestampadd(hour, n + 2, '2026-01-01'),
+       if(n % 2 = 0, 'DISTRIBUTION', 'RECUPERATION'), if(n % 10 = 0, '2026-01-01', null), n > 4000, now(), now()
+from seed_numbers where n <= 5000;
+
+insert into magasins (id, name, address, phone, deleted, category_id, date_created, last_updated)
+select n, concat('store ', n), concat(n, ' rue de la Paix'), concat('+33', 100000000 + n),
+       if(n % 10 = 0, '2026-01-01', null), n % 100 + 1, now(), now()
+from seed_numbers where n <= 4000;
+
+insert into recuperations (id, start_date, end_date, status, deleted, team_id, date_created, last_updated)
+select n, timestampadd(hour, n, '2026-01-01'), timestampadd(hour, n + 3, '2026-01-01'),
+       elt(n % 3 + 1, 'PENDING', 'ONGOING', 'FINISH'), if(n % 10 = 0, '2026-01-01', null), n, now(), now()
+from seed_numbers where n <= 2000;
+
+insert into recuperation_magasins (recuperation_id, magasin_id)
+select n % 2000 + 1, n from seed_numbers where n <= 4000;
+
+insert into distributions (id, start_date, end_date, location, status, deleted, team_id, date_created, last_updated)
+select n, timestampadd(hour, n, '2026-01-01'), timestampadd(hour, n + 3, '2026-01-01'), 'Lyon',
+       elt(n % 3 + 1, 'PENDING', 'ONGOING', 'FINISH'), if(n % 10 = 0, '2026-01-01', null), n + 2000, now(), now()
+from seed_numbers where n <= 2000;
+
+insert into users (id, username, password, enabled, email, phone, date_created, last_updated)
+select unhex(lpad(hex(n), 32, '0')), concat('user', n), 'secret', true, concat('user', n, '@example.com'),
+       concat('+33', 600000000 + n), now(), now()
+from seed_numbers where n <= 5000;
+
+insert into user_horaires (user_id, horaire_id)
+select unhex(lpad(hex(n), 32, '0')), n from seed_numbers where n <= 5000;
+insert into user_horaires (user_id, horaire_id)
+select unhex(lpad(hex(n), 32, '0')), n % 200 + 1 from seed_numbers where n <= 5000 and n % 200 + 1 <> n;
+
+insert into user_teams (user_id, team_id)
+select unhex(lpad(hex(n), 32, '0')), n % 200 + 1 from seed_numbers where n <= 5000;
+
+insert into notificationses (id, content, `open`, deleted, user_id, date_created, last_updated)
+select n, 'notification', false, if(n % 10 = 0, '2026-01-01', null), unhex(lpad(hex(n % 5000 + 1), 32, '0')),
+       now(), now()
+from seed_numbers where n <= 8000;
+
+insert into refresh_tokens (id, token_hash, family_id, user_id, expires_at, used, revoked, date_created)
+select n, lpad(hex(n), 64, '0'), lpad(hex(n % 4000), 36, '0'), unhex(lpad(hex(n % 5000 + 1), 32, '0')),
+       timestampadd(hour, n, '2026-01-01'), false, false, now()
+from seed_numbers where n <= 8000;
+
+insert into revoked_tokens (id, jti, expires_at, revoked_at)
+select n, lpad(hex(n), 36, '0'), timestampadd(minute, n, '2026-01-01'), timestampadd(minute, n - 60, '2026-01-01')
+from seed_numbers where n <= 8000;
+
+drop table seed_numbers;
+
+analyze table categories, permission_parent, permissions, roles, teams, horaires, magasins, recuperations,
+    recuperation_magasins, distributions, users, user_horaires, user_teams, notificationses, refresh_tokens,
+    revoked_tokens;